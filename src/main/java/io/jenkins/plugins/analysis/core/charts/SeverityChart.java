@@ -1,9 +1,13 @@
 package io.jenkins.plugins.analysis.core.charts;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import edu.hm.hafner.analysis.Severity;
 
 import io.jenkins.plugins.analysis.core.util.LocalizedSeverity;
 import io.jenkins.plugins.analysis.core.util.StaticAnalysisRun;
+import io.jenkins.plugins.analysis.core.util.TrendEntry;
 
 /**
  * Builds the model for a graph showing all issues by severity.
@@ -11,7 +15,8 @@ import io.jenkins.plugins.analysis.core.util.StaticAnalysisRun;
  * @author Ullrich Hafner
  */
 public class SeverityChart {
-    private static final int MAX_BUILDS = 50;
+    /** Maximum number of builds that are shown in the chart. */
+    public static final int MAX_BUILDS = 50;
 
     /**
      * Creates the chart for the specified results.
@@ -21,8 +26,27 @@ public class SeverityChart {
      *
      * @return the chart model
      */
-    // TODO: make chart configurable
     public LineModel create(final Iterable<? extends StaticAnalysisRun> results) {
+        List<TrendEntry> entries = new ArrayList<>();
+        for (StaticAnalysisRun result : results) {
+            entries.add(TrendEntry.from(result));
+            if (entries.size() >= MAX_BUILDS) {
+                break;
+            }
+        }
+        return createFromTrend(entries);
+    }
+
+    /**
+     * Creates the chart for the specified trend entries.
+     *
+     * @param entries
+     *         the trend entries to render, the latest build comes first
+     *
+     * @return the chart model
+     */
+    // TODO: make chart configurable
+    public LineModel createFromTrend(final List<TrendEntry> entries) {
         LineSeries high = createSeries(Severity.WARNING_HIGH);
         LineSeries normal = createSeries(Severity.WARNING_NORMAL);
         LineSeries low = createSeries(Severity.WARNING_LOW);
@@ -30,13 +54,13 @@ public class SeverityChart {
         LineModel model = new LineModel();
         model.addSeries(low, normal, high);
 
-        for (StaticAnalysisRun result : results) {
-            high.add(result.getTotalSizeOf(Severity.WARNING_HIGH));
-            normal.add(result.getTotalSizeOf(Severity.WARNING_NORMAL));
-            low.add(result.getTotalSizeOf(Severity.WARNING_LOW));
+        for (TrendEntry entry : entries) {
+            high.add(entry.getTotalSizeOf(Severity.WARNING_HIGH));
+            normal.add(entry.getTotalSizeOf(Severity.WARNING_NORMAL));
+            low.add(entry.getTotalSizeOf(Severity.WARNING_LOW));
 
-            model.addXAxisLabel(result.getBuild().getDisplayName()); // TODO: de-normalize
-            if (model.size() > MAX_BUILDS) {
+            model.addXAxisLabel(entry.getDisplayName());
+            if (model.size() >= MAX_BUILDS) {
                 break;
             }
         }
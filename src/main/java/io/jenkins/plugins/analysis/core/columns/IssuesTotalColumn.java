@@ -24,7 +24,7 @@ import hudson.views.ListViewColumnDescriptor;
 import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.model.JobAction;
 import io.jenkins.plugins.analysis.core.model.LabelProviderFactory;
-import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.analysis.core.model.ResultSummary;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ToolSelection;
 
@@ -122,11 +122,10 @@ public class IssuesTotalColumn extends ListViewColumn {
     public OptionalInt getTotal(final Job<?, ?> job) {
         return job.getActions(JobAction.class).stream()
                 .filter(createToolFilter(selectTools, tools))
-                .map(JobAction::getLatestAction)
+                .map(JobAction::getLatestSummary)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .map(ResultAction::getResult)
-                .mapToInt(AnalysisResult::getTotalSize)
+                .mapToInt(ResultSummary::getTotalSize)
                 .reduce(Integer::sum);
     }
 
@@ -142,7 +141,7 @@ public class IssuesTotalColumn extends ListViewColumn {
     public List<AnalysisResultDescription> getDetails(final Job<?, ?> job) {
         return job.getActions(JobAction.class).stream()
                 .filter(createToolFilter(selectTools, tools))
-                .map(JobAction::getLatestAction)
+                .map(JobAction::getLatestSummary)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .map(result -> new AnalysisResultDescription(result, getLabelProviderFactory()))
@@ -209,11 +208,11 @@ public class IssuesTotalColumn extends ListViewColumn {
             this.url = url;
         }
 
-        AnalysisResultDescription(final ResultAction result, final LabelProviderFactory labelProviderFactory) {
+        AnalysisResultDescription(final ResultSummary result, final LabelProviderFactory labelProviderFactory) {
             StaticAnalysisLabelProvider labelProvider = labelProviderFactory.create(result.getId(), result.getName());
             this.name = labelProvider.getLinkName();
             this.icon = labelProvider.getSmallIconUrl();
-            total = result.getResult().getTotalSize();
+            total = result.getTotalSize();
             url = result.getUrlName();
         }
 
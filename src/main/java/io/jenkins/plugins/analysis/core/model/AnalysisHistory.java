@@ -146,23 +146,81 @@ public class AnalysisHistory implements History {
         return Optional.empty();
     }
 
+    /**
+     * Returns the first run (starting with the specified run) that has a result that matches the evaluation modes. If
+     * the results are selected by ID, then the {@link ReferenceIndex} of the job is used to find the run, otherwise the
+     * previous builds are visited one by one.
+     */
     private static Optional<Run<?, ?>> getRunWithResult(final @Nullable Run<?, ?> start,
             final ResultSelector selector,
             final QualityGateEvaluationMode qualityGateEvaluationMode,
             final JobResultEvaluationMode jobResultEvaluationMode) {
+        if (start == null) {
+            return Optional.empty();
+        }
+        if (matches(start, selector, qualityGateEvaluationMode, jobResultEvaluationMode)) {
+            return Optional.of(start);
+        }
+        Optional<String> id = selector.getId();
+        if (id.isPresent()) {
+            return ReferenceIndex.find(start, id.get(), qualityGateEvaluationMode, jobResultEvaluationMode,
+                    () -> findRunWithResult(start.getPreviousBuild(), selector, qualityGateEvaluationMode,
+                            jobResultEvaluationMode));
+        }
+        return findRunWithResult(start.getPreviousBuild(), selector, qualityGateEvaluationMode,
+                jobResultEvaluationMode);
+    }
+
+    /**
+     * Returns the first run (starting with the specified run) that has a result that matches the evaluation modes. The
+     * previous builds are visited one by one.
+     *
+     * @param start
+     *         the run to start the search with
+     * @param selector
+     *         selects the result of a run
+     * @param qualityGateEvaluationMode
+     *         the quality gate evaluation mode
+     * @param jobResultEvaluationMode
+     *         the job result evaluation mode
+     *
+     * @return the matching run (if there is any)
+     */
+    static Optional<Run<?, ?>> findRunWithResult(final @Nullable Run<?, ?> start,
+            final ResultSelector selector,
+            final QualityGateEvaluationMode qualityGateEvaluationMode,
+            final JobResultEvaluationMode jobResultEvaluationMode) {
         for (Run<?, ?> run = start; run != null; run = run.getPreviousBuild()) {
-            Optional<ResultAction> action = selector.get(run);
-            if (action.isPresent()) {
-                ResultAction resultAction = action.get();
-                if (hasCorrectJobResult(run, jobResultEvaluationMode)
-                        && hasCorrectQualityGateStatus(resultAction, qualityGateEvaluationMode)) {
-                    return Optional.of(run);
-                }
+            if (matches(run, selector, qualityGateEvaluationMode, jobResultEvaluationMode)) {
+                return Optional.of(run);
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Returns whether the specified run has a result that matches the evaluation modes.
+     *
+     * @param run
+     *         the run to check
+     * @param selector
+     *         selects the result of the run
+     * @param qualityGateEvaluationMode
+     *         the quality gate evaluation mode
+     * @param jobResultEvaluationMode
+     *         the job result evaluation mode
+     *
+     * @return {@code true} if the run has a matching result, {@code false} otherwise
+     */
+    static boolean matches(final Run<?, ?> run, final ResultSelector selector,
+            final QualityGateEvaluationMode qualityGateEvaluationMode,
+            final JobResultEvaluationMode jobResultEvaluationMode) {
+        Optional<ResultAction> action = selector.get(run);
+        return action.isPresent()
+                && hasCorrectJobResult(run, jobResultEvaluationMode)
+                && hasCorrectQualityGateStatus(action.get(), qualityGateEvaluationMode);
+    }
+
     private static boolean hasCorrectQualityGateStatus(final ResultAction action,
             final QualityGateEvaluationMode qualityGateEvaluationMode) {
         return action.isSuccessful() || qualityGateEvaluationMode == IGNORE_QUALITY_GATE;
@@ -190,7 +248,8 @@ public class AnalysisHistory implements History {
     }
 
     /**
-     * Provides an iterator of analysis results starting from a baseline and going back in history.
+     * Provides an iterator of analysis results starting from a baseline and going back in history. The iterator visits
+     * all previous builds anyway, so it walks through the builds one by one and does not use the {@link ReferenceIndex}.
      */
     private static class AnalysisResultIterator implements Iterator<AnalysisResult> {
         @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -206,7 +265,7 @@ public class AnalysisHistory implements History {
          *         selects the associated action from a build
          */
         AnalysisResultIterator(final Run<?, ?> baseline, final ResultSelector selector) {
-            cursor = getRunWithResult(baseline, selector, IGNORE_QUALITY_GATE, IGNORE_JOB_RESULT);
+            cursor = findRunWithResult(baseline, selector, IGNORE_QUALITY_GATE, IGNORE_JOB_RESULT);
             this.selector = selector;
         }
 
@@ -221,9 +280,9 @@ public class AnalysisHistory implements History {
                 Run<?, ?> run = cursor.get();
                 Optional<ResultAction> resultAction = selector.get(run);
 
-                cursor = getRunWithResult(run.getPreviousBuild(), selector, IGNORE_QUALITY_GATE, IGNORE_JOB_RESULT);
+                cursor = findRunWithResult(run.getPreviousBuild(), selector, IGNORE_QUALITY_GATE, IGNORE_JOB_RESULT);
 
-                //noinspection OptionalGetWithoutIsPresent (result action is guaranteed to have a result, see getRunWithResult)
+                //noinspection OptionalGetWithoutIsPresent (result action is guaranteed to have a result, see findRunWithResult)
                 return resultAction.get().getResult();
             }
             else {
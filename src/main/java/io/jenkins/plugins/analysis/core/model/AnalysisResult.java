@@ -2,16 +2,17 @@ package io.jenkins.plugins.analysis.core.model; // NOPMD
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
-import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -26,13 +27,13 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.util.VisibleForTesting;
-import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import hudson.XmlFile;
 import hudson.model.Run;
 import hudson.util.XStream2;
 
+import io.jenkins.plugins.analysis.core.scm.BlameRequest.BlameRequestConverter;
 import io.jenkins.plugins.analysis.core.scm.Blames;
 import io.jenkins.plugins.analysis.core.util.AnalysisBuild;
 import io.jenkins.plugins.analysis.core.util.JenkinsFacade;
@@ -53,6 +54,10 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
 
     private static final Logger LOGGER = Logger.getLogger(AnalysisResult.class.getName());
     private static final Pattern ISSUES_FILE_NAME = Pattern.compile("issues.xml", Pattern.LITERAL);
+    private static final String ISSUE_STORE_FILE_SUFFIX = "-issues.bin";
+    private static final String OUTSTANDING = "outstanding";
+    private static final String NEW = "new";
+    private static final String FIXED = "fixed";
     private static final int NO_BUILD = -1;
     private static final String NO_REFERENCE = StringUtils.EMPTY;
 
@@ -73,27 +78,7 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
 
     private transient ReentrantLock lock = new ReentrantLock();
     private transient Run<?, ?> owner;
-
-    /**
-     * All outstanding issues: i.e. all issues, that are part of the current and reference report.
-     */
-    @Nullable
-    private transient WeakReference<Report> outstandingIssuesReference;
-    /**
-     * All new issues: i.e. all issues, that are part of the current report but have not been shown up in the reference
-     * report.
-     */
-    @Nullable
-    private transient WeakReference<Report> newIssuesReference;
-    /**
-     * All fixed issues: i.e. all issues, that are part of the reference report but are not present in the current
-     * report anymore.
-     */
-    @Nullable
-    private transient WeakReference<Report> fixedIssuesReference;
-    /** All SCM blames. Provides a mapping of file names to SCM commit information like author, email or commit ID. */
-    @Nullable
-    private transient WeakReference<Blames> blamesReference;
+    private transient boolean isUnresolvedFixedIssuesLogged;
 
     /** Determines since which build we have zero warnings. */
     private int noIssuesSinceBuild;
@@ -216,16 +201,16 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
         referenceBuildId = report.getReferenceBuildId();
 
         Report outstandingIssues = report.getOutstandingIssues();
-        outstandingIssuesReference = new WeakReference<>(outstandingIssues);
+        ResultCache.getInstance().putReport(this, OUTSTANDING, outstandingIssues);
 
         Report newIssues = report.getNewIssues();
         newSize = newIssues.getSize();
         newSizePerSeverity = getSizePerSeverity(newIssues);
-        newIssuesReference = new WeakReference<>(newIssues);
+        ResultCache.getInstance().putReport(this, NEW, newIssues);
 
         Report fixedIssues = report.getFixedIssues();
         fixedSize = fixedIssues.size();
-        fixedIssuesReference = new WeakReference<>(fixedIssues);
+        ResultCache.getInstance().putReport(this, FIXED, fixedIssues);
 
         List<String> aggregatedMessages = new ArrayList<>(allIssues.getInfoMessages().castToList());
 
@@ -234,7 +219,7 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
 
         this.qualityGateStatus = qualityGateStatus;
 
-        this.blamesReference = new WeakReference<>(blames);
+        ResultCache.getInstance().putBlames(this, blames);
         if (canSerialize) {
             serializeIssues(outstandingIssues, newIssues, fixedIssues);
             serializeBlames(blames);
@@ -249,14 +234,7 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
     public Blames getBlames() {
         lock.lock();
         try {
-            if (blamesReference == null) {
-                return readBlames();
-            }
-            Blames result = blamesReference.get();
-            if (result == null) {
-                return readBlames();
-            }
-            return result;
+            return ResultCache.getInstance().getBlames(this, this::readBlames);
         }
         finally {
             lock.unlock();
@@ -275,13 +253,13 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
     }
 
     private XmlFile getBlamesFile() {
-        return new XmlFile(new XStream2(), new File(getOwner().getRootDir(), id + "-blames.xml"));
+        XStream2 xStream = new XStream2();
+        xStream.registerConverter(new BlameRequestConverter());
+        return new XmlFile(xStream, new File(getOwner().getRootDir(), id + "-blames.xml"));
     }
 
     private Blames readBlames() {
-        Blames blames = readXml(Blames.class, getBlamesFile(), new Blames());
-        blamesReference = new WeakReference<>(blames);
-        return blames;
+        return readXml(Blames.class, getBlamesFile(), new Blames());
     }
 
     private <T> T readXml(final Class<T> type, final XmlFile dataFile, final T defaultValue) {
@@ -363,19 +341,27 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
         return id + "-issues.xml";
     }
 
-    private void serializeIssues(final Report outstandingIssues,
-            final Report newIssues, final Report fixedIssues) {
-        serializeIssues(outstandingIssues, "outstanding");
-        serializeIssues(newIssues, "new");
-        serializeIssues(fixedIssues, "fixed");
+    /**
+     * Returns the serialization file for the {@link IssueStore} that contains the outstanding, new, and fixed issues.
+     *
+     * @return the serialization file.
+     */
+    private File getIssueStoreFile() {
+        return new File(getOwner().getRootDir(), id + ISSUE_STORE_FILE_SUFFIX);
     }
 
-    private void serializeIssues(final Report report, final String suffix) {
+    private void serializeIssues(final Report outstandingIssues,
+            final Report newIssues, final Report fixedIssues) {
+        File dataFile = getIssueStoreFile();
+        File temporary = new File(dataFile.getPath() + ".tmp");
         try {
-            getDataFile(suffix).write(report);
+            try (OutputStream stream = Files.newOutputStream(temporary.toPath())) {
+                new ColumnarIssueStream().write(new IssueStore(outstandingIssues, newIssues, fixedIssues), stream);
+            }
+            Files.move(temporary.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
         catch (IOException exception) {
-            LOGGER.log(Level.SEVERE, String.format("Failed to serialize the %s issues of the build.", suffix),
+            LOGGER.log(Level.SEVERE, String.format("Failed to serialize the issues of the build %s.", owner),
                     exception);
         }
     }
@@ -399,8 +385,7 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
      * @return all outstanding issues
      */
     public Report getOutstandingIssues() {
-        return getIssues(AnalysisResult::getOutstandingIssuesReference, AnalysisResult::setOutstandingIssuesReference,
-                "outstanding");
+        return getIssues(OUTSTANDING);
     }
 
     /**
@@ -410,8 +395,7 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
      * @return all new issues
      */
     public Report getNewIssues() {
-        return getIssues(AnalysisResult::getNewIssuesReference, AnalysisResult::setNewIssuesReference,
-                "new");
+        return getIssues(NEW);
     }
 
     /**
@@ -421,60 +405,98 @@ public class AnalysisResult implements Serializable, StaticAnalysisRun {
      * @return all fixed issues
      */
     public Report getFixedIssues() {
-        return getIssues(AnalysisResult::getFixedIssuesReference, AnalysisResult::setFixedIssuesReference,
-                "fixed");
+        return getIssues(FIXED);
     }
 
-    private WeakReference<Report> getOutstandingIssuesReference() {
-        return outstandingIssuesReference;
-    }
-
-    private void setOutstandingIssuesReference(final WeakReference<Report> outstandingIssuesReference) {
-        this.outstandingIssuesReference = outstandingIssuesReference;
+    private Report getIssues(final String suffix) {
+        lock.lock();
+        try {
+            return ResultCache.getInstance().getReport(this, suffix, () -> readIssues(suffix));
+        }
+        finally {
+            lock.unlock();
+        }
     }
 
-    private WeakReference<Report> getNewIssuesReference() {
-        return newIssuesReference;
-    }
+    /**
+     * Reads the issues with the specified suffix. The binary serialization file contains the outstanding, new, and
+     * fixed issues: it is decoded only once and all three reports are stored in the cache.
+     */
+    private Report readIssues(final String suffix) {
+        Optional<IssueStore> store = readIssueStore();
+        if (!store.isPresent()) {
+            return readXml(Report.class, getDataFile(suffix), new Report());
+        }
 
-    private void setNewIssuesReference(final WeakReference<Report> newIssuesReference) {
-        this.newIssuesReference = newIssuesReference;
+        Report requested = new Report();
+        for (String name : new String[] {OUTSTANDING, NEW, FIXED}) {
+            Report issues = select(store.get(), name);
+            if (name.equals(suffix)) {
+                requested = issues;
+            }
+            else {
+                ResultCache.getInstance().putReport(this, name, issues);
+            }
+        }
+        return requested;
     }
 
-    private WeakReference<Report> getFixedIssuesReference() {
-        return fixedIssuesReference;
+    private Report select(final IssueStore store, final String suffix) {
+        if (NEW.equals(suffix)) {
+            return store.getNewIssues();
+        }
+        if (FIXED.equals(suffix)) {
+            return resolveFixedIssues(store);
+        }
+        return store.getOutstandingIssues();
     }
 
-    private void setFixedIssuesReference(final WeakReference<Report> fixedIssuesReference) {
-        this.fixedIssuesReference = fixedIssuesReference;
+    /**
+     * Resolves the fixed issues of the specified store using the issues of the reference build. If the reference build
+     * has been deleted in the meantime, then the fixed issues are not available anymore: this is logged only once for
+     * each result, not on every cache miss.
+     */
+    private Report resolveFixedIssues(final IssueStore store) {
+        if (store.getFixedIssues().isEmpty()) {
+            return new Report();
+        }
+        Report fixedIssues = getReferenceBuild()
+                .flatMap(reference -> new ByIdResultSelector(id).get(reference))
+                .map(action -> store.resolveFixedIssues(action.getResult().getIssues()))
+                .orElseGet(Report::new);
+        if (fixedIssues.size() < store.getFixedIssues().size() && !isUnresolvedFixedIssuesLogged) {
+            isUnresolvedFixedIssuesLogged = true;
+            LOGGER.log(Level.WARNING, String.format(
+                    "Resolved only %d of %d fixed issues of %s: the reference build '%s' is not available anymore",
+                    fixedIssues.size(), store.getFixedIssues().size(), getOwner(), referenceBuildId));
+        }
+        return fixedIssues;
     }
 
-    private Report getIssues(final Function<AnalysisResult, WeakReference<Report>> getter,
-            final BiConsumer<AnalysisResult, WeakReference<Report>> setter, final String suffix) {
-        lock.lock();
-        try {
-            if (getter.apply(this) == null) {
-                return readIssues(setter, suffix);
-            }
-            Report result = getter.apply(this).get();
-            if (result == null) {
-                return readIssues(setter, suffix);
+    /**
+     * Reads the issues from the binary serialization file. Builds that have been recorded with a previous release
+     * have no such file, the issues of these builds are still available in the XML serialization files.
+     */
+    private Optional<IssueStore> readIssueStore() {
+        File dataFile = getIssueStoreFile();
+        if (!dataFile.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream stream = Files.newInputStream(dataFile.toPath())) {
+            IssueStore store = new ColumnarIssueStream().readStore(stream, dataFile.length());
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Loaded data file " + dataFile + " for run " + getOwner());
             }
-            return result;
+            return Optional.of(store);
         }
-        finally {
-            lock.unlock();
+        catch (IOException exception) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Failed to load " + dataFile, exception);
+            }
+            return Optional.empty();
         }
     }
 
-    private Report readIssues(final BiConsumer<AnalysisResult, WeakReference<Report>> setter,
-            final String suffix) {
-        XmlFile dataFile = getDataFile(suffix);
-        Report report = readXml(Report.class, dataFile, new Report());
-        setter.accept(this, new WeakReference<>(report));
-        return report;
-    }
-
     @Override
     public int getNoIssuesSinceBuild() {
         return noIssuesSinceBuild;
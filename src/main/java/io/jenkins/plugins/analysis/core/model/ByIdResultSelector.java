@@ -34,6 +34,11 @@ public class ByIdResultSelector implements ResultSelector {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<String> getId() {
+        return Optional.of(id);
+    }
+
     @Override
     public String toString() {
         return String.format("%s with ID %s", ResultAction.class.getName(), id);
@@ -0,0 +1,482 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.LineRange;
+import edu.hm.hafner.analysis.LineRangeList;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+import hudson.util.XStream2;
+
+/**
+ * Reads and writes {@link Report} instances using a compact binary format. The issues are stored column by column:
+ * each string property (file name, category, type, etc.) is written as a dictionary of the distinct values followed by
+ * the indices of the values of all issues. Line and column numbers are written as variable length integers. Compared
+ * to the XML format of {@link IssueStream} the files are considerably smaller and much faster to read.
+ * <p>
+ * Every file starts with a magic number and a format version so that future changes of the format can be detected.
+ * The issues are followed by the bitmap of the new issues and the IDs of the fixed issues of an {@link IssueStore}.
+ * </p>
+ * <p>
+ * The files are stored in the build folder, so their content can't be trusted: every length and count is checked
+ * against the remaining bytes of the file before memory is allocated. The additional properties of the issues are
+ * serialized with the {@link XStream2} instance of {@link IssueStream} so that Jenkins' class filter is applied.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ColumnarIssueStream {
+    private static final int MAGIC = 0x49535331; // ISS1
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NO_VALUE = 0;
+    private static final int LONG_BYTES = 8;
+    private static final int ID_BYTES = 16;
+
+    private XStream2 xStream;
+
+    /**
+     * Writes the specified report to the given output stream. The stream will not be closed.
+     *
+     * @param report
+     *         the report to write
+     * @param stream
+     *         the stream to write the report to
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    void write(final Report report, final OutputStream stream) throws IOException {
+        write(new IssueStore(report, new BitSet(), new ArrayList<>()), stream);
+    }
+
+    /**
+     * Writes the specified issues to the given output stream. The stream will not be closed.
+     *
+     * @param store
+     *         the issues to write
+     * @param stream
+     *         the stream to write the issues to
+     *
+     * @throws IOException
+     *         if the issues could not be written
+     */
+    void write(final IssueStore store, final OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        output.writeInt(MAGIC);
+        writeVarInt(output, VERSION);
+        writeReport(output, store.getIssues());
+
+        long[] bitmap = store.getNewIssuesBitmap().toLongArray();
+        writeVarInt(output, bitmap.length);
+        for (long word : bitmap) {
+            output.writeLong(word);
+        }
+        writeVarInt(output, store.getFixedIssues().size());
+        for (UUID id : store.getFixedIssues()) {
+            writeId(output, id);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a report from the given input stream. The stream will not be closed.
+     *
+     * @param stream
+     *         the stream to read the report from
+     * @param length
+     *         the number of bytes of the stream
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be read or has an unsupported format
+     */
+    Report read(final InputStream stream, final long length) throws IOException {
+        return readStore(stream, length).getIssues();
+    }
+
+    /**
+     * Reads the issues from the given input stream. The stream will not be closed.
+     *
+     * @param stream
+     *         the stream to read the issues from
+     * @param length
+     *         the number of bytes of the stream
+     *
+     * @return the issues
+     * @throws IOException
+     *         if the issues could not be read or have an unsupported format
+     */
+    IssueStore readStore(final InputStream stream, final long length) throws IOException {
+        BoundedInput input = new BoundedInput(stream, length);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Unsupported format of issues file");
+        }
+        int version = readVarInt(input);
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of issues file: " + version);
+        }
+        Report report = readReport(input);
+
+        long[] bitmap = new long[readLength(input, LONG_BYTES)];
+        for (int i = 0; i < bitmap.length; i++) {
+            bitmap[i] = input.readLong();
+        }
+        int fixedSize = readLength(input, ID_BYTES);
+        List<UUID> fixedIssues = new ArrayList<>(fixedSize);
+        for (int i = 0; i < fixedSize; i++) {
+            fixedIssues.add(readId(input));
+        }
+        return new IssueStore(report, BitSet.valueOf(bitmap), fixedIssues);
+    }
+
+    private void writeReport(final DataOutputStream output, final Report report) throws IOException {
+        List<Issue> issues = new ArrayList<>(report.size());
+        report.forEach(issues::add);
+
+        writeMessages(output, report.getInfoMessages().castToList());
+        writeMessages(output, report.getErrorMessages().castToList());
+        writeVarInt(output, issues.size());
+
+        writeStringColumn(output, issues, Issue::getFileName);
+        writeStringColumn(output, issues, Issue::getCategory);
+        writeStringColumn(output, issues, Issue::getType);
+        writeStringColumn(output, issues, issue -> issue.getSeverity().getName());
+        writeStringColumn(output, issues, Issue::getModuleName);
+        writeStringColumn(output, issues, Issue::getPackageName);
+        writeStringColumn(output, issues, Issue::getOrigin);
+        writeStringColumn(output, issues, Issue::getReference);
+        writeStringColumn(output, issues, Issue::getMessage);
+        writeStringColumn(output, issues, Issue::getDescription);
+        writeStringColumn(output, issues, Issue::getFingerprint);
+
+        writeIntColumn(output, issues, Issue::getLineStart);
+        writeIntColumn(output, issues, issue -> issue.getLineEnd() - issue.getLineStart());
+        writeIntColumn(output, issues, Issue::getColumnStart);
+        writeIntColumn(output, issues, issue -> issue.getColumnEnd() - issue.getColumnStart());
+
+        for (Issue issue : issues) {
+            writeId(output, issue.getId());
+        }
+        for (Issue issue : issues) {
+            writeLineRanges(output, issue.getLineRanges());
+        }
+        for (Issue issue : issues) {
+            writeAdditionalProperties(output, issue.getAdditionalProperties());
+        }
+        writeVarInt(output, report.getDuplicatesSize());
+    }
+
+    private Report readReport(final BoundedInput input) throws IOException {
+        Report report = new Report();
+        for (String message : readMessages(input)) {
+            report.logInfo("%s", message);
+        }
+        for (String message : readMessages(input)) {
+            report.logError("%s", message);
+        }
+
+        int size = readLength(input, 1);
+        String[] fileNames = readStringColumn(input, size);
+        String[] categories = readStringColumn(input, size);
+        String[] types = readStringColumn(input, size);
+        String[] severities = readStringColumn(input, size);
+        String[] moduleNames = readStringColumn(input, size);
+        String[] packageNames = readStringColumn(input, size);
+        String[] origins = readStringColumn(input, size);
+        String[] references = readStringColumn(input, size);
+        String[] messages = readStringColumn(input, size);
+        String[] descriptions = readStringColumn(input, size);
+        String[] fingerprints = readStringColumn(input, size);
+
+        int[] lineStarts = readIntColumn(input, size);
+        int[] lineLengths = readIntColumn(input, size);
+        int[] columnStarts = readIntColumn(input, size);
+        int[] columnLengths = readIntColumn(input, size);
+
+        UUID[] ids = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = readId(input);
+        }
+        LineRangeList[] lineRanges = new LineRangeList[size];
+        for (int i = 0; i < size; i++) {
+            lineRanges[i] = readLineRanges(input);
+        }
+
+        IssueBuilder builder = new IssueBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.setId(ids[i])
+                    .setFileName(fileNames[i])
+                    .setCategory(categories[i])
+                    .setType(types[i])
+                    .setSeverity(severities[i] == null ? null : Severity.valueOf(severities[i]))
+                    .setModuleName(moduleNames[i])
+                    .setPackageName(packageNames[i])
+                    .setOrigin(origins[i])
+                    .setReference(references[i])
+                    .setMessage(messages[i])
+                    .setDescription(descriptions[i])
+                    .setFingerprint(fingerprints[i])
+                    .setLineStart(lineStarts[i])
+                    .setLineEnd(lineStarts[i] + lineLengths[i])
+                    .setColumnStart(columnStarts[i])
+                    .setColumnEnd(columnStarts[i] + columnLengths[i])
+                    .setLineRanges(lineRanges[i])
+                    .setAdditionalProperties(readAdditionalProperties(input));
+            report.add(builder.build());
+        }
+        restoreDuplicates(report, readVarInt(input));
+        return report;
+    }
+
+    /**
+     * Restores the number of duplicates of the specified report. A report counts an issue as duplicate if it already
+     * contains an equal issue, so adding one of its issues again increments the number of duplicates only.
+     */
+    private void restoreDuplicates(final Report report, final int duplicates) throws IOException {
+        if (duplicates < 0 || duplicates > 0 && report.isEmpty()) {
+            throw new IOException("Corrupt issues file: invalid number of duplicates " + duplicates);
+        }
+        for (int i = 0; i < duplicates; i++) {
+            report.add(report.get(0));
+        }
+    }
+
+    private void writeId(final DataOutputStream output, final UUID id) throws IOException {
+        output.writeLong(id.getMostSignificantBits());
+        output.writeLong(id.getLeastSignificantBits());
+    }
+
+    private UUID readId(final DataInputStream input) throws IOException {
+        return new UUID(input.readLong(), input.readLong());
+    }
+
+    private void writeMessages(final DataOutputStream output, final List<String> messages) throws IOException {
+        writeVarInt(output, messages.size());
+        for (String message : messages) {
+            writeString(output, message);
+        }
+    }
+
+    private List<String> readMessages(final BoundedInput input) throws IOException {
+        int size = readLength(input, 1);
+        List<String> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(readString(input));
+        }
+        return messages;
+    }
+
+    /**
+     * Writes a dictionary encoded string column: the distinct values in the order of their first occurrence, followed
+     * by the index of the value of each issue. The index {@link #NO_VALUE} represents a {@code null} value.
+     */
+    private void writeStringColumn(final DataOutputStream output, final List<Issue> issues,
+            final Function<Issue, String> property) throws IOException {
+        Map<String, Integer> indexOfValue = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] indices = new int[issues.size()];
+        for (int i = 0; i < indices.length; i++) {
+            String value = property.apply(issues.get(i));
+            if (value == null) {
+                indices[i] = NO_VALUE;
+            }
+            else {
+                indices[i] = indexOfValue.computeIfAbsent(value, key -> {
+                    dictionary.add(key);
+                    return dictionary.size();
+                });
+            }
+        }
+
+        writeVarInt(output, dictionary.size());
+        for (String value : dictionary) {
+            writeString(output, value);
+        }
+        for (int index : indices) {
+            writeVarInt(output, index);
+        }
+    }
+
+    private String[] readStringColumn(final BoundedInput input, final int size) throws IOException {
+        String[] dictionary = new String[readLength(input, 1) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            dictionary[i] = readString(input);
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            int index = readVarInt(input);
+            if (index < 0 || index >= dictionary.length) {
+                throw new IOException("Corrupt issues file: invalid dictionary index " + index);
+            }
+            values[i] = dictionary[index];
+        }
+        return values;
+    }
+
+    private void writeIntColumn(final DataOutputStream output, final List<Issue> issues,
+            final ToIntFunction<Issue> property) throws IOException {
+        for (Issue issue : issues) {
+            writeSignedVarInt(output, property.applyAsInt(issue));
+        }
+    }
+
+    private int[] readIntColumn(final DataInputStream input, final int size) throws IOException {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readSignedVarInt(input);
+        }
+        return values;
+    }
+
+    private void writeLineRanges(final DataOutputStream output, final LineRangeList lineRanges) throws IOException {
+        writeVarInt(output, lineRanges.size());
+        for (LineRange lineRange : lineRanges) {
+            writeSignedVarInt(output, lineRange.getStart());
+            writeSignedVarInt(output, lineRange.getEnd() - lineRange.getStart());
+        }
+    }
+
+    private LineRangeList readLineRanges(final BoundedInput input) throws IOException {
+        int size = readLength(input, 2);
+        LineRangeList lineRanges = new LineRangeList();
+        for (int i = 0; i < size; i++) {
+            int start = readSignedVarInt(input);
+            lineRanges.add(new LineRange(start, start + readSignedVarInt(input)));
+        }
+        lineRanges.trim();
+        return lineRanges;
+    }
+
+    /**
+     * Writes the additional properties of an issue as XML, an empty string represents {@code null}.
+     */
+    private void writeAdditionalProperties(final DataOutputStream output, final Serializable additionalProperties)
+            throws IOException {
+        if (additionalProperties == null) {
+            writeString(output, "");
+        }
+        else {
+            writeString(output, getXStream().toXML(additionalProperties));
+        }
+    }
+
+    private Serializable readAdditionalProperties(final BoundedInput input) throws IOException {
+        String xml = readString(input);
+        if (xml.isEmpty()) {
+            return null;
+        }
+        try {
+            return (Serializable) getXStream().fromXML(xml);
+        }
+        catch (RuntimeException exception) { // XStream reports all errors, including rejected classes, this way
+            throw new IOException("Can't read additional properties of issue", exception);
+        }
+    }
+
+    private XStream2 getXStream() {
+        if (xStream == null) {
+            xStream = new IssueStream().createStream();
+        }
+        return xStream;
+    }
+
+    private void writeString(final DataOutputStream output, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private String readString(final BoundedInput input) throws IOException {
+        byte[] bytes = new byte[readLength(input, 1)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeSignedVarInt(final DataOutputStream output, final int value) throws IOException {
+        writeVarInt(output, (value << 1) ^ (value >> 31)); // zig-zag encoding
+    }
+
+    private int readSignedVarInt(final DataInputStream input) throws IOException {
+        int value = readVarInt(input);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private void writeVarInt(final DataOutputStream output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private int readVarInt(final DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt issues file: invalid variable length integer");
+    }
+
+    /**
+     * Reads the number of elements of an array, a list, or a string. Since each element requires at least the
+     * specified number of bytes, the number of elements can't be larger than the remaining bytes of the stream allow.
+     */
+    private int readLength(final BoundedInput input, final int bytesPerElement) throws IOException {
+        int length = readVarInt(input);
+        if (length < 0 || (long) length * bytesPerElement > input.getRemaining()) {
+            throw new IOException(String.format(
+                    "Corrupt issues file: length %d exceeds the remaining %d bytes", length, input.getRemaining()));
+        }
+        return length;
+    }
+
+    /**
+     * A {@link DataInputStream} that knows the number of remaining bytes of the underlying stream.
+     */
+    private static class BoundedInput extends DataInputStream {
+        private final CountingInputStream counter;
+        private final long length;
+
+        BoundedInput(final InputStream stream, final long length) {
+            this(new CountingInputStream(new BufferedInputStream(stream, BUFFER_SIZE)), length);
+        }
+
+        private BoundedInput(final CountingInputStream counter, final long length) {
+            super(counter);
+
+            this.counter = counter;
+            this.length = length;
+        }
+
+        long getRemaining() {
+            return length - counter.getByteCount();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 
+import com.google.errorprone.annotations.MustBeClosed;
+
 import hudson.console.ConsoleNote;
 import hudson.model.ModelObject;
 import hudson.model.Run;
@@ -15,6 +17,8 @@ import hudson.model.Run;
  * @author Ullrich Hafner
  */
 public class ConsoleDetail implements ModelObject {
+    private static final int CONTEXT_LINES = 10;
+
     private int lineCount;
 
     /** The rendered source file. */
@@ -39,14 +43,33 @@ public class ConsoleDetail implements ModelObject {
      *         last line in the console log
      */
     public ConsoleDetail(final Run<?, ?> owner, final Stream<String> consoleLog, final int from, final int to) {
+        this(owner, (first, last) -> consoleLog.skip(first - 1).limit(last - first + 1), from, to);
+    }
+
+    /**
+     * Creates a new instance of this console log viewer object. Only the lines around the selected lines are read
+     * from the console log.
+     *
+     * @param owner
+     *         the current build as owner of this view
+     * @param consoleLog
+     *         reads the lines of a range of the console log
+     * @param from
+     *         first line in the console log
+     * @param to
+     *         last line in the console log
+     */
+    public ConsoleDetail(final Run<?, ?> owner, final ConsoleLog consoleLog, final int from, final int to) {
         this.owner = owner;
         this.from = from;
         this.to = to;
 
-        start = Math.max(1, from - 10);
-        end = to + 10;
+        start = Math.max(1, from - CONTEXT_LINES);
+        end = to + CONTEXT_LINES;
 
-        readConsole(consoleLog.skip(start - 1).limit(end - start + 1));
+        try (Stream<String> lines = consoleLog.readLines(start, end)) {
+            readConsole(lines);
+        }
     }
 
     private void readConsole(final Stream<String> consoleLog) {
@@ -93,4 +116,23 @@ public class ConsoleDetail implements ModelObject {
     public String getSourceCode() {
         return sourceCode;
     }
+
+    /**
+     * Reads a range of lines of the console log.
+     */
+    @FunctionalInterface
+    public interface ConsoleLog {
+        /**
+         * Returns the specified range of lines of the console log.
+         *
+         * @param firstLine
+         *         the first line to read (1-based)
+         * @param lastLine
+         *         the last line to read (inclusive)
+         *
+         * @return the lines
+         */
+        @MustBeClosed
+        Stream<String> readLines(int firstLine, int lastLine);
+    }
 }
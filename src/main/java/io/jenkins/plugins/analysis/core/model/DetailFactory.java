@@ -1,17 +1,12 @@
 package io.jenkins.plugins.analysis.core.model;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.Charset;
 import java.util.UUID;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -100,21 +95,16 @@ public class DetailFactory {
         if (link.startsWith("source.")) {
             Issue issue = allIssues.findById(UUID.fromString(plainLink));
             if (ConsoleLogHandler.isInConsoleLog(issue.getFileName())) {
-                try (Stream<String> consoleLog = jenkins.readConsoleLog(owner)) {
-                    return new ConsoleDetail(owner, consoleLog, issue.getLineStart(), issue.getLineEnd());
-                }
+                return new ConsoleDetail(owner,
+                        (firstLine, lastLine) -> jenkins.readConsoleLog(owner, firstLine, lastLine),
+                        issue.getLineStart(), issue.getLineEnd());
             }
             else {
                 String description = labelProvider.getSourceCodeDescription(owner, issue);
                 String icon = jenkins.getImagePath(labelProvider.getSmallIconUrl());
-                try (Reader affectedFile = jenkins.readBuildFile(owner, issue.getFileName(), sourceEncoding)) {
-                    return new SourceDetail(owner, affectedFile, issue, description, icon);
-                }
-                catch (IOException e) {
-                    StringReader fallback = new StringReader(
-                            String.format("%s%n%s", ExceptionUtils.getMessage(e), ExceptionUtils.getStackTrace(e)));
-                    return new SourceDetail(owner, fallback, issue, description, icon);
-                }
+                return new SourceDetail(owner,
+                        () -> jenkins.readBuildFile(owner, issue.getFileName(), sourceEncoding),
+                        issue, description, icon);
             }
         }
 
@@ -0,0 +1,166 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Index of the rows of a details table that provides server side paging, sorting, and searching. For each sortable
+ * column the index stores the positions of the issues in the report sorted by the values of this column. These sort
+ * orders (and the texts to search in) are created on the first request that requires them. A page of the table then
+ * is rendered by converting only the visible issues into table rows.
+ *
+ * @author Ullrich Hafner
+ */
+class DetailsTableIndex {
+    private static final int UNSORTED = -1;
+
+    private final Report report;
+    private final DetailsTableModel model;
+    private final Issue[] issues;
+    private final List<Comparator<Issue>> comparators;
+
+    private final Map<Integer, int[]> sortedRowsByColumn = new HashMap<>();
+    private String[] searchTexts;
+
+    /**
+     * Creates a new index for the specified report.
+     *
+     * @param report
+     *         the report to show in the table
+     * @param model
+     *         the model that renders the rows of the table
+     */
+    DetailsTableIndex(final Report report, final DetailsTableModel model) {
+        this.report = report;
+        this.model = model;
+
+        issues = new Issue[report.size()];
+        int position = 0;
+        for (Issue issue : report) {
+            issues[position++] = issue;
+        }
+        comparators = model.getComparators(report);
+    }
+
+    /**
+     * Returns a page of the table.
+     *
+     * @param start
+     *         the index of the first row of the page (within the sorted and filtered rows)
+     * @param length
+     *         the number of rows of the page, a negative value selects all rows
+     * @param column
+     *         the column to sort by
+     * @param ascending
+     *         determines whether to sort in ascending or descending order
+     * @param search
+     *         the search term, an empty term selects all rows
+     *
+     * @return the rows of the page
+     */
+    synchronized TablePage getPage(final int start, final int length, final int column, final boolean ascending,
+            final String search) {
+        int[] sortedRows = getSortedRows(column);
+        String term = StringUtils.trimToEmpty(search).toLowerCase(Locale.ENGLISH);
+        int first = Math.max(start, 0);
+        long last = length < 0 ? Long.MAX_VALUE : (long) first + length;
+
+        int[] visibleRows = new int[(int) Math.max(0, Math.min(last, sortedRows.length) - first)];
+        int visible = 0;
+        int matches = 0;
+        for (int i = 0; i < sortedRows.length; i++) {
+            int row = sortedRows[ascending ? i : sortedRows.length - 1 - i];
+            if (term.isEmpty() || getSearchTexts()[row].contains(term)) {
+                if (matches >= first && matches < last) {
+                    visibleRows[visible++] = row;
+                }
+                else if (term.isEmpty() && matches >= last) {
+                    matches = sortedRows.length; // all rows match: no need to visit the remaining rows
+                    break;
+                }
+                matches++;
+            }
+        }
+        return new TablePage(issues.length, matches,
+                model.getContent(report, Arrays.copyOf(visibleRows, visible)));
+    }
+
+    private int[] getSortedRows(final int column) {
+        int key = column >= 0 && column < comparators.size() && comparators.get(column) != null ? column : UNSORTED;
+
+        return sortedRowsByColumn.computeIfAbsent(key, this::sort);
+    }
+
+    private int[] sort(final int column) {
+        Integer[] rows = new Integer[issues.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        if (column != UNSORTED) {
+            Comparator<Issue> comparator = comparators.get(column);
+            Arrays.sort(rows, (first, second) -> comparator.compare(issues[first], issues[second]));
+        }
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+
+    private String[] getSearchTexts() {
+        if (searchTexts == null) {
+            searchTexts = new String[issues.length];
+            for (int i = 0; i < issues.length; i++) {
+                searchTexts[i] = model.getSearchText(report, issues[i]);
+            }
+        }
+        return searchTexts;
+    }
+
+    /**
+     * A page of a details table.
+     */
+    static class TablePage {
+        private final int totalSize;
+        private final int filteredSize;
+        private final List<List<String>> rows;
+
+        TablePage(final int totalSize, final int filteredSize, final List<List<String>> rows) {
+            this.totalSize = totalSize;
+            this.filteredSize = filteredSize;
+            this.rows = rows;
+        }
+
+        /**
+         * Returns the total number of rows of the table.
+         *
+         * @return the number of rows
+         */
+        int getTotalSize() {
+            return totalSize;
+        }
+
+        /**
+         * Returns the number of rows that match the search term.
+         *
+         * @return the number of matching rows
+         */
+        int getFilteredSize() {
+            return filteredSize;
+        }
+
+        /**
+         * Returns the visible rows of the page.
+         *
+         * @return the rows
+         */
+        List<List<String>> getRows() {
+            return rows;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -27,12 +31,15 @@ import static j2html.TagCreator.*;
  * <li>width for each column</li>
  * <li>content for each row</li>
  * <li>content for whole table</li>
+ * <li>sort order and search text for each column</li>
  * </ul>
  *
  * @author Ullrich Hafner
  */
 public class DetailsTableModel {
     private static final Sanitizer SANITIZER = new Sanitizer();
+    private static final List<Severity> SEVERITY_ORDER = Arrays.asList(
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW);
 
     private final AgeBuilder ageBuilder;
     private final FileNameRenderer fileNameRenderer;
@@ -134,6 +141,124 @@ public class DetailsTableModel {
         return rows;
     }
 
+    /**
+     * Converts the specified issues of the report into rows of a table.
+     *
+     * @param report
+     *         the report to show in the table
+     * @param rows
+     *         the indexes of the issues in the report that should be converted
+     *
+     * @return the rows of the table
+     */
+    public List<List<String>> getContent(final Report report, final int[] rows) {
+        List<List<String>> content = new ArrayList<>();
+        for (int row : rows) {
+            Issue issue = report.get(row);
+            content.add(getRow(report, issue, descriptionProvider.getDescription(issue)));
+        }
+        return content;
+    }
+
+    /**
+     * Returns the comparators that sort the rows of the table by the individual columns. The comparators are in the
+     * same order as the headers of the table, a {@code null} element marks a column that can't be sorted.
+     *
+     * @param report
+     *         the report to show in the table
+     *
+     * @return the comparators of the columns
+     */
+    public List<Comparator<Issue>> getComparators(final Report report) {
+        List<Comparator<Issue>> comparators = new ArrayList<>();
+        comparators.add(null);
+        comparators.add(compareByFileName());
+        if (report.hasPackages()) {
+            comparators.add(compareBy(Issue::getPackageName));
+        }
+        if (report.hasCategories()) {
+            comparators.add(compareBy(Issue::getCategory));
+        }
+        if (report.hasTypes()) {
+            comparators.add(compareBy(Issue::getType));
+        }
+        comparators.add(compareBySeverity());
+        comparators.add(compareByAge());
+        return comparators;
+    }
+
+    /**
+     * Returns the text of the specified issue that will be matched against the search term of the table. The
+     * text contains the plain values of all visible columns.
+     *
+     * @param report
+     *         the report to show in the table
+     * @param issue
+     *         the issue in a table row
+     *
+     * @return the searchable text
+     */
+    public String getSearchText(final Report report, final Issue issue) {
+        return toSearchText(issue.getMessage(), issue.getFileName(), issue.getPackageName(), issue.getCategory(),
+                issue.getType(), LocalizedSeverity.getLocalizedString(issue.getSeverity()));
+    }
+
+    /**
+     * Joins the specified values of a row to a searchable text.
+     *
+     * @param values
+     *         the values of the row
+     *
+     * @return the searchable text
+     */
+    protected String toSearchText(final String... values) {
+        return StringUtils.join(values, '\n').toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns a comparator that sorts issues by file name and line number.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareByFileName() {
+        return Comparator.comparing(Issue::getBaseName)
+                .thenComparing(Issue::getFileName)
+                .thenComparingInt(Issue::getLineStart);
+    }
+
+    /**
+     * Returns a comparator that sorts issues by the specified property.
+     *
+     * @param property
+     *         the property to sort by
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareBy(final Function<Issue, String> property) {
+        return Comparator.comparing(property);
+    }
+
+    /**
+     * Returns a comparator that sorts issues by severity, starting with the most important severity.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareBySeverity() {
+        return Comparator.comparingInt(issue -> {
+            int position = SEVERITY_ORDER.indexOf(issue.getSeverity());
+            return position < 0 ? SEVERITY_ORDER.size() : position;
+        });
+    }
+
+    /**
+     * Returns a comparator that sorts issues by age, starting with the youngest issues.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareByAge() {
+        return Comparator.comparingInt(issue -> -parseInt(issue.getReference()));
+    }
+
     /**
      * Returns an JSON array that represents the columns of the issues table.
      *
@@ -5,6 +5,14 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.SerializationUtils;
 
 import edu.hm.hafner.analysis.FileReaderFactory;
 import edu.hm.hafner.analysis.IssueParser;
@@ -22,6 +30,12 @@ import io.jenkins.plugins.analysis.core.util.ModelValidation;
  * Scans files that match a specified Ant files pattern for issues and aggregates the found issues into a single {@link
  * Report issues} instance. This callable will be invoked on a slave agent so all fields and the returned issues need to
  * be {@link Serializable}.
+ * <p>
+ * If a parallelism greater than one is configured, then the files will be parsed concurrently in a bounded {@link
+ * ForkJoinPool}. Each worker thread uses its own copy of the parser. The reports of the individual files are merged
+ * afterwards in the order of the file names so that the results (and the detected duplicates) are the same as with a
+ * sequential scan.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -31,6 +45,7 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
     private final String filePattern;
     private final IssueParser parser;
     private final String encoding;
+    private final int parallelism;
 
     /**
      * Creates a new instance of {@link FilesScanner}.
@@ -43,15 +58,34 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
      *         encoding of the files to parse
      */
     public FilesScanner(final String filePattern, final ReportScanningTool tool, final String encoding) {
+        this(filePattern, tool, encoding, 1);
+    }
+
+    /**
+     * Creates a new instance of {@link FilesScanner}.
+     *
+     * @param filePattern
+     *         ant file-set pattern to scan for files to parse
+     * @param tool
+     *         the static code analysis tool that reports the issues
+     * @param encoding
+     *         encoding of the files to parse
+     * @param parallelism
+     *         the maximum number of files that will be parsed concurrently, values less than or equal to 1 will scan
+     *         the files sequentially
+     */
+    public FilesScanner(final String filePattern, final ReportScanningTool tool, final String encoding,
+            final int parallelism) {
         super();
 
         this.filePattern = filePattern;
         this.parser = tool.createParser();
         this.encoding = encoding;
+        this.parallelism = parallelism;
     }
 
     @Override
-    public Report invoke(final File workspace, final VirtualChannel channel) {
+    public Report invoke(final File workspace, final VirtualChannel channel) throws InterruptedException {
         Report report = new Report();
         report.logInfo("Searching for all files in '%s' that match the pattern '%s'",
                 workspace.getAbsolutePath(), filePattern);
@@ -68,19 +102,58 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
         return report;
     }
 
-    private void scanFiles(final File workspace, final String[] fileNames, final Report report) {
-        for (String fileName : fileNames) {
-            Path file = workspace.toPath().resolve(fileName);
-
-            if (!Files.isReadable(file)) {
-                report.logError("Skipping file '%s' because Jenkins has no permission to read the file", fileName);
+    private void scanFiles(final File workspace, final String[] fileNames, final Report report)
+            throws InterruptedException {
+        int threads = Math.min(parallelism, fileNames.length);
+        if (threads > 1) {
+            report.logInfo("-> parsing files using %d threads", threads);
+            scanFilesInParallel(workspace, fileNames, report, threads);
+        }
+        else {
+            for (String fileName : fileNames) {
+                scanFile(workspace, fileName, () -> parser).mergeInto(report);
             }
-            else if (isEmpty(file)) {
-                report.logError("Skipping file '%s' because it's empty", fileName);
+        }
+    }
+
+    private void scanFilesInParallel(final File workspace, final String[] fileNames, final Report report,
+            final int threads) throws InterruptedException {
+        ThreadLocal<IssueParser> parsers = ThreadLocal.withInitial(() -> SerializationUtils.clone(parser));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<FileResult> results = pool.submit(() -> Arrays.stream(fileNames)
+                    .parallel()
+                    .map(fileName -> scanFile(workspace, fileName, parsers::get))
+                    .collect(Collectors.toList())).get();
+            for (FileResult result : results) {
+                result.mergeInto(report);
             }
-            else {
-                aggregateIssuesOfFile(file, report);
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private FileResult scanFile(final File workspace, final String fileName, final Supplier<IssueParser> parsers) {
+        Path file = workspace.toPath().resolve(fileName);
+
+        if (!Files.isReadable(file)) {
+            return target -> target.logError(
+                    "Skipping file '%s' because Jenkins has no permission to read the file", fileName);
+        }
+        else if (isEmpty(file)) {
+            return target -> target.logError("Skipping file '%s' because it's empty", fileName);
+        }
+        else {
+            return parseFile(file, parsers.get());
         }
     }
 
@@ -93,20 +166,22 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
         }
     }
 
-    private void aggregateIssuesOfFile(final Path file, final Report report) {
+    private FileResult parseFile(final Path file, final IssueParser fileParser) {
         try {
-            Report result = parser.parse(new FileReaderFactory(file, new ModelValidation().getCharset(encoding)));
-            report.addAll(result);
-            report.logInfo("Successfully parsed file %s", file);
-            report.logInfo("-> found %s (skipped %s)", 
-                    plural(report.getSize(), "issue"),
-                    plural(report.getDuplicatesSize(), "duplicate"));
+            Report result = fileParser.parse(new FileReaderFactory(file, new ModelValidation().getCharset(encoding)));
+            return report -> {
+                report.addAll(result);
+                report.logInfo("Successfully parsed file %s", file);
+                report.logInfo("-> found %s (skipped %s)",
+                        plural(report.getSize(), "issue"),
+                        plural(report.getDuplicatesSize(), "duplicate"));
+            };
         }
         catch (ParsingException exception) {
-            report.logException(exception, "Parsing of file '%s' failed due to an exception:", file);
+            return report -> report.logException(exception, "Parsing of file '%s' failed due to an exception:", file);
         }
         catch (ParsingCanceledException ignored) {
-            report.logInfo("Parsing of file %s has been canceled", file);
+            return report -> report.logInfo("Parsing of file %s has been canceled", file);
         }
     }
 
@@ -120,4 +195,19 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
         builder.insert(0, count);
         return builder.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * The outcome of scanning a single file. Merging is deferred so that the results of files that have been parsed
+     * concurrently can be added to the aggregated report in a deterministic order.
+     */
+    @FunctionalInterface
+    private interface FileResult {
+        /**
+         * Adds the issues and log messages of the scanned file to the specified report.
+         *
+         * @param report
+         *         the aggregated report
+         */
+        void mergeInto(Report report);
+    }
+}
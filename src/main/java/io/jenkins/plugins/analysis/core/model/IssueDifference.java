@@ -1,9 +1,17 @@
 package io.jenkins.plugins.analysis.core.model;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Computes old, new, and fixed issues based on the reports of two consecutive static analysis runs for the same
@@ -27,44 +35,26 @@ public class IssueDifference {
      *         the issues of a previous report (reference)
      */
     IssueDifference(final Report currentIssues, final int currentBuildNumber, final Report referenceIssues) {
-        newIssues = currentIssues.copy();
-        fixedIssues = referenceIssues.copy();
+        ReferenceIndex references = new ReferenceIndex(referenceIssues);
+        Set<UUID> outstandingIds = new HashSet<>();
         outstandingIssues = new Report();
 
         for (Issue current : currentIssues) {
-            Optional<Issue> referenceToRemove = findReferenceByEquals(current);
+            Optional<Issue> referenceToRemove = references.removeByEquals(current);
 
             if (!referenceToRemove.isPresent()) {
-                referenceToRemove = findReferenceByFingerprint(current);
+                referenceToRemove = references.removeByFingerprint(current);
             }
 
             if (referenceToRemove.isPresent()) {
-                Issue oldIssue = referenceToRemove.get();
-                Issue issueWithLatestProperties = newIssues.remove(current.getId());
-                issueWithLatestProperties.setReference(oldIssue.getReference());
-                outstandingIssues.add(issueWithLatestProperties);
-                fixedIssues.remove(oldIssue.getId());
+                current.setReference(referenceToRemove.get().getReference());
+                outstandingIssues.add(current);
+                outstandingIds.add(current.getId());
             }
         }
+        newIssues = currentIssues.filter(issue -> !outstandingIds.contains(issue.getId()));
         newIssues.forEach(issue -> issue.setReference(String.valueOf(currentBuildNumber)));
-    }
-
-    private Optional<Issue> findReferenceByFingerprint(final Issue current) {
-        for (Issue reference : fixedIssues) {
-            if (current.getFingerprint().equals(reference.getFingerprint())) {
-                return Optional.of(reference);
-            }
-        }
-        return Optional.empty();
-    }
-
-    private Optional<Issue> findReferenceByEquals(final Issue current) {
-        for (Issue reference : fixedIssues) {
-            if (current.equals(reference)) {
-                return Optional.of(reference);
-            }
-        }
-        return Optional.empty();
+        fixedIssues = referenceIssues.filter(references::isUnmatched);
     }
 
     /**
@@ -96,5 +86,53 @@ public class IssueDifference {
     public Report getFixedIssues() {
         return fixedIssues;
     }
-}
 
+    /**
+     * Indexes the issues of a reference report by equality and by fingerprint. Each reference issue can be matched
+     * only once: matched issues are removed from both indexes. Since the buckets preserve the order of the reference
+     * report, the first matching reference issue is returned, just like a linear scan of the remaining issues would
+     * do.
+     */
+    private static class ReferenceIndex {
+        private final Map<Issue, Deque<Issue>> byEquals = new HashMap<>();
+        private final Map<String, Deque<Issue>> byFingerprint = new HashMap<>();
+        private final Set<UUID> matched = new HashSet<>();
+
+        ReferenceIndex(final Report referenceIssues) {
+            for (Issue reference : referenceIssues) {
+                byEquals.computeIfAbsent(reference, key -> new ArrayDeque<>()).add(reference);
+                byFingerprint.computeIfAbsent(reference.getFingerprint(), key -> new ArrayDeque<>()).add(reference);
+            }
+        }
+
+        Optional<Issue> removeByEquals(final Issue current) {
+            return removeFirstUnmatched(byEquals.get(current));
+        }
+
+        Optional<Issue> removeByFingerprint(final Issue current) {
+            return removeFirstUnmatched(byFingerprint.get(current.getFingerprint()));
+        }
+
+        boolean isUnmatched(final Issue reference) {
+            return !matched.contains(reference.getId());
+        }
+
+        /**
+         * Removes the first reference issue of the specified bucket that has not been matched yet. Issues that have
+         * been matched by the other index are skipped and dropped lazily, so every issue is visited at most once per
+         * index.
+         */
+        private Optional<Issue> removeFirstUnmatched(@Nullable final Deque<Issue> bucket) {
+            if (bucket == null) {
+                return Optional.empty();
+            }
+            while (!bucket.isEmpty()) {
+                Issue reference = bucket.poll();
+                if (matched.add(reference.getId())) {
+                    return Optional.of(reference);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * The persisted issues of a static analysis run. All issues of the run (outstanding and new issues) are stored only
+ * once, the new issues are marked using a bitmap over these issues. The fixed issues are not part of the current run:
+ * they are still available in the reference build, so only their IDs are stored.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueStore {
+    private final Report issues;
+    private final BitSet newIssues;
+    private final List<UUID> fixedIssues;
+
+    /**
+     * Creates a new instance of {@link IssueStore} that contains the specified issues.
+     *
+     * @param outstandingIssues
+     *         the outstanding issues
+     * @param newIssues
+     *         the new issues
+     * @param fixedIssues
+     *         the fixed issues, only the IDs of these issues will be stored
+     */
+    IssueStore(final Report outstandingIssues, final Report newIssues, final Report fixedIssues) {
+        issues = new Report();
+        issues.addAll(outstandingIssues, newIssues);
+
+        Set<UUID> newIds = new HashSet<>();
+        newIssues.forEach(issue -> newIds.add(issue.getId()));
+        this.newIssues = new BitSet(issues.size());
+        for (int i = 0; i < issues.size(); i++) {
+            if (newIds.contains(issues.get(i).getId())) {
+                this.newIssues.set(i);
+            }
+        }
+
+        this.fixedIssues = new ArrayList<>(fixedIssues.size());
+        fixedIssues.forEach(issue -> this.fixedIssues.add(issue.getId()));
+    }
+
+    /**
+     * Creates a new instance of {@link IssueStore} from its persisted parts.
+     *
+     * @param issues
+     *         all issues (outstanding and new)
+     * @param newIssues
+     *         the positions of the new issues in {@code issues}
+     * @param fixedIssues
+     *         the IDs of the fixed issues
+     */
+    IssueStore(final Report issues, final BitSet newIssues, final List<UUID> fixedIssues) {
+        this.issues = issues;
+        this.newIssues = newIssues;
+        this.fixedIssues = fixedIssues;
+    }
+
+    Report getIssues() {
+        return issues;
+    }
+
+    BitSet getNewIssuesBitmap() {
+        return newIssues;
+    }
+
+    Report getOutstandingIssues() {
+        return select(false);
+    }
+
+    Report getNewIssues() {
+        return select(true);
+    }
+
+    private Report select(final boolean isNew) {
+        Report selected = new Report();
+        for (int i = 0; i < issues.size(); i++) {
+            if (newIssues.get(i) == isNew) {
+                selected.add(issues.get(i));
+            }
+        }
+        return selected;
+    }
+
+    List<UUID> getFixedIssues() {
+        return Collections.unmodifiableList(fixedIssues);
+    }
+
+    /**
+     * Resolves the fixed issues using the issues of the reference build.
+     *
+     * @param referenceIssues
+     *         all issues of the reference build
+     *
+     * @return the fixed issues
+     */
+    Report resolveFixedIssues(final Report referenceIssues) {
+        Set<UUID> ids = new HashSet<>(fixedIssues);
+        Report fixed = new Report();
+        for (Issue issue : referenceIssues) {
+            if (ids.contains(issue.getId())) {
+                fixed.add(issue);
+            }
+        }
+        return fixed;
+    }
+}
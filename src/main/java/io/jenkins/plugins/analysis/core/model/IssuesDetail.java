@@ -1,8 +1,12 @@
 package io.jenkins.plugins.analysis.core.model;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,6 +15,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
+import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.collections.api.set.ImmutableSet;
 
@@ -31,7 +36,9 @@ import hudson.model.Run;
 
 import io.jenkins.plugins.analysis.core.charts.PieModel;
 import io.jenkins.plugins.analysis.core.charts.SeverityChart;
+import io.jenkins.plugins.analysis.core.model.DetailsTableIndex.TablePage;
 import io.jenkins.plugins.analysis.core.restapi.AnalysisResultApi;
+import io.jenkins.plugins.analysis.core.restapi.IssueStreamWriter;
 import io.jenkins.plugins.analysis.core.restapi.ReportApi;
 import io.jenkins.plugins.analysis.core.util.AffectedFilesResolver;
 import io.jenkins.plugins.analysis.core.util.ConsoleLogHandler;
@@ -63,6 +70,9 @@ public class IssuesDetail implements ModelObject {
 
     private final AnalysisResult result;
 
+    private DetailsTableIndex issuesIndex;
+    private DetailsTableIndex scmIndex;
+
     /**
      * Creates a new detail model with the corresponding view {@code IssuesDetail/index.jelly}.
      *
@@ -219,6 +229,50 @@ public class IssuesDetail implements ModelObject {
         return toJsonArray(rows);
     }
 
+    /**
+     * Returns a page of the specified table. The rows are sorted, filtered, and rendered on the server: only the rows
+     * of the selected page are returned.
+     *
+     * @param id
+     *         the ID of the table
+     * @param start
+     *         the index of the first row of the page
+     * @param length
+     *         the number of rows of the page, a negative value selects all rows
+     * @param column
+     *         the column to sort by
+     * @param direction
+     *         the sort direction, either {@code asc} or {@code desc}
+     * @param search
+     *         the search term that filters the rows
+     *
+     * @return the UI model of the page as JSON
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by jelly view
+    public JSONObject getTablePage(final String id, final int start, final int length, final int column,
+            final String direction, final String search) {
+        TablePage page = getTableIndex(id).getPage(start, length, column, !"desc".equals(direction), search);
+
+        JSONObject data = toJsonArray(page.getRows());
+        data.put("recordsTotal", page.getTotalSize());
+        data.put("recordsFiltered", page.getFilteredSize());
+        return data;
+    }
+
+    private synchronized DetailsTableIndex getTableIndex(final String id) {
+        if ("#issues".equals(id)) {
+            if (issuesIndex == null) {
+                issuesIndex = new DetailsTableIndex(getIssues(), getIssuesModel());
+            }
+            return issuesIndex;
+        }
+        if (scmIndex == null) {
+            scmIndex = new DetailsTableIndex(getIssues(), getScmModel());
+        }
+        return scmIndex;
+    }
+
     /**
      * Returns the UI model for an ECharts doughnut chart that shows the severities.
      *
@@ -262,6 +316,11 @@ public class IssuesDetail implements ModelObject {
     public JSONObject getBuildTrend() {
         SeverityChart severityChart = new SeverityChart();
 
+        TrendStore trendStore = new TrendStore(owner.getParent(), result.getId());
+        if (trendStore.exists()) {
+            return JSONObject.fromObject(severityChart.createFromTrend(
+                    trendStore.read(owner.getNumber(), SeverityChart.MAX_BUILDS)));
+        }
         History history = new AnalysisHistory(owner, new ByIdResultSelector(result.getId()));
         return JSONObject.fromObject(severityChart.create(history));
     }
@@ -418,6 +477,54 @@ public class IssuesDetail implements ModelObject {
         }
     }
 
+    /**
+     * Exports the issues of this view as newline delimited JSON (NDJSON). The issues are streamed one by one to the
+     * response. The following query parameters are supported:
+     * <ul>
+     * <li>{@code state}: selects the {@code new}, {@code outstanding}, or {@code fixed} issues (default: all
+     * issues)</li>
+     * <li>{@code severity}: comma separated list of the severities to export, e.g. {@code ERROR,HIGH}</li>
+     * <li>{@code fields}: comma separated list of the properties to export, e.g. {@code fileName,lineStart}</li>
+     * </ul>
+     *
+     * @param request
+     *         Stapler request
+     * @param response
+     *         Stapler response
+     *
+     * @throws IOException
+     *         if the issues could not be written
+     */
+    public void doNdjson(final StaplerRequest request, final StaplerResponse response) throws IOException {
+        IssueStreamWriter writer;
+        try {
+            writer = new IssueStreamWriter(request.getParameter("fields"), request.getParameter("severity"));
+        }
+        catch (IllegalArgumentException exception) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, exception.getMessage());
+            return;
+        }
+
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        try (Writer output = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+            writer.write(selectIssues(request.getParameter("state")), output);
+        }
+    }
+
+    private Report selectIssues(final String state) {
+        if ("new".equals(state)) {
+            return newIssues;
+        }
+        if ("outstanding".equals(state)) {
+            return outstandingIssues;
+        }
+        if ("fixed".equals(state)) {
+            return fixedIssues;
+        }
+        return report;
+    }
+
     /**
      * Returns a new sub page for the selected link.
      *
@@ -132,6 +132,16 @@ public class JobAction implements Action {
         return createBuildHistory().getBaselineAction();
     }
 
+    /**
+     * Returns a summary of the latest static analysis results for this job. In contrast to {@link #getLatestAction()}
+     * the summary is obtained from the {@link LatestResultsRegistry} without loading any builds.
+     *
+     * @return the summary of the latest results (if available)
+     */
+    public Optional<ResultSummary> getLatestSummary() {
+        return LatestResultsRegistry.getInstance().getLatestResult(owner, getId());
+    }
+
     /**
      * Returns the UI model for an ECharts line chart that shows the issues stacked by severity. 
      *
@@ -142,9 +152,31 @@ public class JobAction implements Action {
     public JSONObject getBuildTrend() {
         SeverityChart severityChart = new SeverityChart();
 
+        Optional<TrendStore> trendStore = getTrendStore();
+        if (trendStore.isPresent()) {
+            return JSONObject.fromObject(severityChart.createFromTrend(
+                    trendStore.get().read(getLastCompletedBuildNumber(), SeverityChart.MAX_BUILDS)));
+        }
         return JSONObject.fromObject(severityChart.create(createBuildHistory()));
     }
 
+    /**
+     * Returns the trend store of this job. If the trend store has not been created yet (i.e., no build has been
+     * published since the trend store has been introduced), then the trend will be computed using the build history.
+     */
+    private Optional<TrendStore> getTrendStore() {
+        TrendStore trendStore = new TrendStore(owner, getId());
+        if (trendStore.exists() && owner.getLastCompletedBuild() != null) {
+            return Optional.of(trendStore);
+        }
+        return Optional.empty();
+    }
+
+    private int getLastCompletedBuildNumber() {
+        Run<?, ?> lastCompletedBuild = owner.getLastCompletedBuild();
+        return lastCompletedBuild == null ? 0 : lastCompletedBuild.getNumber();
+    }
+
     /**
      * Returns whether the trend chart is visible or not. 
      * 
@@ -152,6 +184,11 @@ public class JobAction implements Action {
      */
     @SuppressWarnings("unused") // Called by jelly view
     public boolean isTrendVisible() {
+        Optional<TrendStore> trendStore = getTrendStore();
+        if (trendStore.isPresent()) {
+            return trendStore.get().read(getLastCompletedBuildNumber(), MIN_BUILDS).size() >= MIN_BUILDS;
+        }
+
         History history = createBuildHistory();
 
         Iterator<AnalysisResult> iterator = history.iterator();
@@ -0,0 +1,158 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Controller wide registry of the latest static analysis results of all jobs. For each job the registry stores a
+ * {@link ResultSummary} of every {@link ResultAction} of the last completed build. So views that show the results of
+ * many jobs (list view columns, dashboard portlets) can read these summaries without loading any builds.
+ * <p>
+ * The registry is updated by a {@link RunListener} whenever a build completes or is deleted. The summaries of a job
+ * that has not been built since the start of Jenkins are created on the first access.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class LatestResultsRegistry {
+    private static final LatestResultsRegistry INSTANCE = new LatestResultsRegistry();
+
+    private final Map<Job<?, ?>, LatestResults> resultsByJob = new WeakHashMap<>();
+
+    /**
+     * Returns the singleton instance of the registry.
+     *
+     * @return the registry
+     */
+    public static LatestResultsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    LatestResultsRegistry() {
+        // only the singleton instance should be used
+    }
+
+    /**
+     * Returns the summary of the latest result with the specified ID of the given job. The latest result is the result
+     * of the last completed build.
+     *
+     * @param job
+     *         the job to get the result for
+     * @param id
+     *         the ID of the result
+     *
+     * @return the summary of the latest result (if available)
+     */
+    public Optional<ResultSummary> getLatestResult(final Job<?, ?> job, final String id) {
+        return Optional.ofNullable(getLatestResults(job).get(id));
+    }
+
+    /**
+     * Returns the summaries of all latest results of the given job. The latest results are the results of the last
+     * completed build.
+     *
+     * @param job
+     *         the job to get the results for
+     *
+     * @return the summaries of the latest results, mapped by the IDs of the results
+     */
+    public Map<String, ResultSummary> getLatestResults(final Job<?, ?> job) {
+        synchronized (resultsByJob) {
+            LatestResults results = resultsByJob.get(job);
+            if (results != null) {
+                return results.summaries;
+            }
+        }
+
+        LatestResults results = LatestResults.of(job.getLastCompletedBuild());
+        synchronized (resultsByJob) {
+            return resultsByJob.computeIfAbsent(job, key -> results).summaries;
+        }
+    }
+
+    /**
+     * Registers the results of the specified completed build. If the registry already contains the results of a newer
+     * build of the same job, then the build will be ignored.
+     *
+     * @param run
+     *         the completed build
+     */
+    void register(final Run<?, ?> run) {
+        LatestResults results = LatestResults.of(run);
+        synchronized (resultsByJob) {
+            resultsByJob.merge(run.getParent(), results,
+                    (existing, added) -> added.buildNumber >= existing.buildNumber ? added : existing);
+        }
+    }
+
+    /**
+     * Removes the results of the specified deleted build. The results of the job will be recomputed on the next
+     * access.
+     *
+     * @param run
+     *         the deleted build
+     */
+    void unregister(final Run<?, ?> run) {
+        synchronized (resultsByJob) {
+            LatestResults results = resultsByJob.get(run.getParent());
+            if (results != null && results.buildNumber == run.getNumber()) {
+                resultsByJob.remove(run.getParent());
+            }
+        }
+    }
+
+    /**
+     * The summaries of the results of a build.
+     */
+    private static final class LatestResults {
+        private final int buildNumber;
+        private final Map<String, ResultSummary> summaries;
+
+        static LatestResults of(final Run<?, ?> run) {
+            if (run == null) {
+                return new LatestResults(0, Collections.emptyMap());
+            }
+
+            Map<String, ResultSummary> summaries = new LinkedHashMap<>();
+            for (ResultAction action : run.getActions(ResultAction.class)) {
+                summaries.put(action.getId(), new ResultSummary(action));
+            }
+            return new LatestResults(run.getNumber(), Collections.unmodifiableMap(summaries));
+        }
+
+        private LatestResults(final int buildNumber, final Map<String, ResultSummary> summaries) {
+            this.buildNumber = buildNumber;
+            this.summaries = summaries;
+        }
+    }
+
+    /**
+     * Updates the {@link LatestResultsRegistry} whenever a build completes or is deleted.
+     */
+    @Extension
+    @SuppressWarnings("unused") // Picked up by Jenkins Extension Scanner
+    public static class RegistryUpdater extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(final Run<?, ?> run, @NonNull final TaskListener listener) {
+            getInstance().register(run);
+        }
+
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            getInstance().unregister(run);
+        }
+    }
+}
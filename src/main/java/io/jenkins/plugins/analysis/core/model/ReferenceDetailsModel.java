@@ -1,7 +1,9 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.BiFunction;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -56,6 +58,26 @@ class ReferenceDetailsModel extends DetailsTableModel {
         return visibleColumns;
     }
 
+    @Override
+    public List<Comparator<Issue>> getComparators(final Report report) {
+        List<Comparator<Issue>> comparators = new ArrayList<>();
+        comparators.add(null);
+        comparators.add(compareByFileName());
+        comparators.add(compareByAge());
+        comparators.add(compareBy(issue -> getBlame(issue, BlameRequest::getName)));
+        comparators.add(compareBy(issue -> getBlame(issue, BlameRequest::getEmail)));
+        comparators.add(compareBy(issue -> getBlame(issue, BlameRequest::getCommit)));
+        return comparators;
+    }
+
+    @Override
+    public String getSearchText(final Report report, final Issue issue) {
+        return toSearchText(issue.getMessage(), issue.getFileName(),
+                getBlame(issue, BlameRequest::getName),
+                getBlame(issue, BlameRequest::getEmail),
+                getBlame(issue, BlameRequest::getCommit));
+    }
+
     @Override
     protected List<String> getRow(final Report report, final Issue issue,
             final String description) {
@@ -63,18 +85,16 @@ class ReferenceDetailsModel extends DetailsTableModel {
         columns.add(formatDetails(issue, description));
         columns.add(formatFileName(issue));
         columns.add(formatAge(issue));
+        columns.add(getBlame(issue, BlameRequest::getName));
+        columns.add(getBlame(issue, BlameRequest::getEmail));
+        columns.add(getBlame(issue, BlameRequest::getCommit));
+        return columns;
+    }
+
+    private String getBlame(final Issue issue, final BiFunction<BlameRequest, Integer, String> property) {
         if (blames.contains(issue.getFileName())) {
-            BlameRequest blameRequest = blames.get(issue.getFileName());
-            int line = issue.getLineStart();
-            columns.add(blameRequest.getName(line));
-            columns.add(blameRequest.getEmail(line));
-            columns.add(blameRequest.getCommit(line));
+            return property.apply(blames.get(issue.getFileName()), issue.getLineStart());
         }
-        else {
-            columns.add("-");
-            columns.add("-");
-            columns.add("-");
-        }
-        return columns;
+        return "-";
     }
 }
@@ -0,0 +1,202 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.XStream2;
+
+import io.jenkins.plugins.analysis.core.model.AnalysisHistory.JobResultEvaluationMode;
+import io.jenkins.plugins.analysis.core.model.AnalysisHistory.QualityGateEvaluationMode;
+
+/**
+ * Index of the reference builds of a job. For each ID of the static analysis results and for each combination of
+ * {@link QualityGateEvaluationMode} and {@link JobResultEvaluationMode} the index stores the number of the latest
+ * completed build that matches these modes. So the reference build can be determined without walking through the
+ * (possibly long) chain of previous builds. The index is stored in the folder of the job and is updated by a
+ * {@link RunListener} whenever a build completes.
+ * <p>
+ * If the index is stale (e.g., the indexed build has been deleted in the meantime, or the index does not contain all
+ * previous builds yet), then the history falls back to walking through the previous builds.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ReferenceIndex {
+    private static final Logger LOGGER = Logger.getLogger(ReferenceIndex.class.getName());
+    private static final String FILE_NAME = "analysis-reference-index.xml";
+    private static final int NO_BUILD = 0;
+    private static final int MODE_COMBINATIONS =
+            QualityGateEvaluationMode.values().length * JobResultEvaluationMode.values().length;
+
+    /** Serializes the updates of the index of each job, the indexes of different jobs are updated concurrently. */
+    private static final Map<Job<?, ?>, Object> LOCKS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, int[]> latestBuildsById = new HashMap<>();
+    private int lastIndexedBuild = NO_BUILD;
+
+    /**
+     * Returns the run with a result of the specified ID that matches the specified evaluation modes. The search starts
+     * with the build before the specified start build. If the index can't answer the query, then the specified
+     * fallback will be used to walk through the previous builds.
+     *
+     * @param start
+     *         the build that starts the search (excluded)
+     * @param id
+     *         the ID of the result
+     * @param qualityGateEvaluationMode
+     *         the quality gate evaluation mode
+     * @param jobResultEvaluationMode
+     *         the job result evaluation mode
+     * @param fallback
+     *         walks through the previous builds if the index can't answer the query
+     *
+     * @return the matching run (if there is any)
+     */
+    static Optional<Run<?, ?>> find(final Run<?, ?> start, final String id,
+            final QualityGateEvaluationMode qualityGateEvaluationMode,
+            final JobResultEvaluationMode jobResultEvaluationMode, final Supplier<Optional<Run<?, ?>>> fallback) {
+        Job<?, ?> job = start.getParent();
+        if (job == null) {
+            return fallback.get();
+        }
+
+        ReferenceIndex index = load(job);
+        int[] latestBuilds = index.latestBuildsById.get(id);
+        if (latestBuilds == null || index.lastIndexedBuild < start.getNumber() - 1) {
+            return fallback.get(); // not all previous builds are indexed yet
+        }
+
+        int number = latestBuilds[getPosition(qualityGateEvaluationMode, jobResultEvaluationMode)];
+        if (number == NO_BUILD) {
+            return Optional.empty();
+        }
+        if (number >= start.getNumber()) {
+            return fallback.get(); // the index contains newer builds only
+        }
+
+        Run<?, ?> run = job.getBuildByNumber(number);
+        if (run != null && AnalysisHistory.matches(run, new ByIdResultSelector(id), qualityGateEvaluationMode,
+                jobResultEvaluationMode)) {
+            return Optional.of(run);
+        }
+        return fallback.get(); // the indexed build has been deleted or changed
+    }
+
+    /**
+     * Adds the specified completed run to the index of its job.
+     *
+     * @param run
+     *         the completed run
+     */
+    static void update(final Run<?, ?> run) {
+        Job<?, ?> job = run.getParent();
+        List<ResultAction> actions = run.getActions(ResultAction.class);
+
+        synchronized (getLock(job)) {
+            ReferenceIndex index = load(job);
+            for (ResultAction action : actions) {
+                int[] latestBuilds = index.latestBuildsById.computeIfAbsent(action.getId(),
+                        id -> createFromHistory(run.getPreviousBuild(), id));
+                ResultSelector selector = new ByIdResultSelector(action.getId());
+                for (QualityGateEvaluationMode qualityGateEvaluationMode : QualityGateEvaluationMode.values()) {
+                    for (JobResultEvaluationMode jobResultEvaluationMode : JobResultEvaluationMode.values()) {
+                        int position = getPosition(qualityGateEvaluationMode, jobResultEvaluationMode);
+                        if (run.getNumber() > latestBuilds[position] && AnalysisHistory.matches(run, selector,
+                                qualityGateEvaluationMode, jobResultEvaluationMode)) {
+                            latestBuilds[position] = run.getNumber();
+                        }
+                    }
+                }
+            }
+            if (!actions.isEmpty() || index.lastIndexedBuild > NO_BUILD) {
+                index.lastIndexedBuild = Math.max(index.lastIndexedBuild, run.getNumber());
+                index.save(job);
+            }
+        }
+    }
+
+    private static Object getLock(final Job<?, ?> job) {
+        return LOCKS.computeIfAbsent(job, key -> new Object());
+    }
+
+    /**
+     * Initializes the index entries of a new ID by walking once through the previous builds.
+     */
+    private static int[] createFromHistory(final Run<?, ?> previous, final String id) {
+        int[] latestBuilds = new int[MODE_COMBINATIONS];
+        ResultSelector selector = new ByIdResultSelector(id);
+        for (QualityGateEvaluationMode qualityGateEvaluationMode : QualityGateEvaluationMode.values()) {
+            for (JobResultEvaluationMode jobResultEvaluationMode : JobResultEvaluationMode.values()) {
+                latestBuilds[getPosition(qualityGateEvaluationMode, jobResultEvaluationMode)]
+                        = AnalysisHistory.findRunWithResult(previous, selector, qualityGateEvaluationMode,
+                        jobResultEvaluationMode).map(Run::getNumber).orElse(NO_BUILD);
+            }
+        }
+        return latestBuilds;
+    }
+
+    private static int getPosition(final QualityGateEvaluationMode qualityGateEvaluationMode,
+            final JobResultEvaluationMode jobResultEvaluationMode) {
+        return qualityGateEvaluationMode.ordinal() * JobResultEvaluationMode.values().length
+                + jobResultEvaluationMode.ordinal();
+    }
+
+    private static XmlFile getFile(final Job<?, ?> job) {
+        return new XmlFile(new XStream2(), new File(job.getRootDir(), FILE_NAME));
+    }
+
+    private static ReferenceIndex load(final Job<?, ?> job) {
+        XmlFile file = getFile(job);
+        if (file.exists()) {
+            try {
+                Object index = file.read();
+                if (index instanceof ReferenceIndex) {
+                    return (ReferenceIndex) index;
+                }
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Failed to load reference index " + file, exception);
+            }
+        }
+        return new ReferenceIndex();
+    }
+
+    private void save(final Job<?, ?> job) {
+        XmlFile file = getFile(job);
+        try {
+            file.write(this);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to save reference index " + file, exception);
+        }
+    }
+
+    /**
+     * Updates the {@link ReferenceIndex} of a job whenever one of its builds completes.
+     */
+    @Extension
+    @SuppressWarnings("unused") // Picked up by Jenkins Extension Scanner
+    public static class IndexUpdater extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(final Run<?, ?> run, @NonNull final TaskListener listener) {
+            update(run);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.jenkins.plugins.analysis.core.model;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -23,6 +24,7 @@ import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
 
 import io.jenkins.plugins.analysis.core.util.ConsoleLogHandler;
+import io.jenkins.plugins.analysis.core.util.ConsoleLogIndex;
 import io.jenkins.plugins.analysis.core.util.ConsoleLogReaderFactory;
 import io.jenkins.plugins.analysis.core.util.EnvironmentResolver;
 import io.jenkins.plugins.analysis.core.util.LogHandler;
@@ -39,6 +41,7 @@ public abstract class ReportScanningTool extends Tool {
 
     private String pattern = StringUtils.EMPTY;
     private String reportEncoding = StringUtils.EMPTY;
+    private int parallelism = 1;
 
     /**
      * Returns a new parser to scan a log file and return the issues reported in such a file.
@@ -92,21 +95,63 @@ public abstract class ReportScanningTool extends Tool {
         return reportEncoding;
     }
 
+    /**
+     * Sets the maximum number of report files that will be parsed concurrently on the agent. Values less than or
+     * equal to 1 will parse the report files sequentially.
+     *
+     * @param parallelism
+     *         the number of threads to use
+     */
+    @DataBoundSetter
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
     @Override
     public Report scan(final Run<?, ?> run, final FilePath workspace, final Charset sourceCodeEncoding,
             final LogHandler logger) {
-        String actualPattern = getActualPattern();
-        if (StringUtils.isBlank(actualPattern)) {
-            return scanInConsoleLog(workspace, run, logger);
+        if (isScanningWorkspace()) {
+            return scanInWorkspace(workspace, createFilesScanner(run, logger), logger);
         }
         else {
-            if (StringUtils.isBlank(getPattern())) {
-                logger.log("Using default pattern '%s' since user defined pattern is not set",
-                        getDescriptor().getPattern());
-            }
+            return scanInConsoleLog(workspace, run, logger);
+        }
+    }
 
-            return scanInWorkspace(workspace, expandPattern(run, actualPattern), logger);
+    /**
+     * Returns whether this tool scans report files in the workspace. Otherwise, the console log of the build will be
+     * scanned.
+     *
+     * @return {@code true} if report files in the workspace will be scanned, {@code false} if the console log will
+     *         be scanned
+     */
+    public boolean isScanningWorkspace() {
+        return StringUtils.isNotBlank(getActualPattern());
+    }
+
+    /**
+     * Creates a new {@link FilesScanner} that parses all report files in the workspace that match the actual pattern.
+     * Environment variables in the pattern will be expanded using the environment of the specified build.
+     *
+     * @param run
+     *         the build
+     * @param logger
+     *         the logger
+     *
+     * @return the scanner to invoke on the agent
+     * @see #isScanningWorkspace()
+     */
+    public FilesScanner createFilesScanner(final Run<?, ?> run, final LogHandler logger) {
+        if (StringUtils.isBlank(getPattern())) {
+            logger.log("Using default pattern '%s' since user defined pattern is not set",
+                    getDescriptor().getPattern());
         }
+
+        return new FilesScanner(expandPattern(run, getActualPattern()), this, reportEncoding, parallelism);
     }
 
     private String expandPattern(final Run<?, ?> run, final String actualPattern) {
@@ -121,9 +166,10 @@ public abstract class ReportScanningTool extends Tool {
         }
     }
 
-    private Report scanInWorkspace(final FilePath workspace, final String expandedPattern, final LogHandler logger) {
+    private Report scanInWorkspace(final FilePath workspace, final FilesScanner filesScanner,
+            final LogHandler logger) {
         try {
-            Report report = workspace.act(new FilesScanner(expandedPattern, this, reportEncoding));
+            Report report = workspace.act(filesScanner);
 
             logger.log(report);
 
@@ -148,7 +194,9 @@ public abstract class ReportScanningTool extends Tool {
         consoleReport.logInfo("Parsing console log (workspace: '%s')", workspace);
         logger.log(consoleReport);
 
-        Report report = createParser().parse(new ConsoleLogReaderFactory(run));
+        ConsoleLogReaderFactory consoleLog = new ConsoleLogReaderFactory(run);
+        Report report = createParser().parse(consoleLog);
+        consoleLog.getIndex().ifPresent(index -> saveIndex(index, run, consoleReport));
 
         if (getDescriptor().isConsoleLog()) {
             report.stream().filter(issue -> !issue.hasFileName())
@@ -162,6 +210,17 @@ public abstract class ReportScanningTool extends Tool {
         return consoleReport;
     }
 
+    private void saveIndex(final ConsoleLogIndex index, final Run<?, ?> run, final Report report) {
+        Path indexFile = run.getRootDir().toPath().resolve(ConsoleLogIndex.FILE_NAME);
+        try {
+            index.save(indexFile);
+            report.logInfo("Indexed %d lines of the console log", index.getLineCount());
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't write index of console log to '%s'", indexFile);
+        }
+    }
+
     private void waitForConsoleToFlush(final LogHandler logger) {
         try {
             logger.log("Sleeping for 5 seconds due to JENKINS-32191...");
@@ -0,0 +1,360 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.model.Run;
+
+import io.jenkins.plugins.analysis.core.scm.BlameRequest;
+import io.jenkins.plugins.analysis.core.scm.Blames;
+
+/**
+ * Controller wide cache for the deserialized reports and blames of all {@link AnalysisResult} instances. The cache is
+ * bounded by the estimated retained size of the cached values: if the maximum size is exceeded, then the least recently
+ * used values will be evicted. Evicted values will be read again from the build folder on the next access.
+ * <p>
+ * The values are identified by the full name of the job, the number and start time of the build, and the ID of the
+ * result. So the cache does not reference the builds and results, and a result that has been loaded again from disk
+ * will use the same cached values.
+ * </p>
+ * <p>
+ * The cache records the number of hits, misses, evictions, and the time required to load the missing values.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ResultCache {
+    /** Default maximum size of the cache in MB. */
+    static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+    /** Base cost of each entry, so that empty values are bounded by the maximum size as well. */
+    private static final long ENTRY_SIZE = 1024;
+    private static final long ISSUE_SIZE = 256;
+    private static final long BLAME_REQUEST_SIZE = 256;
+    private static final long BLAME_LINE_SIZE = 16;
+
+    private static final ResultCache INSTANCE = new ResultCache(DEFAULT_MAXIMUM_SIZE * BYTES_PER_MB);
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long maximumSize;
+    private long estimatedSize;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long loadCount;
+    private long totalLoadTime;
+
+    /**
+     * Returns the singleton instance of the cache.
+     *
+     * @return the cache
+     */
+    public static ResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    ResultCache(final long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Sets the maximum size of the cache. If the cache currently is larger, then the least recently used values will be
+     * evicted.
+     *
+     * @param maximumSizeInMb
+     *         the maximum size in MB
+     */
+    public synchronized void setMaximumSize(final int maximumSizeInMb) {
+        maximumSize = maximumSizeInMb * BYTES_PER_MB;
+        evict();
+    }
+
+    /**
+     * Returns the cached report with the specified name of the given result. If the report is not cached yet, then it
+     * will be loaded using the specified loader and stored in the cache.
+     *
+     * @param result
+     *         the result that owns the report
+     * @param name
+     *         the name of the report
+     * @param loader
+     *         loads the report if it is not cached yet
+     *
+     * @return the report
+     */
+    Report getReport(final AnalysisResult result, final String name, final Supplier<Report> loader) {
+        return get(new Key(result, name), Report.class, loader, ResultCache::estimateSize);
+    }
+
+    /**
+     * Stores the report with the specified name of the given result in the cache.
+     *
+     * @param result
+     *         the result that owns the report
+     * @param name
+     *         the name of the report
+     * @param report
+     *         the report to cache
+     */
+    void putReport(final AnalysisResult result, final String name, final Report report) {
+        put(new Key(result, name), report, estimateSize(report));
+    }
+
+    /**
+     * Returns the cached blames of the given result. If the blames are not cached yet, then they will be loaded using
+     * the specified loader and stored in the cache.
+     *
+     * @param result
+     *         the result that owns the blames
+     * @param loader
+     *         loads the blames if they are not cached yet
+     *
+     * @return the blames
+     */
+    Blames getBlames(final AnalysisResult result, final Supplier<Blames> loader) {
+        return get(new Key(result, Blames.class.getName()), Blames.class, loader, ResultCache::estimateSize);
+    }
+
+    /**
+     * Stores the blames of the given result in the cache.
+     *
+     * @param result
+     *         the result that owns the blames
+     * @param blames
+     *         the blames to cache
+     */
+    void putBlames(final AnalysisResult result, final Blames blames) {
+        put(new Key(result, Blames.class.getName()), blames, estimateSize(blames));
+    }
+
+    private <T> T get(final Key key, final Class<T> type, final Supplier<T> loader,
+            final ToLongFunction<T> sizeEstimator) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && type.isInstance(entry.value)) {
+                hitCount++;
+                return type.cast(entry.value);
+            }
+            missCount++;
+        }
+
+        long start = System.nanoTime();
+        T value = loader.get();
+        long duration = System.nanoTime() - start;
+
+        synchronized (this) {
+            loadCount++;
+            totalLoadTime += duration;
+        }
+        put(key, value, sizeEstimator.applyAsLong(value));
+
+        return value;
+    }
+
+    private synchronized void put(final Key key, final Object value, final long size) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            estimatedSize -= previous.size;
+        }
+        if (size <= maximumSize) {
+            entries.put(key, new Entry(value, size));
+            estimatedSize += size;
+            evict();
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (estimatedSize > maximumSize && leastRecentlyUsed.hasNext()) {
+            estimatedSize -= leastRecentlyUsed.next().size;
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes all values from the cache. The statistics will not be reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        estimatedSize = 0;
+    }
+
+    /**
+     * Returns the number of cached values.
+     *
+     * @return the number of cached values
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated retained size of all cached values in bytes.
+     *
+     * @return the estimated size
+     */
+    public synchronized long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * Returns the estimated retained size of all cached values in MB.
+     *
+     * @return the estimated size
+     */
+    public synchronized long getEstimatedSizeInMb() {
+        return estimatedSize / BYTES_PER_MB;
+    }
+
+    /**
+     * Returns the maximum size of the cache in bytes.
+     *
+     * @return the maximum size
+     */
+    public synchronized long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of requests that have been answered with a cached value.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests that required to load the value.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of values that have been evicted because the maximum size has been exceeded.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of values that have been loaded.
+     *
+     * @return the number of loaded values
+     */
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the total time in milliseconds that has been spent loading values.
+     *
+     * @return the total load time
+     */
+    public synchronized long getTotalLoadTime() {
+        return totalLoadTime / 1_000_000;
+    }
+
+    /**
+     * Returns the average time in milliseconds that has been spent loading a value.
+     *
+     * @return the average load time
+     */
+    public synchronized long getAverageLoadTime() {
+        return loadCount == 0 ? 0 : totalLoadTime / loadCount / 1_000_000;
+    }
+
+    @VisibleForTesting
+    static long estimateSize(final Report report) {
+        long size = ENTRY_SIZE;
+        for (Issue issue : report) {
+            size += ISSUE_SIZE + 2L * (issue.getMessage().length() + issue.getDescription().length());
+        }
+        return size;
+    }
+
+    @VisibleForTesting
+    static long estimateSize(final Blames blames) {
+        long size = ENTRY_SIZE;
+        for (BlameRequest request : blames.getRequests()) {
+            size += BLAME_REQUEST_SIZE + BLAME_LINE_SIZE * request.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d entries (%d of %d bytes), %d hits, %d misses, %d evictions",
+                entries.size(), estimatedSize, maximumSize, hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Identifies a cached value: the build and ID of the result and the name of the value. The start time of the build
+     * distinguishes builds of a job that has been deleted and created again with the same name.
+     */
+    private static final class Key {
+        private final String job;
+        private final int build;
+        private final long timestamp;
+        private final String id;
+        private final String name;
+
+        Key(final AnalysisResult result, final String name) {
+            Run<?, ?> owner = result.getOwner();
+            this.job = owner.getParent().getFullName();
+            this.build = owner.getNumber();
+            this.timestamp = owner.getTimeInMillis();
+            this.id = result.getId();
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return build == key.build && timestamp == key.timestamp && job.equals(key.job) && id.equals(key.id)
+                    && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(job, build, timestamp, id, name);
+        }
+    }
+
+    /**
+     * A cached value with its estimated size.
+     */
+    private static final class Entry {
+        private final Object value;
+        private final long size;
+
+        Entry(final Object value, final long size) {
+            this.value = value;
+            this.size = size;
+        }
+    }
+}
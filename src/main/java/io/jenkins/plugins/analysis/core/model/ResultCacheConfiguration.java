@@ -0,0 +1,80 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import org.kohsuke.stapler.DataBoundSetter;
+import org.jenkinsci.Symbol;
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.model.GlobalConfiguration;
+
+/**
+ * Global configuration of the {@link ResultCache} that holds the deserialized reports and blames of all static analysis
+ * results.
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+@Symbol("warningsResultCache")
+public class ResultCacheConfiguration extends GlobalConfiguration {
+    private int maximumSize = ResultCache.DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * Loads the configuration from disk.
+     */
+    public ResultCacheConfiguration() {
+        super();
+
+        load();
+        getCache().setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Returns the singleton instance of this {@link ResultCacheConfiguration}.
+     *
+     * @return the singleton instance
+     */
+    public static ResultCacheConfiguration getInstance() {
+        return GlobalConfiguration.all().get(ResultCacheConfiguration.class);
+    }
+
+    /**
+     * Applies the configured maximum size to the cache when Jenkins starts.
+     */
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    @SuppressWarnings("unused") // Called by Jenkins during startup
+    public static void initializeCache() {
+        getInstance();
+    }
+
+    /**
+     * Returns the maximum estimated size of all cached reports and blames in MB.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum estimated size of all cached reports and blames in MB. If the cache is larger, then the least
+     * recently used reports will be evicted.
+     *
+     * @param maximumSize
+     *         the maximum size
+     */
+    @DataBoundSetter
+    public void setMaximumSize(final int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+        getCache().setMaximumSize(this.maximumSize);
+        save();
+    }
+
+    /**
+     * Returns the cache, used to show the cache statistics.
+     *
+     * @return the cache
+     */
+    public ResultCache getCache() {
+        return ResultCache.getInstance();
+    }
+}
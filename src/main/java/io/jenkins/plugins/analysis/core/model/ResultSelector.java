@@ -19,4 +19,13 @@ public interface ResultSelector {
      * @return the result action, if there is one attached to the job
      */
     Optional<ResultAction> get(Run<?, ?> build);
+
+    /**
+     * Returns the ID of the selected results, if the results are selected by ID.
+     *
+     * @return the ID of the results
+     */
+    default Optional<String> getId() {
+        return Optional.empty();
+    }
 }
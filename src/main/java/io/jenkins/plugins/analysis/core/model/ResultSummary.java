@@ -0,0 +1,137 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import io.jenkins.plugins.analysis.core.util.QualityGateStatus;
+
+/**
+ * Summary of the static analysis result of a build: provides the properties of a {@link ResultAction} that are shown in
+ * views that cover many jobs, like list view columns or dashboard portlets. In contrast to a {@link ResultAction} the
+ * summary does not reference the build, so it can be kept in memory for all jobs.
+ *
+ * @author Ullrich Hafner
+ */
+public class ResultSummary {
+    private final String id;
+    private final String name;
+    private final String urlName;
+    private final String relativeUrl;
+    private final int buildNumber;
+    private final int totalSize;
+    private final int errorsSize;
+    private final int highSize;
+    private final int normalSize;
+    private final int lowSize;
+    private final QualityGateStatus qualityGateStatus;
+
+    /**
+     * Creates a new summary of the specified result action.
+     *
+     * @param action
+     *         the action to summarize
+     */
+    public ResultSummary(final ResultAction action) {
+        AnalysisResult result = action.getResult();
+
+        id = action.getId();
+        name = action.getName();
+        urlName = action.getUrlName();
+        relativeUrl = action.getRelativeUrl();
+        buildNumber = action.getOwner().getNumber();
+        totalSize = result.getTotalSize();
+        errorsSize = result.getTotalErrorsSize();
+        highSize = result.getTotalHighPrioritySize();
+        normalSize = result.getTotalNormalPrioritySize();
+        lowSize = result.getTotalLowPrioritySize();
+        qualityGateStatus = result.getQualityGateStatus();
+    }
+
+    /**
+     * Creates a new summary with the specified properties. The number of issues per severity is not available in this
+     * summary.
+     *
+     * @param id
+     *         the ID of the result
+     * @param name
+     *         the name of the result
+     * @param urlName
+     *         the URL name of the result action
+     * @param relativeUrl
+     *         the URL of the result action, relative to the context root of Jenkins
+     * @param buildNumber
+     *         the number of the build that created the result
+     * @param totalSize
+     *         the total number of issues
+     * @param qualityGateStatus
+     *         the quality gate status
+     */
+    @VisibleForTesting
+    public ResultSummary(final String id, final String name, final String urlName, final String relativeUrl,
+            final int buildNumber, final int totalSize, final QualityGateStatus qualityGateStatus) {
+        this.id = id;
+        this.name = name;
+        this.urlName = urlName;
+        this.relativeUrl = relativeUrl;
+        this.buildNumber = buildNumber;
+        this.totalSize = totalSize;
+        this.qualityGateStatus = qualityGateStatus;
+        errorsSize = 0;
+        highSize = 0;
+        normalSize = 0;
+        lowSize = 0;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrlName() {
+        return urlName;
+    }
+
+    /**
+     * Returns the URL of the result action, relative to the context root of Jenkins.
+     *
+     * @return the relative URL
+     */
+    public String getRelativeUrl() {
+        return relativeUrl;
+    }
+
+    public int getBuildNumber() {
+        return buildNumber;
+    }
+
+    public int getTotalSize() {
+        return totalSize;
+    }
+
+    public int getTotalErrorsSize() {
+        return errorsSize;
+    }
+
+    public int getTotalHighPrioritySize() {
+        return highSize;
+    }
+
+    public int getTotalNormalPrioritySize() {
+        return normalSize;
+    }
+
+    public int getTotalLowPrioritySize() {
+        return lowSize;
+    }
+
+    public QualityGateStatus getQualityGateStatus() {
+        return qualityGateStatus;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s #%d: %d issues", id, buildNumber, totalSize);
+    }
+}
@@ -1,10 +1,20 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 
 import edu.hm.hafner.analysis.Issue;
 
@@ -12,15 +22,26 @@ import hudson.model.ModelObject;
 import hudson.model.Run;
 
 /**
- * Renders a source file containing an issue for the whole file or a specific line number.
+ * Renders a window of a source file that contains an issue. By default, the window shows the lines of the issue and
+ * the configured number of context lines before and after the issue. Further ranges of the file are fetched on demand
+ * using {@link #doRange(StaplerRequest, StaplerResponse)}, these ranges are streamed to the response.
  *
  * @author Ullrich Hafner
  */
 @SuppressWarnings("PMD.CyclomaticComplexity")
 public class SourceDetail implements ModelObject {
+    /** Default number of lines that are shown before and after the issue. */
+    static final int DEFAULT_CONTEXT_LINES = 100;
+
+    private static final int CONTEXT_LINES = Integer.getInteger(
+            SourceDetail.class.getName() + ".contextLines", DEFAULT_CONTEXT_LINES);
+
     private final Run<?, ?> owner;
-    private final String baseName;
-    private final String sourceCode;
+    private final AffectedFile affectedFile;
+    private final Issue issue;
+    private final String description;
+    private final String iconUrl;
+    private final int contextLines;
 
     /**
      * Creates a new instance of this source code object.
@@ -28,7 +49,7 @@ public class SourceDetail implements ModelObject {
      * @param owner
      *         the current build as owner of this view
      * @param affectedFile
-     *         the file to show
+     *         the file to show, the file is opened whenever a range of lines is rendered
      * @param issue
      *         the issue to show in the source file
      * @param description
@@ -36,28 +57,40 @@ public class SourceDetail implements ModelObject {
      * @param iconUrl
      *         absolute URL to the small icon of the static analysis tool
      */
-    public SourceDetail(final Run<?, ?> owner, final Reader affectedFile, final Issue issue, final String description,
-            final String iconUrl) {
-        this.owner = owner;
-
-        baseName = issue.getBaseName();
-        sourceCode = render(affectedFile, issue, description, iconUrl);
+    public SourceDetail(final Run<?, ?> owner, final AffectedFile affectedFile, final Issue issue,
+            final String description, final String iconUrl) {
+        this(owner, affectedFile, issue, description, iconUrl, CONTEXT_LINES);
     }
 
-    private String render(final Reader affectedFile, final Issue issue, final String description,
-            final String iconUrl) {
-        try (BufferedReader reader = new BufferedReader(affectedFile)) {
-            SourcePrinter sourcePrinter = new SourcePrinter();
-            return sourcePrinter.render(reader.lines(), issue, description, iconUrl);
-        }
-        catch (IOException e) {
-            return String.format("%s%n%s", ExceptionUtils.getMessage(e), ExceptionUtils.getStackTrace(e));
-        }
+    /**
+     * Creates a new instance of this source code object.
+     *
+     * @param owner
+     *         the current build as owner of this view
+     * @param affectedFile
+     *         the file to show, the file is opened whenever a range of lines is rendered
+     * @param issue
+     *         the issue to show in the source file
+     * @param description
+     *         a detailed description of the specified issue
+     * @param iconUrl
+     *         absolute URL to the small icon of the static analysis tool
+     * @param contextLines
+     *         the number of lines to show before and after the issue
+     */
+    public SourceDetail(final Run<?, ?> owner, final AffectedFile affectedFile, final Issue issue,
+            final String description, final String iconUrl, final int contextLines) {
+        this.owner = owner;
+        this.affectedFile = affectedFile;
+        this.issue = issue;
+        this.description = description;
+        this.iconUrl = iconUrl;
+        this.contextLines = Math.max(contextLines, 0);
     }
 
     @Override
     public String getDisplayName() {
-        return baseName;
+        return issue.getBaseName();
     }
 
     /**
@@ -71,12 +104,116 @@ public class SourceDetail implements ModelObject {
     }
 
     /**
-     * Returns the colorized source code.
+     * Returns the number of lines that are shown before and after the issue.
+     *
+     * @return the number of context lines
+     */
+    public int getContextLines() {
+        return contextLines;
+    }
+
+    /**
+     * Returns the first line of the initial window.
+     *
+     * @return the first line
+     */
+    public int getFirstLine() {
+        return Math.max(issue.getLineStart() - contextLines, 1);
+    }
+
+    /**
+     * Returns the last line of the initial window.
+     *
+     * @return the last line
+     */
+    public int getLastLine() {
+        return Math.max(Math.max(issue.getLineEnd(), issue.getLineStart()), 1) + contextLines;
+    }
+
+    /**
+     * Returns the colorized source code of the initial window. The source code is followed by an element with the
+     * attribute {@code data-last-line} that contains the number of the last rendered line: if this number is less than
+     * the last line of the window, then the end of the file has been reached.
      *
      * @return the source code
      */
     public String getSourceCode() {
-        return sourceCode;
+        StringWriter output = new StringWriter();
+        try {
+            writeRange(getFirstLine(), getLastLine(), output);
+        }
+        catch (IOException exception) {
+            return String.format("%s%n%s", ExceptionUtils.getMessage(exception),
+                    ExceptionUtils.getStackTrace(exception));
+        }
+        return output.toString();
     }
-}
 
+    /**
+     * Streams the colorized source code of the selected range of lines to the response. The range is selected using
+     * the query parameters {@code from} and {@code to}. If these parameters are missing, then the initial window will
+     * be rendered. Like in {@link #getSourceCode()}, the source code is followed by an element that contains the number
+     * of the last rendered line.
+     *
+     * @param request
+     *         Stapler request
+     * @param response
+     *         Stapler response
+     *
+     * @throws IOException
+     *         if the source code could not be written
+     */
+    @SuppressWarnings("unused") // Called by source-detail.js
+    public void doRange(final StaplerRequest request, final StaplerResponse response) throws IOException {
+        int from = Math.max(NumberUtils.toInt(request.getParameter("from"), getFirstLine()), 1);
+        int to = Math.max(NumberUtils.toInt(request.getParameter("to"), getLastLine()), from);
+
+        response.setContentType("text/html;charset=UTF-8");
+        try (Writer output = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+            writeRange(from, to, output);
+        }
+    }
+
+    private void writeRange(final int from, final int to, final Writer output) throws IOException {
+        int lastLine = render(from, to, output);
+        output.write(String.format("<span class=\"source-range\" data-last-line=\"%d\"></span>", lastLine));
+    }
+
+    private int render(final int from, final int to, final Writer output) throws IOException {
+        Reader reader;
+        int first = from;
+        int last = to;
+        try {
+            reader = affectedFile.open();
+        }
+        catch (IOException exception) {
+            reader = new StringReader(String.format("%s%n%s", ExceptionUtils.getMessage(exception),
+                    ExceptionUtils.getStackTrace(exception)));
+            first = 1;
+            last = Integer.MAX_VALUE;
+        }
+
+        try (BufferedReader lines = new BufferedReader(reader)) {
+            return new SourcePrinter().render(lines.lines(), issue, description, iconUrl, first, last, output);
+        }
+        catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Opens the affected file that is shown in a {@link SourceDetail}.
+     */
+    @FunctionalInterface
+    public interface AffectedFile {
+        /**
+         * Opens the affected file.
+         *
+         * @return a reader for the content of the file
+         * @throws IOException
+         *         if the file could not be opened
+         */
+        Reader open() throws IOException;
+    }
+}
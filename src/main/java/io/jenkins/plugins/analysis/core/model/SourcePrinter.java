@@ -1,12 +1,16 @@
 package io.jenkins.plugins.analysis.core.model;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 
 import edu.hm.hafner.analysis.Issue;
-import edu.hm.hafner.util.LookaheadStream;
 
 import j2html.tags.ContainerTag;
 import j2html.tags.UnescapedText;
@@ -41,31 +45,80 @@ public class SourcePrinter {
      */
     public String render(final Stream<String> lines, final Issue issue, final String description,
             final String iconUrl) {
-        LookaheadStream stream = new LookaheadStream(lines);
+        StringWriter output = new StringWriter();
+        try {
+            render(lines, issue, description, iconUrl, 1, Integer.MAX_VALUE, output);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception); // a StringWriter does not throw exceptions
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes a colorized HTML snippet with a window of the specified source code to the specified output. Only the
+     * lines within the window are escaped and written, the lines after the window are not read at all. If the window
+     * contains the specified issue, then the issue is highlighted and a clickable and collapsible element that shows the
+     * details for the issue is added.
+     *
+     * @param lines
+     *         the lines of the source code
+     * @param issue
+     *         the issue to show
+     * @param description
+     *         an additional description for the issue
+     * @param iconUrl
+     *         absolute URL to the small icon of the static analysis tool
+     * @param firstLine
+     *         the first line of the window (1-based)
+     * @param lastLine
+     *         the last line of the window (inclusive)
+     * @param output
+     *         the output to write the HTML snippet to
+     *
+     * @return the number of the last line that has been written, this number is less than {@code lastLine} if the
+     *         end of the source code has been reached
+     * @throws IOException
+     *         if the HTML snippet could not be written
+     */
+    @SuppressWarnings("ParameterNumber")
+    public int render(final Stream<String> lines, final Issue issue, final String description, final String iconUrl,
+            final int firstLine, final int lastLine, final Writer output) throws IOException {
+        Iterator<String> iterator = lines.iterator();
 
         int start = issue.getLineStart();
         int end = issue.getLineEnd();
 
-        StringBuilder before = readBlockUntilLine(stream, start - 1);
-        StringBuilder marked = readBlockUntilLine(stream, end);
-        StringBuilder after = readBlockUntilLine(stream, Integer.MAX_VALUE);
+        int line = 0;
+        while (line < firstLine - 1 && iterator.hasNext()) {
+            iterator.next();
+            line++;
+        }
 
         String language = selectLanguageClass(issue);
-        String code = asCode(before, language, "line-numbers")
-                + asCode(marked, language, "highlight")
-                + createInfoPanel(issue, description, start, iconUrl)
-                + asCode(after, language);
+        output.write(String.format("<pre data-start=\"%d\">", Math.max(firstLine, 1)));
+        line = writeBlock(iterator, line, Math.min(start - 1, lastLine), output, language, "line-numbers");
+        line = writeBlock(iterator, line, Math.min(end, lastLine), output, language, "highlight");
+        if (start <= lastLine && (start >= firstLine || firstLine <= 1)) { // issues without line are shown on top
+            output.write(createInfoPanel(issue, description, start, iconUrl));
+        }
+        line = writeBlock(iterator, line, lastLine, output, language);
+        output.write("</pre>");
 
-        return pre().with(new UnescapedText(code)).renderFormatted();
+        return line;
     }
 
-    private StringBuilder readBlockUntilLine(final LookaheadStream stream, final int end) {
-        StringBuilder marked = new StringBuilder();
-        while (stream.hasNext() && stream.getLine() < end) {
-            marked.append(stream.next());
-            marked.append("\n");
+    private int writeBlock(final Iterator<String> lines, final int line, final int end, final Writer output,
+            final String... classes) throws IOException {
+        output.write(String.format("<code class=\"%s\">", String.join(" ", classes)));
+        int current = line;
+        while (current < end && lines.hasNext()) {
+            output.write(StringEscapeUtils.escapeHtml4(lines.next()));
+            output.write('\n');
+            current++;
         }
-        return marked;
+        output.write("</code>");
+        return current;
     }
 
     private String createInfoPanel(final Issue issue, final String description, final int start,
@@ -164,8 +217,4 @@ public class SourcePrinter {
                 return "language-clike"; // Best effort for unknown extensions
         }
     }
-
-    private String asCode(final StringBuilder text, final String... classes) {
-        return code().withClasses(classes).with(unescape(StringEscapeUtils.escapeHtml4(text.toString()))).render();
-    }
 }
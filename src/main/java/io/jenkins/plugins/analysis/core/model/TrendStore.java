@@ -0,0 +1,223 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.analysis.core.util.TrendEntry;
+
+/**
+ * Stores the trend of the static analysis results of a job in a compact binary file in the folder of the job. Each
+ * time a result is published a new {@link TrendEntry} is appended to this file. Trend charts can then be rendered by
+ * reading this single file: neither the builds nor the results of the job need to be loaded.
+ * <p>
+ * If a build of the job is published several times (e.g., after a restart of a pipeline stage) then the last entry
+ * will be used. Entries of builds that have been deleted in the meantime will be skipped.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class TrendStore {
+    private static final Logger LOGGER = Logger.getLogger(TrendStore.class.getName());
+
+    private static final int MAGIC = 0x54524E31; // TRN1
+    private static final int BUFFER_SIZE = 8192;
+    private static final String FILE_SUFFIX = "-trend.bin";
+    private static final int SEVERITY_COUNT = 4; // error, high, normal, low
+
+    /** Maximum number of builds that are used to initialize the trend store from existing results. */
+    static final int MAX_BUILDS = 50;
+
+    private final File file;
+    private final File buildsDirectory;
+
+    /**
+     * Creates a new instance of {@link TrendStore} for the results with the specified ID of the given job.
+     *
+     * @param job
+     *         the job
+     * @param id
+     *         the ID of the results
+     */
+    public TrendStore(final Job<?, ?> job, final String id) {
+        this(new File(job.getRootDir(), id + FILE_SUFFIX), job.getBuildDir());
+    }
+
+    @VisibleForTesting
+    TrendStore(final File file, final File buildsDirectory) {
+        this.file = file;
+        this.buildsDirectory = buildsDirectory;
+    }
+
+    /**
+     * Returns whether this trend store exists already.
+     *
+     * @return {@code true} if the trend store has been created, {@code false} otherwise
+     */
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Appends the specified result of a build to this trend store. If the trend store does not exist yet, then the
+     * results of the previous builds will be added before.
+     *
+     * @param run
+     *         the build that created the result
+     * @param result
+     *         the result to append
+     */
+    public void append(final Run<?, ?> run, final AnalysisResult result) {
+        List<TrendEntry> entries = new ArrayList<>();
+        if (!exists()) {
+            History history = new AnalysisHistory(run.getPreviousBuild(), new ByIdResultSelector(result.getId()));
+            for (AnalysisResult previous : history) {
+                entries.add(TrendEntry.from(previous));
+                if (entries.size() >= MAX_BUILDS) {
+                    break;
+                }
+            }
+            Collections.reverse(entries);
+        }
+        entries.add(TrendEntry.from(result));
+        append(entries);
+    }
+
+    /**
+     * Appends the specified entries to this trend store.
+     *
+     * @param entries
+     *         the entries to append, sorted by build number in ascending order
+     */
+    @VisibleForTesting
+    void append(final List<TrendEntry> entries) {
+        synchronized (TrendStore.class) {
+            try {
+                boolean isNew = !exists();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream output = new DataOutputStream(bytes);
+                if (isNew) {
+                    output.writeInt(MAGIC);
+                }
+                for (TrendEntry entry : entries) {
+                    write(output, entry);
+                }
+                output.flush();
+
+                try (OutputStream stream = Files.newOutputStream(file.toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    bytes.writeTo(stream); // a single write so that concurrent readers see complete entries
+                }
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to append to trend store " + file, exception);
+            }
+        }
+    }
+
+    /**
+     * Reads the trend entries of the latest builds up to the specified build number. The entries are sorted by build
+     * number in descending order, i.e. the latest build comes first.
+     *
+     * @param maximumBuildNumber
+     *         the number of the latest build that should be part of the trend
+     * @param maximumEntries
+     *         the maximum number of entries to return
+     *
+     * @return the trend entries
+     */
+    public List<TrendEntry> read(final int maximumBuildNumber, final int maximumEntries) {
+        Map<Integer, TrendEntry> entriesByNumber = new HashMap<>();
+        if (exists()) {
+            try (InputStream stream = Files.newInputStream(file.toPath())) {
+                DataInputStream input = new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE));
+                if (input.readInt() != MAGIC) {
+                    throw new IOException("Unsupported format of trend store");
+                }
+                readEntries(input, entriesByNumber);
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.SEVERE, "Failed to read trend store " + file, exception);
+            }
+        }
+
+        List<TrendEntry> sorted = new ArrayList<>(entriesByNumber.values());
+        sorted.sort((first, second) -> Integer.compare(second.getBuildNumber(), first.getBuildNumber()));
+
+        List<TrendEntry> entries = new ArrayList<>();
+        for (TrendEntry entry : sorted) {
+            if (entries.size() >= maximumEntries) {
+                break;
+            }
+            if (entry.getBuildNumber() <= maximumBuildNumber && isAvailable(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private void readEntries(final DataInputStream input, final Map<Integer, TrendEntry> entriesByNumber)
+            throws IOException {
+        while (true) {
+            try {
+                TrendEntry entry = read(input);
+                entriesByNumber.put(entry.getBuildNumber(), entry);
+            }
+            catch (EOFException exception) {
+                return; // end of file or incomplete last entry
+            }
+        }
+    }
+
+    private boolean isAvailable(final TrendEntry entry) {
+        return new File(buildsDirectory, String.valueOf(entry.getBuildNumber())).exists();
+    }
+
+    private void write(final DataOutputStream output, final TrendEntry entry) throws IOException {
+        output.writeInt(entry.getBuildNumber());
+        output.writeUTF(entry.getDisplayName());
+        for (int size : entry.getTotalSizes()) {
+            output.writeInt(size);
+        }
+        for (int size : entry.getNewSizes()) {
+            output.writeInt(size);
+        }
+        output.writeInt(entry.getFixedSize());
+    }
+
+    private TrendEntry read(final DataInputStream input) throws IOException {
+        int buildNumber = input.readInt();
+        String displayName = input.readUTF();
+        int[] totalSizes = readSizes(input, SEVERITY_COUNT);
+        int[] newSizes = readSizes(input, SEVERITY_COUNT);
+        return new TrendEntry(buildNumber, displayName, totalSizes, newSizes, input.readInt());
+    }
+
+    private int[] readSizes(final DataInputStream input, final int length) throws IOException {
+        int[] sizes = new int[length];
+        for (int i = 0; i < length; i++) {
+            sizes[i] = input.readInt();
+        }
+        return sizes;
+    }
+}
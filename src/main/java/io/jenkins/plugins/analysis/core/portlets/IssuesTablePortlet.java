@@ -25,7 +25,7 @@ import hudson.plugins.view.dashboard.DashboardPortlet;
 
 import io.jenkins.plugins.analysis.core.model.JobAction;
 import io.jenkins.plugins.analysis.core.model.LabelProviderFactory;
-import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.analysis.core.model.ResultSummary;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ToolSelection;
 import io.jenkins.plugins.analysis.core.util.JenkinsFacade;
@@ -157,8 +157,8 @@ public class IssuesTablePortlet extends DashboardPortlet {
         return jobs.stream().filter(this::isVisible).collect(Collectors.toList());
     }
 
-    private String getToolName(final ResultAction action) {
-        StaticAnalysisLabelProvider labelProvider = getLabelProviderFactory().create(action.getId(), action.getName());
+    private String getToolName(final ResultSummary summary) {
+        StaticAnalysisLabelProvider labelProvider = getLabelProviderFactory().create(summary.getId(), summary.getName());
 
         String label = render(labelProvider.getName());
         if (showIcons) {
@@ -183,9 +183,9 @@ public class IssuesTablePortlet extends DashboardPortlet {
         return job.getActions(JobAction.class)
                 .stream()
                 .filter(createToolFilter(selectTools, tools))
-                .map(JobAction::getLatestAction)
+                .map(JobAction::getLatestSummary)
                 .filter(Optional::isPresent)
-                .map(Optional::get).anyMatch(resultAction -> resultAction.getResult().getTotalSize() > 0);
+                .map(Optional::get).anyMatch(summary -> summary.getTotalSize() > 0);
     }
 
     /**
@@ -207,7 +207,7 @@ public class IssuesTablePortlet extends DashboardPortlet {
         private final List<TableRow> rows;
         private final Collection<String> toolNames;
 
-        PortletTableModel(final List<Job<?, ?>> visibleJobs, final Function<ResultAction, String> namePrinter,
+        PortletTableModel(final List<Job<?, ?>> visibleJobs, final Function<ResultSummary, String> namePrinter,
                 final Predicate<JobAction> filter) {
             TreeMap<String, String> toolNamesById = mapToolIdsToNames(visibleJobs, namePrinter, filter);
 
@@ -218,14 +218,14 @@ public class IssuesTablePortlet extends DashboardPortlet {
         }
 
         private TreeMap<String, String> mapToolIdsToNames(final List<Job<?, ?>> visibleJobs,
-                final Function<ResultAction, String> namePrinter,
+                final Function<ResultSummary, String> namePrinter,
                 final Predicate<JobAction> filter) {
             return visibleJobs.stream()
                     .flatMap(job -> job.getActions(JobAction.class).stream().filter(filter))
-                    .map(JobAction::getLatestAction)
+                    .map(JobAction::getLatestSummary)
                     .filter(Optional::isPresent)
                     .map(Optional::get)
-                    .collect(Collectors.toMap(ResultAction::getId, namePrinter, (r1, r2) -> r1, TreeMap::new));
+                    .collect(Collectors.toMap(ResultSummary::getId, namePrinter, (r1, r2) -> r1, TreeMap::new));
         }
 
         private void populateRows(final List<Job<?, ?>> visibleJobs, final TreeMap<String, String> toolNamesById) {
@@ -236,7 +236,7 @@ public class IssuesTablePortlet extends DashboardPortlet {
                             .stream()
                             .filter(jobAction -> jobAction.getId().equals(id))
                             .findFirst()
-                            .map(JobAction::getLatestAction)
+                            .map(JobAction::getLatestSummary)
                             .filter(Optional::isPresent)
                             .map(Optional::get)
                             .map(Result::new)
@@ -328,10 +328,10 @@ public class IssuesTablePortlet extends DashboardPortlet {
             url = urlName;
         }
 
-        Result(final ResultAction action) {
-            this(action.getRelativeUrl());
+        Result(final ResultSummary summary) {
+            this(summary.getRelativeUrl());
 
-            size = action.getResult().getTotalSize();
+            size = summary.getTotalSize();
         }
 
         /**
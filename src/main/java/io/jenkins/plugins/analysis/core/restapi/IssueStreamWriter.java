@@ -0,0 +1,211 @@
+package io.jenkins.plugins.analysis.core.restapi;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Issue;
+
+/**
+ * Writes issues as newline delimited JSON (NDJSON): each issue is written as a single JSON object on a separate line.
+ * In contrast to the remote API of {@link ReportApi}, the issues are written one by one without reflection and without
+ * creating intermediate objects. So the memory required to export a report does not depend on the number of issues.
+ * <p>
+ * The exported properties are the same as in {@link IssueApi}. The properties to write and the severities of the
+ * issues to export can be selected using comma separated lists.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class IssueStreamWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final List<Field> fields;
+    private final Set<String> severities;
+
+    /**
+     * Creates a new instance of {@link IssueStreamWriter}.
+     *
+     * @param fields
+     *         comma separated list of the properties to write, an empty value selects all properties
+     * @param severities
+     *         comma separated list of the severities of the issues to write, an empty value selects all severities
+     *
+     * @throws IllegalArgumentException
+     *         if one of the fields is unknown
+     */
+    public IssueStreamWriter(final String fields, final String severities) {
+        this.fields = parseFields(fields);
+        this.severities = parseSeverities(severities);
+    }
+
+    private static List<Field> parseFields(final String fields) {
+        if (StringUtils.isBlank(fields)) {
+            return Arrays.asList(Field.values());
+        }
+
+        List<Field> selected = new ArrayList<>();
+        for (String name : StringUtils.split(fields, ',')) {
+            selected.add(Field.fromName(name.trim()));
+        }
+        return selected;
+    }
+
+    private static Set<String> parseSeverities(final String severities) {
+        if (StringUtils.isBlank(severities)) {
+            return Collections.emptySet();
+        }
+
+        Set<String> selected = new HashSet<>();
+        for (String name : StringUtils.split(severities, ',')) {
+            selected.add(name.trim().toUpperCase(Locale.ENGLISH));
+        }
+        return selected;
+    }
+
+    /**
+     * Writes the selected issues to the specified writer.
+     *
+     * @param issues
+     *         the issues to write
+     * @param writer
+     *         the writer to write the issues to
+     *
+     * @return the number of written issues
+     * @throws IOException
+     *         if the issues could not be written
+     */
+    public int write(final Iterable<Issue> issues, final Writer writer) throws IOException {
+        int count = 0;
+        for (Issue issue : issues) {
+            if (isSelected(issue)) {
+                write(issue, writer);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private boolean isSelected(final Issue issue) {
+        return severities.isEmpty()
+                || severities.contains(issue.getSeverity().getName().toUpperCase(Locale.ENGLISH));
+    }
+
+    private void write(final Issue issue, final Writer writer) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeString(field.getName(), writer);
+            writer.write(':');
+            Object value = field.getValue(issue);
+            if (value instanceof Integer) {
+                writer.write(value.toString());
+            }
+            else {
+                writeString(value == null ? StringUtils.EMPTY : value.toString(), writer);
+            }
+        }
+        writer.write('}');
+        writer.write('\n');
+    }
+
+    private void writeString(final String value, final Writer writer) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                writer.write(value, start, i - start);
+                writeEscaped(c, writer);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private void writeEscaped(final char c, final Writer writer) throws IOException {
+        switch (c) {
+            case '"':
+                writer.write("\\\"");
+                break;
+            case '\\':
+                writer.write("\\\\");
+                break;
+            case '\n':
+                writer.write("\\n");
+                break;
+            case '\r':
+                writer.write("\\r");
+                break;
+            case '\t':
+                writer.write("\\t");
+                break;
+            default:
+                writer.write("\\u00");
+                writer.write(HEX_DIGITS[c >> 4]);
+                writer.write(HEX_DIGITS[c & 0xF]);
+                break;
+        }
+    }
+
+    /**
+     * The exported properties of an issue.
+     */
+    private enum Field {
+        FILE_NAME("fileName", Issue::getFileName),
+        BASE_NAME("baseName", Issue::getBaseName),
+        CATEGORY("category", Issue::getCategory),
+        TYPE("type", Issue::getType),
+        SEVERITY("severity", issue -> issue.getSeverity().getName()),
+        MESSAGE("message", Issue::getMessage),
+        DESCRIPTION("description", Issue::getDescription),
+        LINE_START("lineStart", Issue::getLineStart),
+        LINE_END("lineEnd", Issue::getLineEnd),
+        COLUMN_START("columnStart", Issue::getColumnStart),
+        COLUMN_END("columnEnd", Issue::getColumnEnd),
+        PACKAGE_NAME("packageName", Issue::getPackageName),
+        MODULE_NAME("moduleName", Issue::getModuleName),
+        ORIGIN("origin", Issue::getOrigin),
+        REFERENCE("reference", Issue::getReference),
+        FINGERPRINT("fingerprint", Issue::getFingerprint);
+
+        private final String name;
+        private final Function<Issue, Object> value;
+
+        Field(final String name, final Function<Issue, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Object getValue(final Issue issue) {
+            return value.apply(issue);
+        }
+
+        static Field fromName(final String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field: " + name);
+        }
+    }
+}
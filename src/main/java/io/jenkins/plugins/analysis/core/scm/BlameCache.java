@@ -0,0 +1,235 @@
+package io.jenkins.plugins.analysis.core.scm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Caches the blame results of affected files across builds. The blame of a file is stored using the path of the file
+ * in the repository and the ID of the Git blob of that file at the HEAD commit as key. If the blob of a file did not
+ * change since the last build, then the author and commit information of the requested lines can be reused and Git
+ * blame does not need to be invoked for that file.
+ * <p>
+ * The cache is stored as a compressed binary file in the temporary folder of the workspace on the agent. Each blame
+ * run starts a new generation of the cache: files that have not been used in the last {@link #MAX_UNUSED_RUNS} runs
+ * are removed.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class BlameCache implements Serializable {
+    private static final long serialVersionUID = 2403215431306358233L;
+
+    /** Number of blame runs that did not use a cached file before the file will be removed from the cache. */
+    static final int MAX_UNUSED_RUNS = 10;
+
+    private static final int MAGIC = 0x42434332; // BCC2
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Map<String, CachedFile> filesByPath;
+    private int generation;
+
+    /**
+     * Creates a new empty instance of {@link BlameCache}.
+     */
+    BlameCache() {
+        this(new HashMap<>(), 0);
+    }
+
+    private BlameCache(final Map<String, CachedFile> filesByPath, final int generation) {
+        this.filesByPath = filesByPath;
+        this.generation = generation;
+    }
+
+    /**
+     * Loads the blame cache from the specified file. If the file does not exist or could not be read, then an empty
+     * cache will be returned.
+     *
+     * @param cacheFile
+     *         the file that contains the cached blames
+     * @param report
+     *         the report to log errors to
+     *
+     * @return the cache
+     */
+    static BlameCache load(final Path cacheFile, final Report report) {
+        if (Files.exists(cacheFile)) {
+            try (InputStream stream = Files.newInputStream(cacheFile)) {
+                return read(stream);
+            }
+            catch (IOException exception) {
+                report.logException(exception, "Can't read blame cache '%s'", cacheFile);
+            }
+        }
+        return new BlameCache();
+    }
+
+    /**
+     * Saves the blame cache to the specified file. The cache is written to a unique temporary file that replaces the
+     * cache file afterwards.
+     *
+     * @param cacheFile
+     *         the file that will contain the cached blames
+     * @param report
+     *         the report to log errors to
+     */
+    void save(final Path cacheFile, final Report report) {
+        try {
+            Path folder = Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(folder, cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream stream = Files.newOutputStream(temporary)) {
+                    write(stream);
+                }
+                Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't write blame cache '%s'", cacheFile);
+        }
+    }
+
+    /**
+     * Copies the cached author and commit information into the specified request. The request will be updated only if
+     * the file has been blamed for the same blob before and if all requested lines are available in the cache.
+     *
+     * @param request
+     *         the request to fill
+     * @param blobId
+     *         the ID of the Git blob of the file at the HEAD commit
+     *
+     * @return {@code true} if the request has been filled with the cached blames, {@code false} otherwise
+     */
+    boolean fill(final BlameRequest request, final String blobId) {
+        CachedFile cached = filesByPath.get(request.getFileName());
+        if (cached == null || !cached.blobId.equals(blobId)) {
+            return false;
+        }
+        for (int line : request) {
+            if (!cached.linesByNumber.containsKey(line)) {
+                return false;
+            }
+        }
+        for (int line : request) {
+            String[] blame = cached.linesByNumber.get(line);
+            request.setCommit(line, blame[0]);
+            request.setAuthor(line, blame[1], blame[2]);
+        }
+        cached.lastUsed = generation;
+        return true;
+    }
+
+    /**
+     * Stores the author and commit information of the specified request. Cached lines of the same blob will be
+     * retained, the lines of other blobs of the same file will be replaced.
+     *
+     * @param request
+     *         the request with the blame results
+     * @param blobId
+     *         the ID of the Git blob of the file at the HEAD commit
+     */
+    void put(final BlameRequest request, final String blobId) {
+        CachedFile cached = filesByPath.get(request.getFileName());
+        if (cached == null || !cached.blobId.equals(blobId)) {
+            cached = new CachedFile(blobId);
+            filesByPath.put(request.getFileName(), cached);
+        }
+        cached.lastUsed = generation;
+        for (int line : request) {
+            cached.linesByNumber.put(line,
+                    new String[] {request.getCommit(line), request.getName(line), request.getEmail(line)});
+        }
+    }
+
+    /**
+     * Finishes the current blame run: removes the cached blames of all files that have not been used in the last
+     * {@link #MAX_UNUSED_RUNS} runs and starts a new generation. Files that are not affected in a single run, e.g.
+     * because the issues of another tool have been blamed, remain in the cache.
+     */
+    void evictUnusedFiles() {
+        filesByPath.values().removeIf(cached -> generation - cached.lastUsed >= MAX_UNUSED_RUNS);
+        generation++;
+    }
+
+    @VisibleForTesting
+    int size() {
+        return filesByPath.size();
+    }
+
+    @VisibleForTesting
+    static BlameCache read(final InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new GZIPInputStream(stream, BUFFER_SIZE));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Unsupported format of blame cache");
+        }
+        int generation = input.readInt();
+        int files = input.readInt();
+        Map<String, CachedFile> filesByPath = new HashMap<>(files);
+        for (int file = 0; file < files; file++) {
+            String path = input.readUTF();
+            CachedFile cached = new CachedFile(input.readUTF());
+            cached.lastUsed = input.readInt();
+            int lines = input.readInt();
+            for (int i = 0; i < lines; i++) {
+                cached.linesByNumber.put(input.readInt(),
+                        new String[] {input.readUTF().intern(), input.readUTF().intern(), input.readUTF().intern()});
+            }
+            filesByPath.put(path, cached);
+        }
+        return new BlameCache(filesByPath, generation);
+    }
+
+    @VisibleForTesting
+    void write(final OutputStream stream) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(stream, BUFFER_SIZE);
+        DataOutputStream output = new DataOutputStream(compressed);
+        output.writeInt(MAGIC);
+        output.writeInt(generation);
+        output.writeInt(filesByPath.size());
+        for (Map.Entry<String, CachedFile> file : filesByPath.entrySet()) {
+            output.writeUTF(file.getKey());
+            output.writeUTF(file.getValue().blobId);
+            output.writeInt(file.getValue().lastUsed);
+            output.writeInt(file.getValue().linesByNumber.size());
+            for (Map.Entry<Integer, String[]> line : file.getValue().linesByNumber.entrySet()) {
+                output.writeInt(line.getKey());
+                for (String value : line.getValue()) {
+                    output.writeUTF(value);
+                }
+            }
+        }
+        output.flush();
+        compressed.finish();
+    }
+
+    /**
+     * The cached blames of a single blob: commit ID, author name and author email for each line.
+     */
+    private static class CachedFile implements Serializable {
+        private static final long serialVersionUID = -2417567302431578432L;
+
+        private final String blobId;
+        private final Map<Integer, String[]> linesByNumber = new HashMap<>();
+        private int lastUsed;
+
+        CachedFile(final String blobId) {
+            this.blobId = blobId;
+        }
+    }
+}
@@ -26,18 +26,21 @@ public final class BlameFactory {
      *         the run to get the SCM from
      * @param workspace
      *         the workspace of the build
+     * @param id
+     *         the ID of the static analysis tool whose issues will be blamed
      * @param listener
      *         the logger to use
      *
      * @return the blamer
      */
-    public static Blamer createBlamer(final Run<?, ?> run, final FilePath workspace, final TaskListener listener) {
+    public static Blamer createBlamer(final Run<?, ?> run, final FilePath workspace, final String id,
+            final TaskListener listener) {
         Jenkins instance = Jenkins.getInstance();
         if (instance.getPlugin("git") != null) {
             SCM scm = getScm(run);
             GitChecker gitChecker = new GitChecker();
             if (gitChecker.isGit(scm)) {
-                return gitChecker.createBlamer(run, scm, workspace, listener);
+                return gitChecker.createBlamer(run, scm, workspace, id, listener);
             }
         }
 
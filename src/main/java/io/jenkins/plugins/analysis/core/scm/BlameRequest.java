@@ -1,31 +1,56 @@
 package io.jenkins.plugins.analysis.core.scm;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Master-Slave transfer object for blame information for a single file. This blame request defines all required line
  * numbers that should be queried for the specified file. The result of the request will be stored in this class as
- * well: commit ID, name and email of author (for each requested line).
+ * well: commit ID, name and email of author (for each requested line). The results may be set by a worker thread
+ * that is different from the thread that created the request, so all accessors of the results are synchronized.
+ * Setting a result for a line that has not been requested adds this line to the request.
+ * <p>
+ * In order to keep the memory footprint small for files with many requested lines, the line numbers are stored in a
+ * sorted primitive array. The commit IDs, names and emails are stored only once in a table of distinct values, each
+ * line references these values by index.
+ * </p>
  *
  * @author Ullrich Hafner
  */
 public class BlameRequest implements Iterable<Integer>, Serializable {
-    private static final long serialVersionUID = -7491390234189584964L;
+    private static final long serialVersionUID = 8226455838113580462L;
 
     static final String EMPTY = "-";
 
+    private static final int NO_VALUE = -1;
+    private static final int INITIAL_CAPACITY = 4;
+
     private final String fileName;
-    private final Set<Integer> lines = new HashSet<Integer>();
-    private final Map<Integer, String> commitByLine = new HashMap<Integer, String>();
-    private final Map<Integer, String> nameByLine = new HashMap<Integer, String>();
-    private final Map<Integer, String> emailByLine = new HashMap<Integer, String>();
+    private int size;
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] commits = new int[INITIAL_CAPACITY];
+    private int[] names = new int[INITIAL_CAPACITY];
+    private int[] emails = new int[INITIAL_CAPACITY];
+    private final List<String> values = new ArrayList<>();
+    @Nullable
+    private transient Map<String, Integer> indexOfValue;
 
     /**
      * Creates a new instance of {@link BlameRequest}.
@@ -41,11 +66,45 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
         add(lineNumber);
     }
 
-    private BlameRequest add(final int lineNumber) {
-        lines.add(lineNumber);
+    private BlameRequest(final String fileName) {
+        this.fileName = fileName;
+    }
+
+    private synchronized BlameRequest add(final int lineNumber) {
+        indexOf(lineNumber, true);
         return this;
     }
 
+    /**
+     * Returns the position of the specified line in the array of lines. If the line is not yet part of this request
+     * and {@code create} is set, then the line will be inserted at the correct position.
+     */
+    private int indexOf(final int lineNumber, final boolean create) {
+        int position = Arrays.binarySearch(lines, 0, size, lineNumber);
+        if (position >= 0 || !create) {
+            return position;
+        }
+        int insertion = -(position + 1);
+        if (size == lines.length) {
+            int capacity = size * 2;
+            lines = Arrays.copyOf(lines, capacity);
+            commits = Arrays.copyOf(commits, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+        }
+        int moved = size - insertion;
+        System.arraycopy(lines, insertion, lines, insertion + 1, moved);
+        System.arraycopy(commits, insertion, commits, insertion + 1, moved);
+        System.arraycopy(names, insertion, names, insertion + 1, moved);
+        System.arraycopy(emails, insertion, emails, insertion + 1, moved);
+        lines[insertion] = lineNumber;
+        commits[insertion] = NO_VALUE;
+        names[insertion] = NO_VALUE;
+        emails[insertion] = NO_VALUE;
+        size++;
+        return insertion;
+    }
+
     /**
      * Adds another line number to this request.
      *
@@ -60,27 +119,43 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
         return fileName;
     }
 
+    /**
+     * Returns the number of requested lines.
+     *
+     * @return the number of lines
+     */
+    public synchronized int size() {
+        return size;
+    }
+
     @Override
-    public String toString() {
-        return fileName + " - " + lines;
+    public synchronized String toString() {
+        return fileName + " - " + Arrays.toString(Arrays.copyOf(lines, size));
     }
 
+    /**
+     * Returns an iterator over the requested lines, in ascending order.
+     *
+     * @return an iterator
+     */
     @Override
     @NonNull
-    public Iterator<Integer> iterator() {
-        return lines.iterator();
+    public synchronized Iterator<Integer> iterator() {
+        return Arrays.stream(lines, 0, size).iterator();
     }
 
     /**
-     * Sets the commit ID for the specified line number.
+     * Sets the commit ID for the specified line number. If the line has not been requested yet, then it will be added
+     * to this request.
      *
      * @param lineNumber
      *         the line number
      * @param id
      *         the commit ID
      */
-    void setCommit(final int lineNumber, final String id) {
-        setInternedStringValue(commitByLine, lineNumber, id);
+    synchronized void setCommit(final int lineNumber, final String id) {
+        int position = indexOf(lineNumber, true);
+        commits[position] = indexOfValue(id);
     }
 
     /**
@@ -91,20 +166,22 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
      *
      * @return the commit ID
      */
-    public String getCommit(final int line) {
-        return getStringValue(commitByLine, line);
+    public synchronized String getCommit(final int line) {
+        return getValue(commits, line);
     }
 
     /**
-     * Sets the author name for the specified line number.
+     * Sets the author name for the specified line number. If the line has not been requested yet, then it will be
+     * added to this request.
      *
      * @param lineNumber
      *         the line number
      * @param name
      *         the author name
      */
-    void setName(final int lineNumber, final String name) {
-        setInternedStringValue(nameByLine, lineNumber, name);
+    synchronized void setName(final int lineNumber, final String name) {
+        int position = indexOf(lineNumber, true);
+        names[position] = indexOfValue(name);
     }
 
     /**
@@ -115,20 +192,22 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
      *
      * @return the author name
      */
-    public String getName(final int line) {
-        return getStringValue(nameByLine, line);
+    public synchronized String getName(final int line) {
+        return getValue(names, line);
     }
 
     /**
-     * Sets the email address for the specified line number.
+     * Sets the email address for the specified line number. If the line has not been requested yet, then it will be
+     * added to this request.
      *
      * @param lineNumber
      *         the line number
      * @param emailAddress
      *         the email address of the author
      */
-    void setEmail(final int lineNumber, final String emailAddress) {
-        setInternedStringValue(emailByLine, lineNumber, emailAddress);
+    synchronized void setEmail(final int lineNumber, final String emailAddress) {
+        int position = indexOf(lineNumber, true);
+        emails[position] = indexOfValue(emailAddress);
     }
 
     /**
@@ -139,19 +218,60 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
      *
      * @return the author email
      */
-    public String getEmail(final int line) {
-        return getStringValue(emailByLine, line);
+    public synchronized String getEmail(final int line) {
+        return getValue(emails, line);
     }
 
-    private String getStringValue(final Map<Integer, String> map, final int line) {
-        if (map.containsKey(line)) {
-            return map.get(line);
+    /**
+     * Sets the author name and email address for the specified line number in a single atomic operation. If the line
+     * has not been requested yet, then it will be added to this request.
+     *
+     * @param lineNumber
+     *         the line number
+     * @param name
+     *         the author name
+     * @param emailAddress
+     *         the email address of the author
+     */
+    synchronized void setAuthor(final int lineNumber, final String name, final String emailAddress) {
+        setName(lineNumber, name);
+        setEmail(lineNumber, emailAddress);
+    }
+
+    private String getValue(final int[] column, final int line) {
+        int position = indexOf(line, false);
+        if (position < 0 || column[position] == NO_VALUE) {
+            return EMPTY;
         }
-        return EMPTY;
+        return values.get(column[position]);
     }
 
-    private void setInternedStringValue(final Map<Integer, String> map, final int lineNumber, final String value) {
-        map.put(lineNumber, value.intern());
+    private int indexOfValue(final String value) {
+        if (indexOfValue == null) {
+            indexOfValue = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                indexOfValue.put(values.get(i), i);
+            }
+        }
+        return indexOfValue.computeIfAbsent(value, key -> {
+            values.add(key.intern());
+            return values.size() - 1;
+        });
+    }
+
+    /**
+     * Returns a copy of this request. The copy is created while holding the lock of this request only, so the caller
+     * can use the copy while holding the lock of another request.
+     */
+    private synchronized BlameRequest copy() {
+        BlameRequest copy = new BlameRequest(fileName);
+        copy.size = size;
+        copy.lines = Arrays.copyOf(lines, lines.length);
+        copy.commits = Arrays.copyOf(commits, commits.length);
+        copy.names = Arrays.copyOf(names, names.length);
+        copy.emails = Arrays.copyOf(emails, emails.length);
+        copy.values.addAll(values);
+        return copy;
     }
 
     /**
@@ -165,12 +285,13 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
      */
     public void merge(final BlameRequest otherRequest) {
         if (otherRequest.getFileName().equals(getFileName())) {
-            for (Integer otherLine : otherRequest) {
-                if (!lines.contains(otherLine)) {
-                    lines.add(otherLine);
-                    setInternedStringValue(commitByLine, otherLine, otherRequest.getCommit(otherLine));
-                    setInternedStringValue(nameByLine, otherLine, otherRequest.getName(otherLine));
-                    setInternedStringValue(emailByLine, otherLine, otherRequest.getEmail(otherLine));
+            BlameRequest other = otherRequest.copy(); // never hold the locks of both requests at the same time
+            synchronized (this) {
+                for (Integer otherLine : other) {
+                    if (indexOf(otherLine, false) < 0) {
+                        setCommit(otherLine, other.getCommit(otherLine));
+                        setAuthor(otherLine, other.getName(otherLine), other.getEmail(otherLine));
+                    }
                 }
             }
         }
@@ -190,30 +311,208 @@ public class BlameRequest implements Iterable<Integer>, Serializable {
             return false;
         }
 
-        BlameRequest request = (BlameRequest) o;
+        BlameRequest request = ((BlameRequest) o).copy(); // never hold the locks of both requests at the same time
 
-        if (!fileName.equals(request.fileName)) {
-            return false;
-        }
-        if (!lines.equals(request.lines)) {
-            return false;
-        }
-        if (!commitByLine.equals(request.commitByLine)) {
-            return false;
-        }
-        if (!nameByLine.equals(request.nameByLine)) {
-            return false;
+        synchronized (this) {
+            if (!fileName.equals(request.fileName)) {
+                return false;
+            }
+            if (!Arrays.equals(Arrays.copyOf(lines, size), Arrays.copyOf(request.lines, request.size))) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                int line = lines[i];
+                if (!getCommit(line).equals(request.getCommit(line))
+                        || !getName(line).equals(request.getName(line))
+                        || !getEmail(line).equals(request.getEmail(line))) {
+                    return false;
+                }
+            }
+            return true;
         }
-        return emailByLine.equals(request.emailByLine);
     }
 
     @Override
-    public int hashCode() {
+    public synchronized int hashCode() {
         int result = fileName.hashCode();
-        result = 31 * result + lines.hashCode();
-        result = 31 * result + commitByLine.hashCode();
-        result = 31 * result + nameByLine.hashCode();
-        result = 31 * result + emailByLine.hashCode();
+        for (int i = 0; i < size; i++) {
+            int line = lines[i];
+            result = 31 * result + line;
+            result = 31 * result + Objects.hash(getCommit(line), getName(line), getEmail(line));
+        }
         return result;
     }
+
+    /**
+     * {@link Converter} implementation for XStream that stores a {@link BlameRequest} in a compact format: the table of
+     * distinct values and comma separated lists of line numbers and value indices. Requests that have been stored by
+     * previous versions (one map entry per line and property) are still readable.
+     */
+    @SuppressWarnings("rawtypes")
+    public static final class BlameRequestConverter implements Converter {
+        private static final String FILE_NAME = "fileName";
+        private static final String VALUES = "values";
+        private static final String LINES = "lines";
+        private static final String COMMITS = "commits";
+        private static final String NAMES = "names";
+        private static final String EMAILS = "emails";
+        private static final String SEPARATOR = ",";
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return type == BlameRequest.class;
+        }
+
+        @Override
+        public void marshal(final Object source, final HierarchicalStreamWriter writer,
+                final MarshallingContext context) {
+            BlameRequest request = (BlameRequest) source;
+            synchronized (request) {
+                writeValue(writer, FILE_NAME, request.fileName);
+                writer.startNode(VALUES);
+                for (String value : request.values) {
+                    writeValue(writer, "v", value);
+                }
+                writer.endNode();
+                writeValue(writer, LINES, join(request.lines, request.size));
+                writeValue(writer, COMMITS, join(request.commits, request.size));
+                writeValue(writer, NAMES, join(request.names, request.size));
+                writeValue(writer, EMAILS, join(request.emails, request.size));
+            }
+        }
+
+        private void writeValue(final HierarchicalStreamWriter writer, final String node, final String value) {
+            writer.startNode(node);
+            writer.setValue(value);
+            writer.endNode();
+        }
+
+        private String join(final int[] values, final int size) {
+            StringBuilder builder = new StringBuilder(size * 4);
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    builder.append(SEPARATOR);
+                }
+                builder.append(values[i]);
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public Object unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            String fileName = StringUtils.EMPTY;
+            List<String> values = new ArrayList<>();
+            int[] lines = new int[0];
+            int[] commits = new int[0];
+            int[] names = new int[0];
+            int[] emails = new int[0];
+            List<int[]> oldLines = new ArrayList<>();
+            Map<String, Map<Integer, String>> oldProperties = new HashMap<>();
+
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                String node = reader.getNodeName();
+                if (FILE_NAME.equals(node)) {
+                    fileName = reader.getValue();
+                }
+                else if (VALUES.equals(node)) {
+                    while (reader.hasMoreChildren()) {
+                        reader.moveDown();
+                        values.add(reader.getValue());
+                        reader.moveUp();
+                    }
+                }
+                else if (LINES.equals(node)) {
+                    if (reader.hasMoreChildren()) { // old format: set of integers
+                        oldLines.add(readIntegers(reader));
+                    }
+                    else {
+                        lines = split(reader.getValue());
+                    }
+                }
+                else if (COMMITS.equals(node)) {
+                    commits = split(reader.getValue());
+                }
+                else if (NAMES.equals(node)) {
+                    names = split(reader.getValue());
+                }
+                else if (EMAILS.equals(node)) {
+                    emails = split(reader.getValue());
+                }
+                else if (node.endsWith("ByLine")) { // old format: map of line numbers to values
+                    oldProperties.put(node, readMap(reader));
+                }
+                reader.moveUp();
+            }
+
+            BlameRequest request = new BlameRequest(fileName);
+            if (oldLines.isEmpty()) {
+                for (int i = 0; i < lines.length; i++) {
+                    request.setCommit(lines[i], getValue(values, commits, i));
+                    request.setAuthor(lines[i], getValue(values, names, i), getValue(values, emails, i));
+                }
+            }
+            else {
+                for (int line : oldLines.get(0)) {
+                    request.setCommit(line, getOldValue(oldProperties, "commitByLine", line));
+                    request.setAuthor(line, getOldValue(oldProperties, "nameByLine", line),
+                            getOldValue(oldProperties, "emailByLine", line));
+                }
+            }
+            return request;
+        }
+
+        private String getValue(final List<String> values, final int[] indices, final int position) {
+            if (position >= indices.length || indices[position] == NO_VALUE) {
+                return EMPTY;
+            }
+            return values.get(indices[position]);
+        }
+
+        private String getOldValue(final Map<String, Map<Integer, String>> properties, final String property,
+                final int line) {
+            return properties.getOrDefault(property, new HashMap<>()).getOrDefault(line, EMPTY);
+        }
+
+        private int[] split(final String value) {
+            if (StringUtils.isBlank(value)) {
+                return new int[0];
+            }
+            return Arrays.stream(StringUtils.split(value, SEPARATOR)).mapToInt(Integer::parseInt).toArray();
+        }
+
+        private int[] readIntegers(final HierarchicalStreamReader reader) {
+            List<Integer> integers = new ArrayList<>();
+            while (reader.hasMoreChildren()) {
+                reader.moveDown();
+                integers.add(Integer.parseInt(reader.getValue()));
+                reader.moveUp();
+            }
+            return integers.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private Map<Integer, String> readMap(final HierarchicalStreamReader reader) {
+            Map<Integer, String> map = new HashMap<>();
+            while (reader.hasMoreChildren()) {
+                reader.moveDown(); // entry
+                Integer key = null;
+                String value = EMPTY;
+                while (reader.hasMoreChildren()) {
+                    reader.moveDown();
+                    if ("int".equals(reader.getNodeName())) {
+                        key = Integer.parseInt(reader.getValue());
+                    }
+                    else {
+                        value = reader.getValue();
+                    }
+                    reader.moveUp();
+                }
+                if (key != null) {
+                    map.put(key, value);
+                }
+                reader.moveUp();
+            }
+            return map;
+        }
+    }
 }
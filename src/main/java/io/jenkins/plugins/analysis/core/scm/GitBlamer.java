@@ -1,8 +1,20 @@
 package io.jenkins.plugins.analysis.core.scm;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.api.BlameCommand;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.JGitInternalException;
@@ -11,10 +23,14 @@ import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
 
 import edu.hm.hafner.analysis.FilteredLog;
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -27,6 +43,12 @@ import hudson.remoting.VirtualChannel;
 /**
  * Assigns git blames to warnings. Based on the solution by John Gibson, see JENKINS-6748. This code is intended to run
  * on the agent.
+ * <p>
+ * The blame commands for the affected files are independent of each other, so they are executed concurrently on a
+ * bounded thread pool. The number of threads is limited by the number of processors of the agent and by {@link
+ * #MAX_THREADS}. Blames of files that did not change since the last build are reused from a {@link BlameCache} in the
+ * temporary folder of the workspace.
+ * </p>
  *
  * @author Lukas Krose
  * @author Ullrich Hafner
@@ -36,9 +58,13 @@ import hudson.remoting.VirtualChannel;
 class GitBlamer implements Blamer {
     private static final long serialVersionUID = -619059996626444900L;
 
+    /** Maximum number of threads that run the blame commands concurrently. */
+    static final int MAX_THREADS = 8;
+
     private final GitClient git;
     private final String gitCommit;
     private final FilePath workspace;
+    private final String blameCache;
 
     /**
      * Creates a new blamer for Git.
@@ -47,11 +73,15 @@ class GitBlamer implements Blamer {
      *         git client
      * @param gitCommit
      *         content of environment variable GIT_COMMIT
+     * @param blameCache
+     *         absolute path of the file on the agent that caches the blames of the previous builds, an empty path will
+     *         disable the cache
      */
-    GitBlamer(final GitClient git, final String gitCommit) {
+    GitBlamer(final GitClient git, final String gitCommit, final String blameCache) {
         this.workspace = git.getWorkTree();
         this.git = git;
         this.gitCommit = gitCommit;
+        this.blameCache = blameCache;
     }
 
     @Override
@@ -70,7 +100,16 @@ class GitBlamer implements Blamer {
 
             String workspacePath = getWorkspacePath();
             report.logInfo("Job workspace = '%s'", workspacePath);
-            return git.withRepository(new BlameCallback(report, headCommit, workspacePath));
+            if (StringUtils.isBlank(blameCache)) {
+                return git.withRepository(
+                        new BlameCallback(report, headCommit, workspacePath, getThreads(), new BlameCache()));
+            }
+            Path cacheFile = Paths.get(blameCache);
+            BlameCache cache = BlameCache.load(cacheFile, report);
+            Blames blames = git.withRepository(
+                    new BlameCallback(report, headCommit, workspacePath, getThreads(), cache));
+            cache.save(cacheFile, report);
+            return blames;
         }
         catch (IOException exception) {
             report.logException(exception, "Computing blame information failed with an exception:");
@@ -84,6 +123,10 @@ class GitBlamer implements Blamer {
         return new Blames();
     }
 
+    private static int getThreads() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+    }
+
     private String getWorkspacePath() throws IOException {
         return Paths.get(workspace.getRemote()).toAbsolutePath().normalize().toRealPath().toString();
     }
@@ -97,32 +140,137 @@ class GitBlamer implements Blamer {
         private final Report report;
         private final ObjectId headCommit;
         private final String workspace;
+        private final int threads;
+        private final BlameCache cache;
 
         BlameCallback(final Report report, final ObjectId headCommit, final String workspace) {
+            this(report, headCommit, workspace, 1, new BlameCache());
+        }
+
+        BlameCallback(final Report report, final ObjectId headCommit, final String workspace, final int threads,
+                final BlameCache cache) {
             this.report = report;
             this.headCommit = headCommit;
             this.workspace = workspace;
+            this.threads = threads;
+            this.cache = cache;
         }
 
         @Override
         public Blames invoke(final Repository repo, final VirtualChannel channel) throws InterruptedException {
-            BlameRunner blameRunner = new BlameRunner(repo, headCommit);
+            return blame(new BlameRunner(repo, headCommit));
+        }
+
+        @VisibleForTesting
+        Blames blame(final BlameRunner blameRunner) throws InterruptedException {
             Blames blames = extractAffectedFiles();
 
+            Map<BlameRequest, String> blobIds = new IdentityHashMap<>();
+            List<BlameRequest> requests = new ArrayList<>();
             for (BlameRequest request : blames.getRequests()) {
-                run(request, blameRunner);
-                if (Thread.interrupted()) { // Cancel request by user
-                    String message = "Thread was interrupted while computing blame information";
-                    report.logInfo(message);
-                    throw new InterruptedException(message);
+                String blobId = getBlobId(request, blameRunner);
+                if (blobId == null || !cache.fill(request, blobId)) {
+                    requests.add(request);
+                    if (blobId != null) {
+                        blobIds.put(request, blobId);
+                    }
+                }
+            }
+            report.logInfo("-> reused cached blames for %d files, invoking Git blame for %d files",
+                    blames.size() - requests.size(), requests.size());
+
+            Set<BlameRequest> blamed = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+            int actualThreads = Math.min(threads, requests.size());
+            if (actualThreads > 1) {
+                runConcurrently(requests, blameRunner, actualThreads, blamed);
+            }
+            else {
+                for (BlameRequest request : requests) {
+                    if (run(request, blameRunner, report)) {
+                        blamed.add(request);
+                    }
+                    if (Thread.interrupted()) { // Cancel request by user
+                        throw createInterruptedException();
+                    }
                 }
             }
+            updateCache(blobIds, blamed);
 
             report.logInfo("-> blamed authors of issues in %d files", blames.size());
 
             return blames;
         }
 
+        /**
+         * Stores the requests that have been blamed successfully in the cache. Failed requests are not stored, so they
+         * will be blamed again in the next build. Files that have not been affected for a while are removed from the
+         * cache.
+         */
+        private void updateCache(final Map<BlameRequest, String> blobIds, final Set<BlameRequest> blamed) {
+            for (Map.Entry<BlameRequest, String> blobId : blobIds.entrySet()) {
+                if (blamed.contains(blobId.getKey())) {
+                    cache.put(blobId.getKey(), blobId.getValue());
+                }
+            }
+            cache.evictUnusedFiles();
+        }
+
+        @Nullable
+        private String getBlobId(final BlameRequest request, final BlameRunner blameRunner) {
+            try {
+                return blameRunner.getBlobId(request.getFileName());
+            }
+            catch (IOException exception) {
+                return null; // the file will be blamed without using the cache
+            }
+        }
+
+        /**
+         * Runs the blame commands for all requests on a bounded thread pool. Each request is updated by a single worker
+         * thread only. The log messages of each request are collected in a separate report and merged in the order of
+         * the requests afterwards.
+         */
+        private void runConcurrently(final List<BlameRequest> requests, final BlameRunner blameRunner,
+                final int actualThreads, final Set<BlameRequest> blamed) throws InterruptedException {
+            report.logInfo("-> running Git blame using %d threads", actualThreads);
+
+            ExecutorService executor = Executors.newFixedThreadPool(actualThreads);
+            try {
+                List<Future<Report>> results = new ArrayList<>();
+                for (BlameRequest request : requests) {
+                    results.add(executor.submit(() -> {
+                        Report log = new Report();
+                        if (!Thread.currentThread().isInterrupted() && run(request, blameRunner, log)) {
+                            blamed.add(request);
+                        }
+                        return log;
+                    }));
+                }
+                for (Future<Report> result : results) {
+                    report.addAll(result.get());
+                }
+            }
+            catch (InterruptedException exception) { // Cancel request by user
+                throw createInterruptedException();
+            }
+            catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private InterruptedException createInterruptedException() {
+            String message = "Thread was interrupted while computing blame information";
+            report.logInfo(message);
+            return new InterruptedException(message);
+        }
+
         /**
          * Extracts the relative file names of the files that contain annotations to make sure every file is blamed only
          * once.
@@ -158,14 +306,25 @@ class GitBlamer implements Blamer {
         }
 
         void run(final BlameRequest request, final BlameRunner blameRunner) {
-            FilteredLog log = new FilteredLog(report, "Git blame errors:");
+            run(request, blameRunner, report);
+        }
+
+        /**
+         * Runs the blame command for the specified request.
+         *
+         * @return {@code true} if author and commit have been found for all lines of the request, {@code false} otherwise
+         */
+        private boolean run(final BlameRequest request, final BlameRunner blameRunner, final Report logReport) {
+            FilteredLog log = new FilteredLog(logReport, "Git blame errors:");
             String fileName = request.getFileName();
+            boolean isComplete = false;
             try {
                 BlameResult blame = blameRunner.run(fileName);
                 if (blame == null) {
                     log.logError("- no blame results for request <%s>.%n", request);
                 }
                 else {
+                    isComplete = true;
                     for (int line : request) {
                         int lineIndex = line - 1; // first line is index 0
                         if (lineIndex < blame.getResultContents().size()) {
@@ -173,26 +332,32 @@ class GitBlamer implements Blamer {
                             if (who == null) {
                                 log.logError("- no author information found for line %d in file %s", lineIndex,
                                         fileName);
+                                isComplete = false;
                             }
                             else {
-                                request.setName(line, who.getName());
-                                request.setEmail(line, who.getEmailAddress());
+                                request.setAuthor(line, who.getName(), who.getEmailAddress());
                             }
                             RevCommit commit = blame.getSourceCommit(lineIndex);
                             if (commit == null) {
                                 log.logError("- no commit ID found for line %d in file %s", lineIndex, fileName);
+                                isComplete = false;
                             }
                             else {
                                 request.setCommit(line, commit.getName());
                             }
                         }
+                        else {
+                            isComplete = false;
+                        }
                     }
                 }
             }
             catch (GitAPIException | JGitInternalException exception) {
                 log.logException(exception, "- error running git blame on '%s' with revision '%s'", fileName, headCommit);
+                isComplete = false;
             }
             log.logSummary();
+            return isComplete;
         }
     }
 
@@ -202,12 +367,39 @@ class GitBlamer implements Blamer {
     static class BlameRunner {
         private final Repository repo;
         private final ObjectId headCommit;
+        @Nullable
+        private RevTree headTree;
 
         BlameRunner(final Repository repo, final ObjectId headCommit) {
             this.repo = repo;
             this.headCommit = headCommit;
         }
 
+        /**
+         * Returns the ID of the Git blob of the specified file at the HEAD commit.
+         *
+         * @param fileName
+         *         the file name relative to the repository root
+         *
+         * @return the blob ID, or {@code null} if the file is not part of the HEAD commit
+         * @throws IOException
+         *         if the repository could not be read
+         */
+        @Nullable
+        String getBlobId(final String fileName) throws IOException {
+            if (headTree == null) {
+                try (RevWalk walk = new RevWalk(repo)) {
+                    headTree = walk.parseCommit(headCommit).getTree();
+                }
+            }
+            try (TreeWalk treeWalk = TreeWalk.forPath(repo, fileName, headTree)) {
+                if (treeWalk == null) {
+                    return null;
+                }
+                return treeWalk.getObjectId(0).getName();
+            }
+        }
+
         @Nullable
         BlameResult run(final String fileName) throws GitAPIException {
             BlameCommand blame = new BlameCommand(repo);
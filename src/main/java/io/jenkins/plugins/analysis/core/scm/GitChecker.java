@@ -11,6 +11,8 @@ import hudson.plugins.git.GitSCM;
 import hudson.plugins.git.extensions.impl.CloneOption;
 import hudson.scm.SCM;
 
+import io.jenkins.plugins.analysis.core.util.WorkspaceCache;
+
 /**
  * Facade for git API calls. Make sure that each method call in this class is wrapped into the following snippet so that
  * no {@link ClassNotFoundException} is thrown if the git plug-in is not installed or disabled:
@@ -50,13 +52,15 @@ class GitChecker {
      *         the SCM instance
      * @param workspace
      *         current workspace
+     * @param id
+     *         the ID of the static analysis tool whose issues will be blamed
      * @param listener
      *         task listener
      *
      * @return {@code true} new users can be created automatically, {@code false} otherwise
      */
     Blamer createBlamer(final Run<?, ?> build, final SCM scm,
-            final FilePath workspace, final TaskListener listener) {
+            final FilePath workspace, final String id, final TaskListener listener) {
         try {
             GitSCM gitSCM = asGit(scm);
             if (isShallow(gitSCM)) {
@@ -67,7 +71,7 @@ class GitChecker {
             GitClient gitClient = gitSCM.createClient(listener, environment, build, workspace);
             String gitCommit = environment.getOrDefault("GIT_COMMIT", "HEAD");
 
-            return new GitBlamer(gitClient, gitCommit);
+            return new GitBlamer(gitClient, gitCommit, WorkspaceCache.getFile(workspace, id, "blames"));
         }
         catch (IOException | InterruptedException e) {
             return new NullBlamer();
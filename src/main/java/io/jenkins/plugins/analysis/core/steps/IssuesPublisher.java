@@ -22,6 +22,7 @@ import io.jenkins.plugins.analysis.core.model.History;
 import io.jenkins.plugins.analysis.core.model.ResetReferenceAction;
 import io.jenkins.plugins.analysis.core.model.ResultAction;
 import io.jenkins.plugins.analysis.core.model.ResultSelector;
+import io.jenkins.plugins.analysis.core.model.TrendStore;
 import io.jenkins.plugins.analysis.core.scm.Blames;
 import io.jenkins.plugins.analysis.core.util.JenkinsFacade;
 import io.jenkins.plugins.analysis.core.util.LogHandler;
@@ -88,6 +89,8 @@ class IssuesPublisher {
         ResultAction action = new ResultAction(run, result, healthDescriptor, getId(), name, sourceCodeEncoding);
         run.addAction(action);
 
+        new TrendStore(run.getParent(), getId()).append(run, result);
+
         run.addOrReplaceAction(new AggregationAction());
 
         return action;
@@ -576,15 +576,16 @@ public class IssuesRecorder extends Recorder implements SimpleBuildStep {
     private AnnotatedReport scanWithTool(final Run<?, ?> run, final FilePath workspace, final TaskListener listener,
             final Tool tool) throws IOException, InterruptedException {
         IssuesScanner issuesScanner = new IssuesScanner(tool, getFilters(),
-                getSourceCodeCharset(), new FilePath(run.getRootDir()), blame(run, workspace, listener));
+                getSourceCodeCharset(), blame(run, workspace, tool, listener));
         return issuesScanner.scan(run, workspace, new LogHandler(listener, tool.getActualName()));
     }
 
-    private Blamer blame(final Run<?, ?> run, final FilePath workspace, final TaskListener listener) {
+    private Blamer blame(final Run<?, ?> run, final FilePath workspace, final Tool tool,
+            final TaskListener listener) {
         if (isBlameDisabled) {
             return new NullBlamer();
         }
-        return BlameFactory.createBlamer(run, workspace, listener);
+        return BlameFactory.createBlamer(run, workspace, tool.getActualId(), listener);
     }
 
     private Charset getSourceCodeCharset() {
@@ -3,18 +3,21 @@ package io.jenkins.plugins.analysis.core.steps;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.google.errorprone.annotations.MustBeClosed;
 
-import edu.hm.hafner.analysis.FingerprintGenerator;
 import edu.hm.hafner.analysis.FullTextFingerprint;
 import edu.hm.hafner.analysis.ModuleDetector;
 import edu.hm.hafner.analysis.ModuleDetector.FileSystem;
@@ -30,15 +33,19 @@ import hudson.remoting.VirtualChannel;
 import jenkins.MasterToSlaveFileCallable;
 
 import io.jenkins.plugins.analysis.core.filter.RegexpFilter;
+import io.jenkins.plugins.analysis.core.model.FilesScanner;
+import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.core.model.Tool;
 import io.jenkins.plugins.analysis.core.scm.Blamer;
 import io.jenkins.plugins.analysis.core.scm.Blames;
 import io.jenkins.plugins.analysis.core.util.AbsolutePathGenerator;
+import io.jenkins.plugins.analysis.core.util.AffectedFilesConfiguration;
 import io.jenkins.plugins.analysis.core.util.AffectedFilesResolver;
+import io.jenkins.plugins.analysis.core.util.AffectedFilesStore;
 import io.jenkins.plugins.analysis.core.util.FileFinder;
+import io.jenkins.plugins.analysis.core.util.FingerprintCache;
 import io.jenkins.plugins.analysis.core.util.LogHandler;
-
-import static io.jenkins.plugins.analysis.core.util.AffectedFilesResolver.*;
+import io.jenkins.plugins.analysis.core.util.WorkspaceCache;
 
 /**
  * Scans report files or the console log for issues.
@@ -46,34 +53,38 @@ import static io.jenkins.plugins.analysis.core.util.AffectedFilesResolver.*;
  * @author Ullrich Hafner
  */
 class IssuesScanner {
-    private final FilePath jenkinsRootDir;
     private final Charset sourceCodeEncoding;
     private final Tool tool;
     private final List<RegexpFilter> filters;
     private final Blamer blamer;
 
     IssuesScanner(final Tool tool, final List<RegexpFilter> filters,
-            final Charset sourceCodeEncoding, final FilePath jenkinsRootDir, final Blamer blamer) {
+            final Charset sourceCodeEncoding, final Blamer blamer) {
         this.filters = new ArrayList<>(filters);
         this.sourceCodeEncoding = sourceCodeEncoding;
         this.tool = tool;
-        this.jenkinsRootDir = jenkinsRootDir;
         this.blamer = blamer;
     }
 
     public AnnotatedReport scan(final Run<?, ?> run, final FilePath workspace, final LogHandler logger)
             throws IOException, InterruptedException {
+        if (tool.getDescriptor().isPostProcessingEnabled() && tool instanceof ReportScanningTool
+                && ((ReportScanningTool) tool).isScanningWorkspace()) {
+            return scanAndPostProcess((ReportScanningTool) tool, run, workspace, logger);
+        }
+
         Report report = tool.scan(run, workspace, sourceCodeEncoding, logger);
 
         if (tool.getDescriptor().isPostProcessingEnabled()) {
-            return postProcess(report, workspace, logger);
+            return postProcess(report, run, workspace, logger);
         }
         else {
             return new AnnotatedReport(tool.getActualId(), filter(report, filters, tool.getActualId()));
         }
     }
 
-    private AnnotatedReport postProcess(final Report report, final FilePath workspace, final LogHandler logger)
+    private AnnotatedReport postProcess(final Report report, final Run<?, ?> run, final FilePath workspace,
+            final LogHandler logger)
             throws IOException, InterruptedException {
         AnnotatedReport result;
         if (report.isEmpty()) {
@@ -86,23 +97,51 @@ class IssuesScanner {
             report.logInfo("Post processing issues on '%s' with encoding '%s'", getAgentName(workspace),
                     sourceCodeEncoding);
 
-            result = workspace.act(new ReportPostProcessor(tool.getActualId(), report, sourceCodeEncoding.name(),
-                    createAffectedFilesFolder(report), blamer, filters));
+            result = copyAffectedFiles(workspace.act(new ReportPostProcessor(tool.getActualId(), report,
+                    sourceCodeEncoding.name(), getFingerprintCache(workspace), blamer, filters)), run, workspace);
         }
         logger.log(result.getReport());
         return result;
     }
 
-    private FilePath createAffectedFilesFolder(final Report report) throws InterruptedException {
-        FilePath buildDirectory = jenkinsRootDir.child(AFFECTED_FILES_FOLDER_NAME);
-        try {
-            buildDirectory.mkdirs();
-        }
-        catch (IOException exception) {
-            report.logException(exception,
-                    "Can't create directory '%s' for affected workspace files.", buildDirectory);
+    /**
+     * Scans the report files in the workspace and post processes the found issues in a single call on the agent. The
+     * parsed report will not be transferred to the master before it has been post processed: only the final {@link
+     * AnnotatedReport} will be sent back.
+     */
+    private AnnotatedReport scanAndPostProcess(final ReportScanningTool scanningTool, final Run<?, ?> run,
+            final FilePath workspace, final LogHandler logger) throws IOException, InterruptedException {
+        AnnotatedReport result = copyAffectedFiles(workspace.act(new ScanningPostProcessor(tool.getActualId(),
+                scanningTool.createFilesScanner(run, logger), getAgentName(workspace), sourceCodeEncoding.name(),
+                getFingerprintCache(workspace), blamer, filters)), run, workspace);
+        logger.log(result.getReport());
+        return result;
+    }
+
+    /**
+     * Copies the affected files of the post processed report from the workspace to the {@link AffectedFilesStore} of
+     * the job. The files are pulled by the master, so only files that are not yet part of the store are transferred.
+     */
+    private AnnotatedReport copyAffectedFiles(final PostProcessingResult result, final Run<?, ?> run,
+            final FilePath workspace) throws InterruptedException {
+        AnnotatedReport annotatedReport = result.getAnnotatedReport();
+        if (!result.getAffectedFiles().isEmpty()) {
+            Report report = annotatedReport.getReport();
+            report.logInfo("Copying affected files to Jenkins' job folder '%s'",
+                    AffectedFilesStore.getStoreFolder(run.getParent()));
+
+            new AffectedFilesResolver().copyFilesToStore(report, result.getAffectedFiles(), workspace, run,
+                    tool.getActualId(), isCompressingAffectedFiles());
         }
-        return buildDirectory;
+        return annotatedReport;
+    }
+
+    private boolean isCompressingAffectedFiles() {
+        return AffectedFilesConfiguration.getInstance().isCompressFiles();
+    }
+
+    private String getFingerprintCache(final FilePath workspace) {
+        return WorkspaceCache.getFile(workspace, tool.getActualId(), "fingerprints");
     }
 
     private String getAgentName(final FilePath workspace) {
@@ -140,36 +179,66 @@ class IssuesScanner {
         return filtered;
     }
 
+    /**
+     * The result of the post processing on the build agent: the annotated report and the digests of the affected files
+     * in the workspace.
+     */
+    private static class PostProcessingResult implements Serializable {
+        private static final long serialVersionUID = -2235276374617366207L;
+
+        private final AnnotatedReport annotatedReport;
+        private final HashMap<String, String> affectedFiles;
+
+        PostProcessingResult(final AnnotatedReport annotatedReport, final Map<String, String> affectedFiles) {
+            this.annotatedReport = annotatedReport;
+            this.affectedFiles = new HashMap<>(affectedFiles);
+        }
+
+        AnnotatedReport getAnnotatedReport() {
+            return annotatedReport;
+        }
+
+        Map<String, String> getAffectedFiles() {
+            return affectedFiles;
+        }
+    }
+
     /**
      * Post processes the report on the build agent. Assigns absolute paths, package names, and module names and
-     * computes fingerprints for each issue. Finally, for each file the SCM blames are computed.
+     * computes fingerprints for each issue. Finally, for each file the SCM blames are computed. The affected files are
+     * not copied by the agent: only their digests are returned to the master.
      */
-    private static class ReportPostProcessor extends MasterToSlaveFileCallable<AnnotatedReport> {
-        private static final long serialVersionUID = -9138045560271783096L;
+    private abstract static class AbstractPostProcessor extends MasterToSlaveFileCallable<PostProcessingResult> {
+        private static final long serialVersionUID = 3452004838413946137L;
 
         private final String id;
-        private final Report originalReport;
         private final String sourceCodeEncoding;
-        private final FilePath affectedFilesFolder;
+        private final String fingerprintCache;
         private final Blamer blamer;
         private final List<RegexpFilter> filters;
 
-        ReportPostProcessor(final String id, final Report report, final String sourceCodeEncoding,
-                final FilePath affectedFilesFolder, final Blamer blamer, final List<RegexpFilter> filters) {
+        AbstractPostProcessor(final String id, final String sourceCodeEncoding, final String fingerprintCache,
+                final Blamer blamer, final List<RegexpFilter> filters) {
             super();
 
             this.id = id;
-            originalReport = report;
             this.sourceCodeEncoding = sourceCodeEncoding;
-            this.affectedFilesFolder = affectedFilesFolder;
+            this.fingerprintCache = fingerprintCache;
             this.blamer = blamer;
             this.filters = filters;
         }
 
-        @Override
-        public AnnotatedReport invoke(final File workspace, final VirtualChannel channel) throws InterruptedException {
+        String getId() {
+            return id;
+        }
+
+        String getSourceCodeEncoding() {
+            return sourceCodeEncoding;
+        }
+
+        PostProcessingResult postProcess(final Report originalReport, final File workspace) {
             resolveAbsolutePaths(originalReport, workspace);
-            copyAffectedFiles(originalReport, workspace);
+            Map<String, String> affectedFiles = computeDigests(originalReport, workspace);
             resolveModuleNames(originalReport, workspace);
             resolvePackageNames(originalReport);
 
@@ -177,7 +246,7 @@ class IssuesScanner {
 
             createFingerprints(filtered);
             Blames blames = blamer.blame(filtered);
-            return new AnnotatedReport(id, filtered, blames);
+            return new PostProcessingResult(new AnnotatedReport(id, filtered, blames), affectedFiles);
         }
 
         private void resolveAbsolutePaths(final Report report, final File workspace) {
@@ -187,10 +256,10 @@ class IssuesScanner {
             generator.run(report, workspace.toPath());
         }
 
-        private void copyAffectedFiles(final Report report, final File workspace) throws InterruptedException {
-            report.logInfo("Copying affected files to Jenkins' build folder '%s'", affectedFilesFolder);
+        private Map<String, String> computeDigests(final Report report, final File workspace) {
+            report.logInfo("Computing digests of affected files");
 
-            new AffectedFilesResolver().copyFilesWithAnnotationsToBuildFolder(report, affectedFilesFolder, workspace);
+            return new AffectedFilesResolver().computeDigests(report, workspace);
         }
 
         private void resolveModuleNames(final Report report, final File workspace) {
@@ -214,8 +283,75 @@ class IssuesScanner {
         private void createFingerprints(final Report report) {
             report.logInfo("Creating fingerprints for all affected code blocks to track issues over different builds");
 
-            FingerprintGenerator generator = new FingerprintGenerator();
-            generator.run(new FullTextFingerprint(), report, getCharset());
+            if (StringUtils.isBlank(fingerprintCache)) {
+                new FingerprintCache(getCharset()).createFingerprints(new FullTextFingerprint(), report);
+            }
+            else {
+                Path cacheFile = Paths.get(fingerprintCache);
+                FingerprintCache cache = FingerprintCache.load(cacheFile, getCharset(), report);
+                cache.createFingerprints(new FullTextFingerprint(), report);
+                cache.save(cacheFile, report);
+            }
+        }
+    }
+
+    /**
+     * Post processes a report that has been created on the master.
+     */
+    private static class ReportPostProcessor extends AbstractPostProcessor {
+        private static final long serialVersionUID = -9138045560271783096L;
+
+        private final Report originalReport;
+
+        ReportPostProcessor(final String id, final Report report, final String sourceCodeEncoding,
+                final String fingerprintCache, final Blamer blamer, final List<RegexpFilter> filters) {
+            super(id, sourceCodeEncoding, fingerprintCache, blamer, filters);
+
+            originalReport = report;
+        }
+
+        @Override
+        public PostProcessingResult invoke(final File workspace, final VirtualChannel channel) {
+            return postProcess(originalReport, workspace);
+        }
+    }
+
+    /**
+     * Scans the report files in the workspace and post processes the found issues afterwards. Both steps are executed
+     * on the build agent so that the parsed report does not need to be transferred to the master in between.
+     */
+    private static class ScanningPostProcessor extends AbstractPostProcessor {
+        private static final long serialVersionUID = 2804327145726618826L;
+
+        private final FilesScanner filesScanner;
+        private final String agentName;
+
+        @SuppressWarnings("ParameterNumber")
+        ScanningPostProcessor(final String id, final FilesScanner filesScanner, final String agentName,
+                final String sourceCodeEncoding, final String fingerprintCache, final Blamer blamer,
+                final List<RegexpFilter> filters) {
+            super(id, sourceCodeEncoding, fingerprintCache, blamer, filters);
+
+            this.filesScanner = filesScanner;
+            this.agentName = agentName;
+        }
+
+        @Override
+        public PostProcessingResult invoke(final File workspace, final VirtualChannel channel)
+                throws InterruptedException {
+            Report report = filesScanner.invoke(workspace, channel);
+
+            if (report.isEmpty()) {
+                if (report.hasErrors()) {
+                    report.logInfo("Skipping post processing due to errors");
+                }
+                return new PostProcessingResult(new AnnotatedReport(getId(), report), // nothing to post process
+                        Collections.emptyMap());
+            }
+
+            report.logInfo("Post processing issues on '%s' with encoding '%s'", agentName, getSourceCodeEncoding());
+
+            return postProcess(report, workspace);
         }
     }
 
@@ -154,8 +154,7 @@ public class ScanForIssuesStep extends Step {
             TaskListener listener = getTaskListener();
 
             IssuesScanner issuesScanner = new IssuesScanner(tool, filters,
-                    getCharset(sourceCodeEncoding), new FilePath(getRun().getRootDir()),
-                    createBlamer(workspace, listener));
+                    getCharset(sourceCodeEncoding), createBlamer(workspace, listener));
 
             return issuesScanner.scan(getRun(), workspace, new LogHandler(listener, tool.getActualName()));
         }
@@ -165,7 +164,7 @@ public class ScanForIssuesStep extends Step {
             if (isBlameDisabled) {
                 return new NullBlamer();
             }
-            return BlameFactory.createBlamer(getRun(), workspace, listener);
+            return BlameFactory.createBlamer(getRun(), workspace, tool.getActualId(), listener);
         }
     }
 
@@ -0,0 +1,199 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.model.Job;
+import jenkins.model.Jenkins;
+
+/**
+ * Compresses the affected files that have been copied to Jenkins' build folders and to the {@link AffectedFilesStore}
+ * of the jobs. Compressed files use the name of the original file with the suffix {@link #COMPRESSED_SUFFIX}. Readers
+ * obtain the content using {@link #open(Path)} that decompresses these files on the fly.
+ *
+ * @author Ullrich Hafner
+ */
+public final class AffectedFilesCompressor {
+    /** Suffix of compressed affected files. */
+    public static final String COMPRESSED_SUFFIX = ".gz";
+
+    private static final Logger LOGGER = Logger.getLogger(AffectedFilesCompressor.class.getName());
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 8192;
+    /** Files that have been modified recently might still be written by a running build. */
+    private static final long MINIMUM_AGE = TimeUnit.MINUTES.toMillis(1);
+    private static final Pattern COMPRESSIBLE_FILE_NAME = Pattern.compile("[0-9a-f]{64}|[0-9a-f]+\\.tmp");
+
+    private AffectedFilesCompressor() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the compressed variant of the specified affected file if it exists, otherwise the file itself.
+     *
+     * @param file
+     *         the uncompressed affected file
+     *
+     * @return the file that contains the content of the affected file
+     */
+    public static Path resolve(final Path file) {
+        Path compressed = getCompressedFile(file);
+        if (Files.exists(compressed)) {
+            return compressed;
+        }
+        return file;
+    }
+
+    private static Path getCompressedFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * Opens the specified affected file. Compressed files are decompressed on the fly.
+     *
+     * @param file
+     *         the affected file, either compressed or uncompressed
+     *
+     * @return the content of the affected file
+     * @throws IOException
+     *         if the file could not be read
+     */
+    public static InputStream open(final Path file) throws IOException {
+        InputStream stream = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(COMPRESSED_SUFFIX)) {
+            try {
+                return new GZIPInputStream(stream, BUFFER_SIZE);
+            }
+            catch (IOException exception) {
+                stream.close();
+                throw exception;
+            }
+        }
+        return stream;
+    }
+
+    /**
+     * Compresses the specified file. The compressed file is written to a temporary file that replaces the original file
+     * only if the whole content has been compressed. So concurrent readers always see a complete file.
+     *
+     * @param file
+     *         the file to compress
+     * @param target
+     *         the compressed file
+     *
+     * @throws IOException
+     *         if the file could not be compressed
+     */
+    public static void compress(final Path file, final Path target) throws IOException {
+        Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+        try {
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(partial), BUFFER_SIZE)) {
+                Files.copy(file, output);
+            }
+            Files.setLastModifiedTime(partial, Files.getLastModifiedTime(file));
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /**
+     * Compresses all affected files of all jobs, i.e. the files in the build folders and in the stores of the jobs.
+     *
+     * @return the number of compressed files
+     */
+    public static int compressAll() {
+        int compressed = 0;
+        for (Job<?, ?> job : Jenkins.getInstance().getAllItems(Job.class)) {
+            compressed += compressJob(job);
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses all affected files of the specified job.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the number of compressed files
+     */
+    static int compressJob(final Job<?, ?> job) {
+        int compressed;
+        synchronized (AffectedFilesStore.getLock(job)) { // stored files are deleted when their references are released
+            compressed = compressFolder(AffectedFilesStore.getStoreFolder(job), MINIMUM_AGE);
+        }
+
+        Path buildsFolder = job.getBuildDir().toPath();
+        if (Files.isDirectory(buildsFolder)) {
+            try (DirectoryStream<Path> builds = Files.newDirectoryStream(buildsFolder)) {
+                for (Path build : builds) {
+                    if (Files.isDirectory(build, LinkOption.NOFOLLOW_LINKS)) {
+                        compressed += compressFolder(build.resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME),
+                                MINIMUM_AGE);
+                    }
+                }
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Failed to read builds of job " + job.getFullName(), exception);
+            }
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses all uncompressed affected files in the specified folder. Manifests, reference counts, and files that
+     * have been modified within the specified minimum age will be skipped.
+     *
+     * @param folder
+     *         the folder with the affected files
+     * @param minimumAge
+     *         the minimum age (in milliseconds) of the files to compress
+     *
+     * @return the number of compressed files
+     */
+    @VisibleForTesting
+    static int compressFolder(final Path folder, final long minimumAge) {
+        if (!Files.isDirectory(folder)) {
+            return 0;
+        }
+
+        int compressed = 0;
+        long modifiedBefore = System.currentTimeMillis() - minimumAge;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder,
+                file -> COMPRESSIBLE_FILE_NAME.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() <= modifiedBefore) {
+                        compress(file, getCompressedFile(file));
+                        Files.delete(file);
+                        compressed++;
+                    }
+                }
+                catch (IOException exception) {
+                    LOGGER.log(Level.WARNING, "Failed to compress affected file " + file, exception);
+                }
+            }
+        }
+        catch (IOException | DirectoryIteratorException exception) {
+            LOGGER.log(Level.WARNING, "Failed to read affected files in " + folder, exception);
+        }
+        return compressed;
+    }
+}
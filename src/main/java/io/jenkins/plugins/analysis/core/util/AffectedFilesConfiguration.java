@@ -0,0 +1,98 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.kohsuke.stapler.DataBoundSetter;
+import org.jenkinsci.Symbol;
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.model.GlobalConfiguration;
+import jenkins.util.Timer;
+
+/**
+ * Global configuration of the affected files that are copied to Jenkins' build folders. If compression is enabled,
+ * then new affected files are stored compressed and the affected files of existing builds are compressed by a
+ * background task.
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+@Symbol("warningsAffectedFiles")
+public class AffectedFilesConfiguration extends GlobalConfiguration {
+    private static final Logger LOGGER = Logger.getLogger(AffectedFilesConfiguration.class.getName());
+    private static final AtomicBoolean IS_MIGRATING = new AtomicBoolean(false);
+
+    private boolean compressFiles;
+
+    /**
+     * Loads the configuration from disk.
+     */
+    public AffectedFilesConfiguration() {
+        super();
+
+        load();
+    }
+
+    /**
+     * Returns the singleton instance of this {@link AffectedFilesConfiguration}.
+     *
+     * @return the singleton instance
+     */
+    public static AffectedFilesConfiguration getInstance() {
+        return GlobalConfiguration.all().get(AffectedFilesConfiguration.class);
+    }
+
+    /**
+     * Compresses the affected files of existing builds when Jenkins starts and compression is enabled.
+     */
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    @SuppressWarnings("unused") // Called by Jenkins during startup
+    public static void compressExistingFiles() {
+        if (getInstance().isCompressFiles()) {
+            startMigration();
+        }
+    }
+
+    private static void startMigration() {
+        if (IS_MIGRATING.compareAndSet(false, true)) {
+            Timer.get().submit(() -> {
+                try {
+                    LOGGER.info("Compressing affected files of existing builds");
+                    int compressed = AffectedFilesCompressor.compressAll();
+                    LOGGER.info(String.format("Compressed %d affected files of existing builds", compressed));
+                }
+                finally {
+                    IS_MIGRATING.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns whether the affected files should be stored compressed.
+     *
+     * @return {@code true} if the files should be compressed, {@code false} otherwise
+     */
+    public boolean isCompressFiles() {
+        return compressFiles;
+    }
+
+    /**
+     * Determines whether the affected files should be stored compressed. If compression is enabled, then the affected
+     * files of existing builds will be compressed in the background.
+     *
+     * @param compressFiles
+     *         {@code true} if the files should be compressed, {@code false} otherwise
+     */
+    @DataBoundSetter
+    public void setCompressFiles(final boolean compressFiles) {
+        this.compressFiles = compressFiles;
+        save();
+
+        if (compressFiles) {
+            startMigration();
+        }
+    }
+}
@@ -7,6 +7,14 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 
 import edu.hm.hafner.analysis.FilteredLog;
@@ -15,10 +23,18 @@ import edu.hm.hafner.analysis.Report;
 
 import hudson.FilePath;
 import hudson.model.Run;
+import hudson.util.DirScanner;
+import hudson.util.FileVisitor;
 
 /**
- * Copies all affected files that are referenced in at least one of the issues to Jenkins build folder. These files can
- * be inspected in the UI later on.
+ * Copies all affected files that are referenced in at least one of the issues to the {@link AffectedFilesStore} of the
+ * job. These files can be inspected in the UI later on.
+ * <p>
+ * Only files with a new content are transferred: the agent computes the digests of the files, the master then pulls
+ * the files that are not yet part of the store. The build folder contains a manifest that maps the file names to the
+ * stored files. All files are transferred in bulk: the agent streams the files as a single compressed archive to the
+ * master, where the archive is unpacked in one pass. If the bulk transfer fails, then the files are copied one by one.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -57,11 +73,14 @@ public class AffectedFilesResolver {
      *         if the file could not be found
      */
     static InputStream asStream(final Run<?, ?> build, final String fileName) throws IOException {
-        return Files.newInputStream(getFile(build, fileName));
+        return AffectedFilesCompressor.open(getFile(build, fileName));
     }
 
     /**
-     * Returns the affected file in Jenkins' build folder.
+     * Returns the affected file in Jenkins' build folder. If the file is part of a manifest of the build, then the
+     * stored file in the {@link AffectedFilesStore} of the job will be returned. Otherwise, the copy of a build that
+     * has been recorded before the store existed will be returned. If the file has been compressed, then the
+     * compressed file will be returned.
      *
      * @param run
      *         the run referencing the build folder
@@ -71,64 +90,187 @@ public class AffectedFilesResolver {
      * @return the file
      */
     public static Path getFile(final Run<?, ?> run, final String fileName) {
-        return run.getRootDir().toPath()
-                .resolve(AFFECTED_FILES_FOLDER_NAME)
-                .resolve(getTempName(fileName));
+        return AffectedFilesCompressor.resolve(AffectedFilesStore.getStoredFile(run, fileName).orElseGet(
+                () -> run.getRootDir().toPath()
+                        .resolve(AFFECTED_FILES_FOLDER_NAME)
+                        .resolve(getLegacyFileName(fileName))));
     }
 
     /**
-     * Copies all files with issues from the workspace to the build folder.
+     * Computes the digests of all files with issues in the workspace. This method is invoked on the agent: the digests
+     * are used on the master to transfer the files that are not yet part of the {@link AffectedFilesStore} of the job,
+     * see {@link #copyFilesToStore(Report, Map, FilePath, Run, String, boolean)}.
      *
      * @param report
      *         the issues
-     * @param affectedFilesFolder
-     *         directory to store the copied files in
      * @param workspace
      *         local directory of the workspace, all source files must be part of this directory
      *
+     * @return the digests of the files, mapped by file name
+     */
+    public Map<String, String> computeDigests(final Report report, final File workspace) {
+        FilteredLog log = createLog(report);
+        AffectedFiles affectedFiles = new AffectedFiles(report, workspace, log);
+
+        Map<String, String> digestsByFileName = new HashMap<>();
+        for (String file : affectedFiles.readableFiles) {
+            Optional<String> digest = AffectedFilesStore.computeDigest(file);
+            if (digest.isPresent()) {
+                digestsByFileName.put(file, digest.get());
+            }
+            else {
+                log.logError("- '%s', can't compute digest of file", file);
+            }
+        }
+
+        affectedFiles.logSummary(digestsByFileName.size(), "in workspace");
+        return digestsByFileName;
+    }
+
+    /**
+     * Copies the files with the specified digests from the workspace to the {@link AffectedFilesStore} of the job. This
+     * method is invoked on the master: the manifest is written to the build folder first, then the files that are not
+     * yet part of the store are pulled from the workspace. Files that could not be transferred are removed from the
+     * manifest afterwards. Since the digests have been computed on the agent, files with an invalid digest are skipped.
+     *
+     * @param report
+     *         the issues
+     * @param digestsByFileName
+     *         the digests of the files in the workspace, mapped by file name, see {@link #computeDigests(Report,
+     *         File)}
+     * @param workspace
+     *         the workspace, all source files must be part of this directory
+     * @param run
+     *         the build that will contain the manifest
+     * @param id
+     *         the ID of the static analysis result, used as name of the manifest
+     * @param compress
+     *         determines whether the files should be stored compressed
+     *
      * @throws InterruptedException
      *         if the user cancels the processing
      */
-    public void copyFilesWithAnnotationsToBuildFolder(final Report report,
-            final FilePath affectedFilesFolder, final File workspace)
+    public void copyFilesToStore(final Report report, final Map<String, String> digestsByFileName,
+            final FilePath workspace, final Run<?, ?> run, final String id, final boolean compress)
             throws InterruptedException {
-        int copied = 0;
-        int notFound = 0;
-        int notInWorkspace = 0;
+        FilteredLog log = createLog(report);
 
-        FilteredLog log = new FilteredLog(report, 
-                "Can't copy some affected workspace files to Jenkins build folder:");
-        Set<String> files = report.getFiles();
-        files.remove("-");
-        for (String file : files) {
-            if (exists(file)) {
-                if (isInWorkspace(file, workspace)) {
+        Map<String, String> manifest = new HashMap<>();
+        for (Entry<String, String> file : digestsByFileName.entrySet()) {
+            if (AffectedFilesStore.isValidEntry(file.getKey(), file.getValue())) {
+                manifest.put(file.getKey(), file.getValue());
+            }
+            else {
+                log.logError("- '%s', invalid digest '%s'", file.getKey(), file.getValue());
+            }
+        }
+        try {
+            Set<String> missing = AffectedFilesStore.writeManifest(run, id, manifest);
+
+            Map<String, String> filesByDigest = new LinkedHashMap<>();
+            for (Entry<String, String> file : manifest.entrySet()) {
+                if (missing.contains(file.getValue())) {
+                    filesByDigest.putIfAbsent(file.getValue(), file.getKey());
+                }
+            }
+            Path storeFolder = AffectedFilesStore.getStoreFolder(run.getParent());
+            Set<String> transferred = transfer(storeFolder, workspace, filesByDigest, compress, report, log);
+
+            missing.removeAll(transferred);
+            if (!missing.isEmpty()) {
+                manifest.values().removeAll(missing);
+                AffectedFilesStore.writeManifest(run, id, manifest);
+            }
+            report.logInfo("-> %d files have been transferred, %d unchanged files are already stored in the job",
+                    transferred.size(), manifest.size() - transferred.size());
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't write manifest of affected files of build '%s'", run);
+        }
+
+        log.logSummary();
+    }
+
+    private Set<String> transfer(final Path storeFolder, final FilePath workspace,
+            final Map<String, String> filesByDigest, final boolean compress, final Report report,
+            final FilteredLog log) throws InterruptedException {
+        Set<String> transferred = new HashSet<>();
+        if (filesByDigest.isEmpty()) {
+            return transferred;
+        }
+
+        Path incomingFolder;
+        try {
+            incomingFolder = AffectedFilesStore.createIncomingFolder(storeFolder);
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't create temporary folder in '%s'", storeFolder);
+            return transferred;
+        }
+
+        try {
+            for (String digest : copy(new FilePath(incomingFolder.toFile()), workspace, filesByDigest, report, log)) {
+                Path file = incomingFolder.resolve(digest);
+                if (AffectedFilesStore.computeDigest(file.toString()).filter(digest::equals).isPresent()) {
                     try {
-                        copy(affectedFilesFolder, file);
-                        copied++;
+                        AffectedFilesStore.add(storeFolder, file, digest, compress);
+                        transferred.add(digest);
                     }
                     catch (IOException exception) {
-                        log.logError("- '%s', IO exception has been thrown: %s", file, exception);
+                        log.logError("- '%s', IO exception has been thrown: %s", filesByDigest.get(digest), exception);
                     }
                 }
                 else {
-                    notInWorkspace++;
+                    log.logError("- '%s', file has been modified during the transfer", filesByDigest.get(digest));
                 }
             }
-            else {
-                notFound++;
-            }
+            return transferred;
+        }
+        finally {
+            deleteTemporaryFolder(incomingFolder, report);
+        }
+    }
+
+    private void deleteTemporaryFolder(final Path folder, final Report report) throws InterruptedException {
+        try {
+            new FilePath(folder.toFile()).deleteRecursive();
         }
+        catch (IOException exception) {
+            report.logException(exception, "Can't delete temporary folder '%s'", folder);
+        }
+    }
 
-        report.logInfo("-> %d copied, %d not in workspace, %d not-found, %d with I/O error",
-                copied, notInWorkspace, notFound, log.size());
-        log.logSummary();
+    private FilteredLog createLog(final Report report) {
+        return new FilteredLog(report, 
+                "Can't copy some affected workspace files to Jenkins build folder:");
     }
 
-    private void copy(final FilePath affectedFilesFolder, final String file) throws IOException, InterruptedException {
-        FilePath remoteBuildFolderCopy = affectedFilesFolder.child(getTempName(file));
-        FilePath localSourceFile = new FilePath(Paths.get(file).toFile());
-        localSourceFile.copyTo(remoteBuildFolderCopy);
+    private Set<String> copy(final FilePath targetFolder, final FilePath workspace,
+            final Map<String, String> filesToCopy, final Report report, final FilteredLog log)
+            throws InterruptedException {
+        if (filesToCopy.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        try {
+            workspace.copyRecursiveTo(new AffectedFilesScanner(filesToCopy), targetFolder, "affected files");
+            return new HashSet<>(filesToCopy.keySet());
+        }
+        catch (IOException exception) {
+            report.logInfo("-> bulk transfer of affected files failed (%s), copying files one by one", exception);
+        }
+
+        Set<String> copied = new HashSet<>();
+        for (Entry<String, String> file : filesToCopy.entrySet()) {
+            try {
+                workspace.child(file.getValue()).copyTo(targetFolder.child(file.getKey()));
+                copied.add(file.getKey());
+            }
+            catch (IOException exception) {
+                log.logError("- '%s', IO exception has been thrown: %s", file.getValue(), exception);
+            }
+        }
+        return copied;
     }
 
     /**
@@ -142,7 +284,7 @@ public class AffectedFilesResolver {
      *
      * @return {@code true} if the file is in the workspace, {@code false} otherwise
      */
-    private boolean isInWorkspace(final String fileName, final File workspace) {
+    private static boolean isInWorkspace(final String fileName, final File workspace) {
         try {
             Path workspaceDirectory = workspace.toPath().toRealPath().normalize();
             Path sourceFile = Paths.get(fileName).toRealPath();
@@ -154,7 +296,7 @@ public class AffectedFilesResolver {
         }
     }
 
-    private boolean exists(final String file) {
+    private static boolean exists(final String file) {
         try {
             return Files.exists(Paths.get(file));
         }
@@ -164,11 +306,83 @@ public class AffectedFilesResolver {
     }
 
     /**
-     * Returns a file name for a temporary file that will hold the contents of the source.
+     * Returns the name of the copy of an affected file in the build folder. Builds that have been recorded before the
+     * {@link AffectedFilesStore} existed copied the files using this name. It is used to read these copies only, since
+     * different files might share the same name.
      *
-     * @return the temporary name
+     * @param fileName
+     *         the file name of the affected file
+     *
+     * @return the name of the copy
      */
-    private static String getTempName(final String fileName) {
+    private static String getLegacyFileName(final String fileName) {
         return Integer.toHexString(fileName.hashCode()) + ".tmp";
     }
+
+    /**
+     * Classifies the affected files of a report: only readable files in the workspace will be copied.
+     */
+    private static class AffectedFiles {
+        private final List<String> readableFiles = new ArrayList<>();
+        private final Report report;
+        private final FilteredLog log;
+        private int notFound;
+        private int notInWorkspace;
+
+        AffectedFiles(final Report report, final File workspace, final FilteredLog log) {
+            this.report = report;
+            this.log = log;
+
+            Set<String> files = report.getFiles();
+            files.remove("-");
+            for (String file : files) {
+                if (exists(file)) {
+                    if (isInWorkspace(file, workspace)) {
+                        if (Files.isReadable(Paths.get(file))) {
+                            readableFiles.add(file);
+                        }
+                        else {
+                            log.logError("- '%s', file is not readable", file);
+                        }
+                    }
+                    else {
+                        notInWorkspace++;
+                    }
+                }
+                else {
+                    notFound++;
+                }
+            }
+        }
+
+        void logSummary(final int count, final String label) {
+            report.logInfo("-> %d %s, %d not in workspace, %d not-found, %d with I/O error",
+                    count, label, notInWorkspace, notFound, log.size());
+            log.logSummary();
+        }
+    }
+
+    /**
+     * Visits the affected files using the names of the copies in the target folder as relative paths. So the files are
+     * stored under these names when the archive is unpacked in the target folder. The scanner is executed on the agent,
+     * so the files are referenced by their absolute file names on the agent.
+     */
+    private static class AffectedFilesScanner extends DirScanner {
+        private static final long serialVersionUID = 5727290584467651484L;
+
+        private final Map<String, String> filesToCopy;
+
+        AffectedFilesScanner(final Map<String, String> filesToCopy) {
+            super();
+
+            this.filesToCopy = new LinkedHashMap<>(filesToCopy);
+        }
+
+        @Override
+        public void scan(final File dir, final FileVisitor visitor) throws IOException {
+            for (Entry<String, String> file : filesToCopy.entrySet()) {
+                visitor.visit(new File(file.getValue()), file.getKey());
+            }
+        }
+    }
 }
@@ -0,0 +1,547 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Content addressable store of the affected files of all builds of a job. Each affected file is stored only once in
+ * the folder of the job, using the SHA-256 digest of its content as file name. So files that did not change between
+ * builds are neither copied nor stored again.
+ * <p>
+ * Each build stores a manifest for each static analysis tool in its folder of affected files. A manifest maps the file
+ * names of the issues to the digests of the stored files. The number of manifests that reference a stored file is
+ * tracked in a reference count file: the references are taken when a manifest is written, before the files are
+ * transferred, and a {@link RunListener} releases them when the build is deleted. Stored files that are not referenced
+ * anymore are deleted. Files that have been transferred for builds that have been deleted in the meantime are removed
+ * an hour later.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class AffectedFilesStore {
+    /** Sub folder of the job folder that contains the stored affected files. */
+    public static final String STORE_FOLDER_NAME = "affected-files";
+    /** Suffix of the manifests in the folder of affected files of a build. */
+    public static final String MANIFEST_SUFFIX = ".manifest";
+
+    private static final Logger LOGGER = Logger.getLogger(AffectedFilesStore.class.getName());
+    private static final String REFERENCES_FILE_NAME = "references.txt";
+    private static final String INCOMING_PREFIX = ".incoming-";
+    /** Files without references that have been modified recently might still be transferred by a running build. */
+    private static final long MINIMUM_AGE = TimeUnit.HOURS.toMillis(1);
+    private static final Pattern STORED_FILE_NAME = Pattern.compile("([0-9a-f]{64})(\\.gz)?");
+    private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int DIGEST_LENGTH = 64;
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Map<Run<?, ?>, Map<String, String>> MANIFESTS = new WeakHashMap<>();
+    private static final Map<Job<?, ?>, Object> LOCKS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private AffectedFilesStore() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the folder that contains the stored affected files of the specified job.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the folder of the store
+     */
+    public static Path getStoreFolder(final Job<?, ?> job) {
+        return job.getRootDir().toPath().resolve(STORE_FOLDER_NAME);
+    }
+
+    /**
+     * Returns the stored copy of the specified affected file of a build. The file is resolved using the manifests of
+     * the build.
+     *
+     * @param run
+     *         the build
+     * @param fileName
+     *         the file name of the affected file
+     *
+     * @return the stored file, or an empty result if the file is not part of a manifest of the build
+     */
+    static Optional<Path> getStoredFile(final Run<?, ?> run, final String fileName) {
+        String digest = getManifest(run).get(fileName);
+        if (digest == null) {
+            return Optional.empty();
+        }
+        return Optional.of(resolve(getStoreFolder(run.getParent()), digest));
+    }
+
+    /**
+     * Returns whether the specified text is a valid digest of a stored file. The digests are computed on the agent, so
+     * they need to be validated before they are used as file names on the master.
+     *
+     * @param digest
+     *         the digest to check
+     *
+     * @return {@code true} if the digest is valid, {@code false} otherwise
+     */
+    static boolean isValidDigest(final String digest) {
+        return digest != null && DIGEST.matcher(digest).matches();
+    }
+
+    /**
+     * Resolves the specified stored file in the store. Ensures that the file is part of the store folder.
+     *
+     * @param storeFolder
+     *         the folder of the store
+     * @param fileName
+     *         the name of the stored file, i.e. the digest of the file with an optional suffix
+     *
+     * @return the stored file
+     * @throws IllegalArgumentException
+     *         if the resolved file is not part of the store folder
+     */
+    private static Path resolve(final Path storeFolder, final String fileName) {
+        Path folder = storeFolder.normalize();
+        Path file = folder.resolve(fileName).normalize();
+        if (!file.startsWith(folder) || file.equals(folder)) {
+            throw new IllegalArgumentException(
+                    String.format("Stored file '%s' is not part of the store '%s'", fileName, storeFolder));
+        }
+        return file;
+    }
+
+    private static Map<String, String> getManifest(final Run<?, ?> run) {
+        synchronized (MANIFESTS) {
+            Map<String, String> manifest = MANIFESTS.get(run);
+            if (manifest != null) {
+                return manifest;
+            }
+        }
+
+        Map<String, String> manifest = readManifests(getAffectedFilesFolder(run));
+        if (!run.isBuilding()) { // manifests of running builds might still change
+            synchronized (MANIFESTS) {
+                MANIFESTS.put(run, manifest);
+            }
+        }
+        return manifest;
+    }
+
+    private static Path getAffectedFilesFolder(final Run<?, ?> run) {
+        return run.getRootDir().toPath().resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME);
+    }
+
+    /**
+     * Reads all manifests in the specified folder of affected files of a build.
+     *
+     * @param affectedFilesFolder
+     *         the folder of affected files of a build
+     *
+     * @return the digests of the stored files, mapped by file name
+     */
+    @VisibleForTesting
+    static Map<String, String> readManifests(final Path affectedFilesFolder) {
+        if (!Files.isDirectory(affectedFilesFolder)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> digestsByFileName = new HashMap<>();
+        for (Map<String, String> manifest : readEachManifest(affectedFilesFolder)) {
+            digestsByFileName.putAll(manifest);
+        }
+        return digestsByFileName;
+    }
+
+    private static List<Map<String, String>> readEachManifest(final Path affectedFilesFolder) {
+        List<Map<String, String>> digests = new ArrayList<>();
+        if (!Files.isDirectory(affectedFilesFolder)) {
+            return digests;
+        }
+
+        try (DirectoryStream<Path> manifests = Files.newDirectoryStream(affectedFilesFolder, "*" + MANIFEST_SUFFIX)) {
+            for (Path manifest : manifests) {
+                digests.add(parseManifest(Files.readAllLines(manifest, StandardCharsets.UTF_8)));
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to read manifests of affected files in " + affectedFilesFolder,
+                    exception);
+        }
+        return digests;
+    }
+
+    /**
+     * Creates the content of a manifest: each line contains the digest of a stored file followed by the file name.
+     *
+     * @param digestsByFileName
+     *         the digests of the stored files, mapped by file name
+     *
+     * @return the content of the manifest
+     */
+    private static String createManifest(final Map<String, String> digestsByFileName) {
+        StringBuilder manifest = new StringBuilder();
+        for (Entry<String, String> entry : new TreeMap<>(digestsByFileName).entrySet()) {
+            manifest.append(entry.getValue()).append(' ').append(entry.getKey()).append('\n');
+        }
+        return manifest.toString();
+    }
+
+    private static Map<String, String> parseManifest(final List<String> lines) {
+        Map<String, String> digestsByFileName = new HashMap<>();
+        for (String line : lines) {
+            if (line.length() > DIGEST_LENGTH + 1 && isValidDigest(line.substring(0, DIGEST_LENGTH))) {
+                digestsByFileName.put(line.substring(DIGEST_LENGTH + 1), line.substring(0, DIGEST_LENGTH));
+            }
+        }
+        return digestsByFileName;
+    }
+
+    /**
+     * Computes the digest of the content of the specified file. The digest is the name of the file in the store.
+     *
+     * @param fileName
+     *         the file
+     *
+     * @return the digest, or an empty result if the file could not be read
+     */
+    public static Optional<String> computeDigest(final String fileName) {
+        try (InputStream stream = Files.newInputStream(Paths.get(fileName))) {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            byte[] bytes = digest.digest();
+            char[] hex = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+            }
+            return Optional.of(new String(hex));
+        }
+        catch (IOException | InvalidPathException | NoSuchAlgorithmException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the manifest of a static analysis tool to the folder of affected files of the specified build. The
+     * references of the stored files are taken before the manifest is written, so these files will not be deleted while
+     * they are transferred. The references of a previously written manifest with the same ID are released afterwards.
+     *
+     * @param run
+     *         the build
+     * @param id
+     *         the ID of the static analysis result, used as name of the manifest
+     * @param digestsByFileName
+     *         the digests of the stored files, mapped by file name
+     *
+     * @return the digests of the manifest that are not yet part of the store and need to be transferred
+     * @throws IOException
+     *         if the manifest could not be written
+     * @throws IllegalArgumentException
+     *         if the manifest contains an invalid digest or a file name with a line break
+     */
+    static Set<String> writeManifest(final Run<?, ?> run, final String id, final Map<String, String> digestsByFileName)
+            throws IOException {
+        for (Entry<String, String> entry : digestsByFileName.entrySet()) {
+            if (!isValidEntry(entry.getKey(), entry.getValue())) {
+                throw new IllegalArgumentException(String.format("Invalid manifest entry '%s' for file '%s'",
+                        entry.getValue(), entry.getKey()));
+            }
+        }
+
+        Path manifest = getAffectedFilesFolder(run).resolve(id + MANIFEST_SUFFIX);
+        Set<String> digests = new HashSet<>(digestsByFileName.values());
+
+        Job<?, ?> job = run.getParent();
+        Path storeFolder = getStoreFolder(job);
+        Set<String> missing = new HashSet<>();
+        synchronized (getLock(job)) {
+            Map<String, Integer> references = readReferences(storeFolder);
+            Set<String> previous = new HashSet<>();
+            if (Files.exists(manifest)) {
+                previous.addAll(parseManifest(Files.readAllLines(manifest, StandardCharsets.UTF_8)).values());
+            }
+
+            updateReferences(storeFolder, references, digests, 1);
+            writeReferences(storeFolder, references);
+            try {
+                Files.createDirectories(manifest.getParent());
+                Files.write(manifest, createManifest(digestsByFileName).getBytes(StandardCharsets.UTF_8));
+            }
+            catch (IOException exception) {
+                updateReferences(storeFolder, references, digests, -1);
+                writeReferences(storeFolder, references);
+
+                throw exception;
+            }
+            updateReferences(storeFolder, references, previous, -1);
+            writeReferences(storeFolder, references);
+
+            for (String digest : digests) {
+                if (!isStored(storeFolder, digest)) {
+                    missing.add(digest);
+                }
+            }
+        }
+
+        synchronized (MANIFESTS) {
+            MANIFESTS.remove(run);
+        }
+        return missing;
+    }
+
+    /**
+     * Returns whether the specified file name and digest can be stored in a manifest.
+     *
+     * @param fileName
+     *         the file name of the affected file
+     * @param digest
+     *         the digest of the content of the file
+     *
+     * @return {@code true} if the entry is valid, {@code false} otherwise
+     */
+    static boolean isValidEntry(final String fileName, final String digest) {
+        return isValidDigest(digest) && fileName != null && fileName.indexOf('\n') < 0 && fileName.indexOf('\r') < 0;
+    }
+
+    private static boolean isStored(final Path storeFolder, final String digest) {
+        return Files.exists(resolve(storeFolder, digest))
+                || Files.exists(resolve(storeFolder, digest + AffectedFilesCompressor.COMPRESSED_SUFFIX));
+    }
+
+    /**
+     * Creates a temporary folder in the specified store that receives the transferred files. The transferred files are
+     * moved to the store with {@link #add(Path, Path, String, boolean)} afterwards.
+     *
+     * @param storeFolder
+     *         the folder of the store
+     *
+     * @return the temporary folder
+     * @throws IOException
+     *         if the folder could not be created
+     */
+    static Path createIncomingFolder(final Path storeFolder) throws IOException {
+        Files.createDirectories(storeFolder);
+        return Files.createTempDirectory(storeFolder, INCOMING_PREFIX);
+    }
+
+    /**
+     * Moves a transferred file to the specified store. The file replaces a stored file with the same digest that has
+     * been transferred concurrently by another build. If compression is enabled, then the file will be stored
+     * compressed.
+     *
+     * @param storeFolder
+     *         the folder of the store
+     * @param file
+     *         the transferred file in the incoming folder of the store
+     * @param digest
+     *         the digest of the content of the file
+     * @param compress
+     *         determines whether the file should be stored compressed
+     *
+     * @throws IOException
+     *         if the file could not be stored
+     * @throws IllegalArgumentException
+     *         if the digest is invalid
+     */
+    static void add(final Path storeFolder, final Path file, final String digest, final boolean compress)
+            throws IOException {
+        if (!isValidDigest(digest)) {
+            throw new IllegalArgumentException(String.format("Invalid digest '%s' of file '%s'", digest, file));
+        }
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis())); // see deleteOrphans
+        if (compress) {
+            AffectedFilesCompressor.compress(file,
+                    resolve(storeFolder, digest + AffectedFilesCompressor.COMPRESSED_SUFFIX));
+        }
+        else {
+            Files.move(file, resolve(storeFolder, digest),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Releases the references of all stored files that are referenced by the manifests of the specified deleted build.
+     * Stored files that are not referenced anymore will be deleted.
+     *
+     * @param run
+     *         the deleted build
+     */
+    static void unregister(final Run<?, ?> run) {
+        Job<?, ?> job = run.getParent();
+        Path storeFolder = getStoreFolder(job);
+        if (Files.isDirectory(storeFolder)) {
+            List<Map<String, String>> manifests = readEachManifest(getAffectedFilesFolder(run));
+            synchronized (getLock(job)) {
+                Map<String, Integer> references = readReferences(storeFolder);
+                for (Map<String, String> manifest : manifests) {
+                    updateReferences(storeFolder, references, new HashSet<>(manifest.values()), -1);
+                }
+                writeReferences(storeFolder, references);
+                deleteOrphans(storeFolder, references);
+            }
+        }
+
+        synchronized (MANIFESTS) {
+            MANIFESTS.remove(run);
+        }
+    }
+
+    /**
+     * Returns the lock that guards the store of the specified job. All modifications of the stored files and of the
+     * reference counts need to hold this lock.
+     *
+     * @param job
+     *         the job
+     *
+     * @return the lock of the store
+     */
+    static Object getLock(final Job<?, ?> job) {
+        return LOCKS.computeIfAbsent(job, key -> new Object());
+    }
+
+    private static void updateReferences(final Path storeFolder, final Map<String, Integer> references,
+            final Set<String> digests, final int delta) {
+        for (String digest : digests) {
+            if (!isValidDigest(digest)) {
+                LOGGER.log(Level.WARNING, "Skipping invalid digest of stored affected file: {0}", digest);
+                continue;
+            }
+            int count = references.getOrDefault(digest, 0) + delta;
+            if (count > 0) {
+                references.put(digest, count);
+            }
+            else {
+                references.remove(digest);
+                delete(resolve(storeFolder, digest));
+                delete(resolve(storeFolder, digest + AffectedFilesCompressor.COMPRESSED_SUFFIX));
+            }
+        }
+    }
+
+    /**
+     * Deletes the stored files that are not referenced by any manifest. These files have been transferred for builds
+     * that have been deleted before the transfer has been finished. Incoming folders of transfers that have been
+     * interrupted are deleted as well.
+     */
+    private static void deleteOrphans(final Path storeFolder, final Map<String, Integer> references) {
+        long threshold = System.currentTimeMillis() - MINIMUM_AGE;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storeFolder)) {
+            for (Path file : files) {
+                if (isOrphan(file.getFileName().toString(), references)
+                        && Files.getLastModifiedTime(file).toMillis() < threshold) {
+                    if (Files.isDirectory(file)) {
+                        FileUtils.deleteQuietly(file.toFile());
+                    }
+                    else {
+                        delete(file);
+                    }
+                }
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to delete orphaned affected files in " + storeFolder, exception);
+        }
+    }
+
+    private static boolean isOrphan(final String fileName, final Map<String, Integer> references) {
+        if (fileName.startsWith(INCOMING_PREFIX)) {
+            return true;
+        }
+        Matcher matcher = STORED_FILE_NAME.matcher(fileName);
+        return matcher.matches() && !references.containsKey(matcher.group(1));
+    }
+
+    private static void delete(final Path storedFile) {
+        try {
+            Files.deleteIfExists(storedFile);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to delete stored affected file " + storedFile, exception);
+        }
+    }
+
+    @VisibleForTesting
+    static Map<String, Integer> readReferences(final Path storeFolder) {
+        Map<String, Integer> references = new HashMap<>();
+        Path file = storeFolder.resolve(REFERENCES_FILE_NAME);
+        if (Files.exists(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int separator = line.indexOf(' ');
+                    if (separator > 0) {
+                        references.put(line.substring(0, separator), Integer.valueOf(line.substring(separator + 1)));
+                    }
+                }
+            }
+            catch (IOException | NumberFormatException exception) {
+                LOGGER.log(Level.WARNING, "Failed to read reference counts of affected files " + file, exception);
+            }
+        }
+        return references;
+    }
+
+    private static void writeReferences(final Path storeFolder, final Map<String, Integer> references) {
+        Path file = storeFolder.resolve(REFERENCES_FILE_NAME);
+        try {
+            List<String> lines = new ArrayList<>(references.size());
+            for (Entry<String, Integer> entry : references.entrySet()) {
+                lines.add(entry.getKey() + " " + entry.getValue());
+            }
+            Files.createDirectories(storeFolder);
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to write reference counts of affected files " + file, exception);
+        }
+    }
+
+    /**
+     * Releases the references of a deleted build to the files of the {@link AffectedFilesStore} of its job.
+     */
+    @Extension
+    @SuppressWarnings("unused") // Picked up by Jenkins Extension Scanner
+    public static class ReferenceUpdater extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            unregister(run);
+        }
+    }
+}
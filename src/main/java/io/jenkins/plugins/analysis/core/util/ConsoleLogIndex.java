@@ -0,0 +1,359 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.errorprone.annotations.MustBeClosed;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.console.ConsoleNote;
+import hudson.model.Run;
+
+/**
+ * Index of the byte offsets of the lines of a console log. The index is recorded while the console log is parsed for
+ * issues and stored in the build folder. The index contains the offset of every {@link #INTERVAL}th line, so the lines
+ * around an issue can be read by seeking to the nearest indexed line rather than reading the whole console log.
+ * <p>
+ * Lines are separated in the same way as in {@link BufferedReader#readLine()}: by a line feed, a carriage return, or a
+ * carriage return followed by a line feed. Only console logs with a charset that encodes these characters using a
+ * single byte are indexed.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ConsoleLogIndex {
+    /** Name of the file in the build folder that contains the index. */
+    public static final String FILE_NAME = "console-log.index";
+    /** Number of lines between two indexed lines. */
+    static final int INTERVAL = 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(ConsoleLogIndex.class.getName());
+    private static final int MAGIC = 0x434C4931; // CLI1
+    private static final int BUFFER_SIZE = 8192;
+    private static final String COMPRESSED_LOG_SUFFIX = ".gz";
+
+    private final long[] offsets;
+    private final int lineCount;
+    private final long length;
+
+    @VisibleForTesting
+    ConsoleLogIndex(final long[] offsets, final int lineCount, final long length) {
+        this.offsets = offsets;
+        this.lineCount = lineCount;
+        this.length = length;
+    }
+
+    /**
+     * Returns the number of lines that have been indexed.
+     *
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the number of bytes that have been indexed.
+     *
+     * @return the number of bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether the specified charset encodes line feeds and carriage returns using a single byte. Only console
+     * logs with such a charset can be indexed.
+     *
+     * @param charset
+     *         the charset of the console log
+     *
+     * @return {@code true} if the console log can be indexed, {@code false} otherwise
+     */
+    static boolean canIndex(final Charset charset) {
+        return Arrays.equals("\r\n".getBytes(charset), new byte[] {'\r', '\n'});
+    }
+
+    /**
+     * Reads the specified range of lines of the console log of the specified build. The lines are read using the
+     * stored index of the console log, console notes are removed.
+     *
+     * @param build
+     *         the build to get the console log for
+     * @param firstLine
+     *         the first line to read (1-based)
+     * @param lastLine
+     *         the last line to read (inclusive)
+     *
+     * @return the lines, or an empty result if there is no valid index for the console log
+     */
+    static Optional<Stream<String>> readLines(final Run<?, ?> build, final int firstLine, final int lastLine) {
+        Path logFile = build.getLogFile().toPath();
+        if (logFile.getFileName().toString().endsWith(COMPRESSED_LOG_SUFFIX) || !canIndex(build.getCharset())) {
+            return Optional.empty(); // compressed logs can't be accessed randomly
+        }
+
+        Path indexFile = build.getRootDir().toPath().resolve(FILE_NAME);
+        try {
+            Optional<ConsoleLogIndex> index = load(indexFile);
+            if (index.isPresent() && index.get().getLength() <= Files.size(logFile)) {
+                return Optional.of(index.get().readLines(logFile, build.getCharset(), firstLine, lastLine));
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to read console log using the index " + indexFile, exception);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the specified range of lines of the specified console log. Console notes are removed.
+     *
+     * @param logFile
+     *         the console log
+     * @param charset
+     *         the charset of the console log
+     * @param firstLine
+     *         the first line to read (1-based)
+     * @param lastLine
+     *         the last line to read (inclusive)
+     *
+     * @return the lines
+     * @throws IOException
+     *         if the console log could not be read
+     */
+    @VisibleForTesting
+    @MustBeClosed
+    Stream<String> readLines(final Path logFile, final Charset charset, final int firstLine, final int lastLine)
+            throws IOException {
+        int line = Math.max(firstLine, 1);
+        int entry = Math.min((line - 1) / INTERVAL, offsets.length - 1);
+
+        FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ);
+        try {
+            channel.position(offsets[entry]);
+            BufferedInputStream stream = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            skipLines(stream, line - 1 - entry * INTERVAL);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, charset));
+            return reader.lines()
+                    .limit(Math.max(lastLine - line + 1, 0))
+                    .map(ConsoleNote::removeNotes)
+                    .onClose(() -> close(reader));
+        }
+        catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private static void close(final BufferedReader reader) {
+        try {
+            reader.close();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void skipLines(final BufferedInputStream stream, final int lines) throws IOException {
+        int skipped = 0;
+        while (skipped < lines) {
+            int b = stream.read();
+            if (b < 0) {
+                return;
+            }
+            if (b == '\n') {
+                skipped++;
+            }
+            else if (b == '\r') {
+                skipped++;
+                stream.mark(1);
+                if (stream.read() != '\n') {
+                    stream.reset();
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the index from the specified file.
+     *
+     * @param indexFile
+     *         the file that contains the index
+     *
+     * @return the index, or an empty result if the file does not exist
+     * @throws IOException
+     *         if the index could not be read
+     */
+    static Optional<ConsoleLogIndex> load(final Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return Optional.empty();
+        }
+        try (InputStream stream = Files.newInputStream(indexFile)) {
+            return Optional.of(read(stream));
+        }
+    }
+
+    /**
+     * Saves the index to the specified file. The index is written to a unique temporary file in the same folder first
+     * that replaces the file afterwards, so concurrent writers and readers never see a partially written index.
+     *
+     * @param indexFile
+     *         the file that will contain the index
+     *
+     * @throws IOException
+     *         if the index could not be written
+     */
+    public void save(final Path indexFile) throws IOException {
+        Path temporary = Files.createTempFile(indexFile.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporary)) {
+                write(stream);
+            }
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @VisibleForTesting
+    static ConsoleLogIndex read(final InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream, BUFFER_SIZE)));
+        if (input.readInt() != MAGIC || input.readInt() != INTERVAL) {
+            throw new IOException("Unsupported format of console log index");
+        }
+        int lineCount = input.readInt();
+        long length = input.readLong();
+        long[] offsets = new long[input.readInt()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = input.readLong();
+        }
+        return new ConsoleLogIndex(offsets, lineCount, length);
+    }
+
+    @VisibleForTesting
+    void write(final OutputStream stream) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(stream, BUFFER_SIZE);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(compressed, BUFFER_SIZE));
+        output.writeInt(MAGIC);
+        output.writeInt(INTERVAL);
+        output.writeInt(lineCount);
+        output.writeLong(length);
+        output.writeInt(offsets.length);
+        for (long offset : offsets) {
+            output.writeLong(offset);
+        }
+        output.flush();
+        compressed.finish();
+    }
+
+    /**
+     * Records the offsets of the lines of a console log while the log is read by a parser. The recorder does not
+     * change the content of the console log.
+     */
+    static class Recorder extends FilterInputStream {
+        private long[] offsets = new long[16];
+        private int entries = 1; // the first line starts at offset 0
+        private int lineCount;
+        private long position;
+        private boolean isLineTerminated = true;
+        private int previous = -1;
+
+        /**
+         * Creates a new {@link Recorder} for the specified console log.
+         *
+         * @param consoleLog
+         *         the console log to read
+         */
+        Recorder(final InputStream consoleLog) {
+            super(consoleLog);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                record(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            for (int i = 0; i < count; i++) {
+                record(buffer[offset + i] & 0xFF);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int count = read(buffer, 0, buffer.length); // skipped bytes need to be recorded as well
+            return Math.max(count, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void record(final int b) {
+            if (isLineTerminated && !(b == '\n' && previous == '\r')) {
+                startLine();
+            }
+            if (b == '\n' || b == '\r') {
+                isLineTerminated = true;
+            }
+            previous = b;
+            position++;
+        }
+
+        private void startLine() {
+            lineCount++;
+            isLineTerminated = false;
+            if (lineCount > 1 && (lineCount - 1) % INTERVAL == 0) {
+                if (entries == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, entries * 2);
+                }
+                offsets[entries++] = position;
+            }
+        }
+
+        /**
+         * Returns the index of all lines that have been read so far.
+         *
+         * @return the index
+         */
+        ConsoleLogIndex getIndex() {
+            return new ConsoleLogIndex(Arrays.copyOf(offsets, entries), lineCount, position);
+        }
+    }
+}
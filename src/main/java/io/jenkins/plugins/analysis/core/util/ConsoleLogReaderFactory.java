@@ -1,23 +1,29 @@
 package io.jenkins.plugins.analysis.core.util;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Optional;
 
 import com.google.errorprone.annotations.MustBeClosed;
 
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 import hudson.console.ConsoleNote;
 import hudson.model.Run;
 
 /**
- * Provides a reader factory for Jenkins' console log.
+ * Provides a reader factory for Jenkins' console log. While the console log is read for the first time, the offsets of
+ * its lines are recorded in a {@link ConsoleLogIndex}.
  *
  * @author Ullrich Hafner
  */
 public class ConsoleLogReaderFactory extends ReaderFactory {
     private final Run<?, ?> run;
+    @Nullable
+    private ConsoleLogIndex.Recorder recorder;
 
     /**
      * Creates a new {@link ConsoleLogReaderFactory}.
@@ -50,10 +56,26 @@ public class ConsoleLogReaderFactory extends ReaderFactory {
     @MustBeClosed
     public Reader create() {
         try {
+            if (recorder == null && ConsoleLogIndex.canIndex(run.getCharset())) {
+                recorder = new ConsoleLogIndex.Recorder(run.getLogInputStream());
+                return new InputStreamReader(recorder, run.getCharset());
+            }
             return run.getLogReader();
         }
         catch (IOException e) {
             throw new ParsingException(e);
         }
     }
+
+    /**
+     * Returns the index of the lines of the console log that have been read so far.
+     *
+     * @return the index, or an empty result if the console log has not been read yet or can't be indexed
+     */
+    public Optional<ConsoleLogIndex> getIndex() {
+        if (recorder == null) {
+            return Optional.empty();
+        }
+        return Optional.of(recorder.getIndex());
+    }
 }
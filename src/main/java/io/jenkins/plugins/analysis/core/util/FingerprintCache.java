@@ -0,0 +1,268 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.analysis.FingerprintGenerator;
+import edu.hm.hafner.analysis.FullTextFingerprint;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Caches the fingerprints of issues across builds. The fingerprint of an issue depends only on the content of the
+ * affected file and the position of the issue. So the fingerprints are stored using the digest of the file content and
+ * the line range of the issue as key. Fingerprints of issues in files that did not change since the last build will be
+ * reused, all other fingerprints will be computed using a {@link FingerprintGenerator}.
+ * <p>
+ * The cache contains only the fingerprints of the files that have been seen in the last build. It is stored as a
+ * compressed binary file in the temporary folder of the workspace on the agent, so it never needs to be transferred
+ * to the master.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class FingerprintCache {
+    private static final int MAGIC = 0x46504331; // FPC1
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String charset;
+    private Map<String, Map<Long, String>> fingerprintsByDigest;
+
+    /**
+     * Creates a new empty instance of {@link FingerprintCache}.
+     *
+     * @param charset
+     *         the charset that is used to read the affected files
+     */
+    public FingerprintCache(final Charset charset) {
+        this(charset.name(), new HashMap<>());
+    }
+
+    private FingerprintCache(final String charset, final Map<String, Map<Long, String>> fingerprintsByDigest) {
+        this.charset = charset;
+        this.fingerprintsByDigest = fingerprintsByDigest;
+    }
+
+    /**
+     * Loads the fingerprint cache from the specified file. If the file does not exist, could not be read, or has been
+     * created for a different charset, then an empty cache will be returned.
+     *
+     * @param cacheFile
+     *         the file that contains the cached fingerprints
+     * @param charset
+     *         the charset that is used to read the affected files
+     * @param report
+     *         the report to log errors to
+     *
+     * @return the cache
+     */
+    public static FingerprintCache load(final Path cacheFile, final Charset charset, final Report report) {
+        if (Files.exists(cacheFile)) {
+            try (InputStream stream = Files.newInputStream(cacheFile)) {
+                FingerprintCache cache = read(stream);
+                if (charset.name().equals(cache.charset)) {
+                    return cache;
+                }
+            }
+            catch (IOException exception) {
+                report.logException(exception, "Can't read fingerprint cache '%s'", cacheFile);
+            }
+        }
+        return new FingerprintCache(charset);
+    }
+
+    /**
+     * Saves the fingerprint cache to the specified file. The cache is written to a unique temporary file that replaces
+     * the cache file afterwards, so concurrent builds never write to the same file.
+     *
+     * @param cacheFile
+     *         the file that will contain the cached fingerprints
+     * @param report
+     *         the report to log errors to
+     */
+    public void save(final Path cacheFile, final Report report) {
+        try {
+            Path folder = Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path temporary = Files.createTempFile(folder, cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream stream = Files.newOutputStream(temporary)) {
+                    write(stream);
+                }
+                Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't write fingerprint cache '%s'", cacheFile);
+        }
+    }
+
+    /**
+     * Creates fingerprints for all issues of the specified report that do not have a fingerprint yet. Fingerprints of
+     * issues in unchanged files are taken from the cache, the remaining fingerprints are computed with the specified
+     * algorithm. Afterwards, the cache contains the fingerprints of all issues of the specified report.
+     *
+     * @param algorithm
+     *         fingerprint algorithm
+     * @param report
+     *         the issues to analyze
+     */
+    public void createFingerprints(final FullTextFingerprint algorithm, final Report report) {
+        Map<String, Optional<String>> digestsByFileName = new HashMap<>();
+        Map<String, Map<Long, String>> usedFingerprints = new HashMap<>();
+        Map<UUID, Issue> misses = new HashMap<>();
+        int hits = 0;
+
+        for (Issue issue : report) {
+            if (issue.hasFingerprint()) {
+                continue;
+            }
+            Optional<String> digest = digestsByFileName.computeIfAbsent(issue.getFileName(), this::computeDigest);
+            Optional<String> cached = digest.map(value -> getFingerprint(value, issue));
+            if (cached.isPresent()) {
+                issue.setFingerprint(cached.get());
+                store(usedFingerprints, digest.get(), issue);
+                hits++;
+            }
+            else {
+                misses.put(issue.getId(), issue);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Report missingFingerprints = report.filter(issue -> misses.containsKey(issue.getId()));
+            int infoPosition = missingFingerprints.getInfoMessages().size();
+            int errorPosition = missingFingerprints.getErrorMessages().size();
+
+            new FingerprintGenerator().run(algorithm, missingFingerprints, Charset.forName(charset));
+
+            for (Issue computed : missingFingerprints) {
+                Issue issue = misses.get(computed.getId());
+                issue.setFingerprint(computed.getFingerprint());
+                Optional<String> digest = digestsByFileName.get(issue.getFileName());
+                if (digest.isPresent()) {
+                    store(usedFingerprints, digest.get(), issue);
+                }
+            }
+            copyMessages(missingFingerprints, report, infoPosition, errorPosition);
+        }
+
+        report.logInfo("-> reused %d fingerprints from cache (hits), computed %d fingerprints (misses)",
+                hits, misses.size());
+
+        fingerprintsByDigest = usedFingerprints;
+    }
+
+    private void copyMessages(final Report source, final Report target, final int infoPosition,
+            final int errorPosition) {
+        for (int i = infoPosition; i < source.getInfoMessages().size(); i++) {
+            target.logInfo("%s", source.getInfoMessages().get(i));
+        }
+        for (int i = errorPosition; i < source.getErrorMessages().size(); i++) {
+            target.logError("%s", source.getErrorMessages().get(i));
+        }
+    }
+
+    @VisibleForTesting
+    int size() {
+        return fingerprintsByDigest.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private String getFingerprint(final String digest, final Issue issue) {
+        return fingerprintsByDigest.getOrDefault(digest, new HashMap<>()).get(toKey(issue));
+    }
+
+    private void store(final Map<String, Map<Long, String>> fingerprints, final String digest, final Issue issue) {
+        fingerprints.computeIfAbsent(digest, key -> new HashMap<>()).put(toKey(issue), issue.getFingerprint());
+    }
+
+    private static long toKey(final Issue issue) {
+        return (long) issue.getLineStart() << Integer.SIZE | issue.getLineEnd() & 0xFFFFFFFFL;
+    }
+
+    private Optional<String> computeDigest(final String fileName) {
+        try (InputStream stream = Files.newInputStream(Paths.get(fileName))) {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return Optional.of(asHex(digest.digest()));
+        }
+        catch (IOException | InvalidPathException | NoSuchAlgorithmException ignored) {
+            return Optional.empty(); // the fingerprint generator will create a fallback fingerprint
+        }
+    }
+
+    private static String asHex(final byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    @VisibleForTesting
+    static FingerprintCache read(final InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new GZIPInputStream(stream, BUFFER_SIZE));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Unsupported format of fingerprint cache");
+        }
+        String charset = input.readUTF();
+        int files = input.readInt();
+        Map<String, Map<Long, String>> fingerprints = new HashMap<>(files);
+        for (int file = 0; file < files; file++) {
+            String digest = input.readUTF();
+            int size = input.readInt();
+            Map<Long, String> fingerprintsOfFile = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                fingerprintsOfFile.put(input.readLong(), input.readUTF());
+            }
+            fingerprints.put(digest, fingerprintsOfFile);
+        }
+        return new FingerprintCache(charset, fingerprints);
+    }
+
+    @VisibleForTesting
+    void write(final OutputStream stream) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(stream, BUFFER_SIZE);
+        DataOutputStream output = new DataOutputStream(compressed);
+        output.writeInt(MAGIC);
+        output.writeUTF(charset);
+        output.writeInt(fingerprintsByDigest.size());
+        for (Map.Entry<String, Map<Long, String>> file : fingerprintsByDigest.entrySet()) {
+            output.writeUTF(file.getKey());
+            output.writeInt(file.getValue().size());
+            for (Map.Entry<Long, String> fingerprint : file.getValue().entrySet()) {
+                output.writeLong(fingerprint.getKey());
+                output.writeUTF(fingerprint.getValue());
+            }
+        }
+        output.flush();
+        compressed.finish();
+    }
+}
@@ -54,7 +54,31 @@ public class JenkinsFacade implements Serializable {
     }
 
     /**
-     * Returns the affected file with the specified file name.
+     * Returns the specified range of lines of the console log. If the console log has been indexed while it has been
+     * scanned for issues, then the lines are read directly at the position of the first line. Otherwise, all lines
+     * before the range need to be read. If the log cannot be read, then the exception message is returned as text.
+     *
+     * @param build
+     *         the build to get the console log for
+     * @param firstLine
+     *         the first line to read (1-based)
+     * @param lastLine
+     *         the last line to read (inclusive)
+     *
+     * @return the lines of the selected range of the console log
+     * @see ConsoleLogIndex
+     */
+    @MustBeClosed
+    public Stream<String> readConsoleLog(final Run<?, ?> build, final int firstLine, final int lastLine) {
+        Optional<Stream<String>> lines = ConsoleLogIndex.readLines(build, firstLine, lastLine);
+        if (lines.isPresent()) {
+            return lines.get();
+        }
+        return readConsoleLog(build).skip(Math.max(firstLine - 1, 0)).limit(Math.max(lastLine - firstLine + 1, 0));
+    }
+
+    /**
+     * Returns the affected file with the specified file name. Compressed files are decompressed on the fly.
      *
      * @param build
      *         the build to get the console log for
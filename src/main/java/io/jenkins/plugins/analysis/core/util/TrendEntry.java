@@ -0,0 +1,137 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * The number of issues of a static analysis run that are required to render a trend chart. In contrast to a
+ * {@link StaticAnalysisRun} an entry does not reference the associated build, so the entries of a job can be stored
+ * compactly in a single file and read without loading the builds.
+ *
+ * @author Ullrich Hafner
+ */
+public class TrendEntry {
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+    private final int buildNumber;
+    private final String displayName;
+    private final Map<Severity, Integer> totalSizePerSeverity;
+    private final Map<Severity, Integer> newSizePerSeverity;
+    private final int fixedSize;
+
+    /**
+     * Creates a new instance of {@link TrendEntry}.
+     *
+     * @param buildNumber
+     *         the number of the build
+     * @param displayName
+     *         the display name of the build
+     * @param totalSizes
+     *         the total number of issues for the severities error, high, normal, and low
+     * @param newSizes
+     *         the number of new issues for the severities error, high, normal, and low
+     * @param fixedSize
+     *         the number of fixed issues
+     */
+    public TrendEntry(final int buildNumber, final String displayName, final int[] totalSizes, final int[] newSizes,
+            final int fixedSize) {
+        this.buildNumber = buildNumber;
+        this.displayName = displayName;
+        this.fixedSize = fixedSize;
+        totalSizePerSeverity = new LinkedHashMap<>();
+        newSizePerSeverity = new LinkedHashMap<>();
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            totalSizePerSeverity.put(SEVERITIES[i], totalSizes[i]);
+            newSizePerSeverity.put(SEVERITIES[i], newSizes[i]);
+        }
+    }
+
+    /**
+     * Creates a new {@link TrendEntry} for the specified static analysis run.
+     *
+     * @param run
+     *         the static analysis run
+     *
+     * @return the trend entry
+     */
+    public static TrendEntry from(final StaticAnalysisRun run) {
+        int[] totalSizes = new int[SEVERITIES.length];
+        int[] newSizes = new int[SEVERITIES.length];
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            totalSizes[i] = run.getTotalSizeOf(SEVERITIES[i]);
+            newSizes[i] = run.getNewSizeOf(SEVERITIES[i]);
+        }
+        return new TrendEntry(run.getBuild().getNumber(), run.getBuild().getDisplayName(), totalSizes, newSizes,
+                run.getFixedSize());
+    }
+
+    public int getBuildNumber() {
+        return buildNumber;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the total number of issues that have the specified {@link Severity}.
+     *
+     * @param severity
+     *         the severity of the issues to match
+     *
+     * @return total number of issues
+     */
+    public int getTotalSizeOf(final Severity severity) {
+        return totalSizePerSeverity.getOrDefault(severity, 0);
+    }
+
+    /**
+     * Returns the number of new issues that have the specified {@link Severity}.
+     *
+     * @param severity
+     *         the severity of the issues to match
+     *
+     * @return number of new issues
+     */
+    public int getNewSizeOf(final Severity severity) {
+        return newSizePerSeverity.getOrDefault(severity, 0);
+    }
+
+    /**
+     * Returns the total number of issues for the severities error, high, normal, and low (in this order).
+     *
+     * @return the total number of issues per severity
+     */
+    public int[] getTotalSizes() {
+        return toArray(totalSizePerSeverity);
+    }
+
+    /**
+     * Returns the number of new issues for the severities error, high, normal, and low (in this order).
+     *
+     * @return the number of new issues per severity
+     */
+    public int[] getNewSizes() {
+        return toArray(newSizePerSeverity);
+    }
+
+    private int[] toArray(final Map<Severity, Integer> sizes) {
+        int[] values = new int[SEVERITIES.length];
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            values[i] = sizes.get(SEVERITIES[i]);
+        }
+        return values;
+    }
+
+    public int getFixedSize() {
+        return fixedSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s", displayName, totalSizePerSeverity);
+    }
+}
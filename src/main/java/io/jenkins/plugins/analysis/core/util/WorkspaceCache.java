@@ -0,0 +1,43 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.FilePath;
+import hudson.slaves.WorkspaceList;
+
+/**
+ * Provides the files that cache the results of the previous builds on the agent. The caches are stored in the
+ * temporary folder of the workspace, so they are shared by all builds that use the same workspace and are removed
+ * together with the workspace. The name of a cache file is composed of the ID of the static analysis tool and the
+ * purpose of the cache: {@code <id>-<purpose>.cache}. So each tool uses its own caches, and the tools do not evict the
+ * entries of each other.
+ *
+ * @author Ullrich Hafner
+ */
+public final class WorkspaceCache {
+    private static final String CACHE_SUFFIX = ".cache";
+
+    private WorkspaceCache() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the absolute path of the cache file for the specified tool and purpose.
+     *
+     * @param workspace
+     *         the workspace of the build
+     * @param id
+     *         the ID of the static analysis tool
+     * @param purpose
+     *         the purpose of the cache, e.g. {@code fingerprints}
+     *
+     * @return the absolute path of the cache file, or an empty string if the workspace has no temporary folder
+     */
+    public static String getFile(final FilePath workspace, final String id, final String purpose) {
+        FilePath temporaryFolder = WorkspaceList.tempDir(workspace);
+        if (temporaryFolder == null) {
+            return StringUtils.EMPTY;
+        }
+        return temporaryFolder.child(id + "-" + purpose + CACHE_SUFFIX).getRemote();
+    }
+}
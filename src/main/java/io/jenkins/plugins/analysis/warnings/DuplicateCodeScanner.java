@@ -2,6 +2,7 @@ package io.jenkins.plugins.analysis.warnings;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -23,6 +24,7 @@ import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 import io.jenkins.plugins.analysis.core.model.IconLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.AgeBuilder;
+import io.jenkins.plugins.analysis.core.util.LocalizedSeverity;
 import io.jenkins.plugins.analysis.core.util.Sanitizer;
 
 import static io.jenkins.plugins.analysis.warnings.DuplicateCodeScanner.DryLabelProvider.*;
@@ -316,6 +318,43 @@ public abstract class DuplicateCodeScanner extends ReportScanningTool {
             return headers;
         }
 
+        @Override
+        public List<Comparator<Issue>> getComparators(final Report report) {
+            List<Comparator<Issue>> comparators = new ArrayList<>();
+            comparators.add(null);
+            comparators.add(compareByFileName());
+            if (report.hasPackages()) {
+                comparators.add(compareBy(Issue::getPackageName));
+            }
+            comparators.add(compareBySeverity());
+            comparators.add(Comparator.comparingInt(issue -> issue.getLineEnd() - issue.getLineStart()));
+            comparators.add(null);
+            comparators.add(compareByAge());
+            return comparators;
+        }
+
+        @Override
+        public String getSearchText(final Report report, final Issue issue) {
+            return toSearchText(issue.getMessage(), issue.getFileName(), issue.getPackageName(),
+                    LocalizedSeverity.getLocalizedString(issue.getSeverity()),
+                    String.valueOf(issue.getLineEnd() - issue.getLineStart() + 1),
+                    getTargetFileNames(issue));
+        }
+
+        private String getTargetFileNames(final Issue issue) {
+            Serializable properties = issue.getAdditionalProperties();
+            if (properties instanceof DuplicationGroup) {
+                List<String> fileNames = new ArrayList<>();
+                for (Issue duplication : ((DuplicationGroup) properties).getDuplications()) {
+                    if (!duplication.equals(issue)) {
+                        fileNames.add(duplication.getFileName());
+                    }
+                }
+                return StringUtils.join(fileNames, '\n');
+            }
+            return "-";
+        }
+
         @Override
         protected List<String> getRow(final Report report, final Issue issue, final String description) {
             List<String> columns = new ArrayList<>();
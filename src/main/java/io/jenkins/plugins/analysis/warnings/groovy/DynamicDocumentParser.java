@@ -12,6 +12,8 @@ import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.RegexpDocumentParser;
 import edu.hm.hafner.analysis.Report;
 
+import groovy.lang.Script;
+
 /**
  * A multi-line parser that uses a configurable regular expression and Groovy script to parse warnings.
  *
@@ -22,7 +24,8 @@ class DynamicDocumentParser extends RegexpDocumentParser {
     private static final int NO_LINE_NUMBER_AVAILABLE = 0;
     
     private final GroovyExpressionMatcher expressionMatcher;
-    private String fileName = StringUtils.EMPTY;
+    private transient ThreadLocal<String> fileName = createFileName();
+    private transient ThreadLocal<Optional<Script>> script = new ThreadLocal<>();
 
     /**
      * Creates a new instance of {@link DynamicDocumentParser}.
@@ -38,16 +41,39 @@ class DynamicDocumentParser extends RegexpDocumentParser {
         expressionMatcher = new GroovyExpressionMatcher(script);
     }
 
+    /**
+     * Called after de-serialization to create the transient fields.
+     *
+     * @return this
+     */
+    protected Object readResolve() {
+        fileName = createFileName();
+        script = new ThreadLocal<>();
+
+        return this;
+    }
+
+    // The file name is stored per thread so that several files can be parsed concurrently with the same parser
+    private static ThreadLocal<String> createFileName() {
+        return ThreadLocal.withInitial(() -> StringUtils.EMPTY);
+    }
+
     @Override
     public Report parse(final ReaderFactory reader) throws ParsingException {
-        fileName = reader.getFileName();
-
-        return super.parse(reader);
+        fileName.set(reader.getFileName());
+        script.set(expressionMatcher.createScript());
+        try {
+            return super.parse(reader);
+        }
+        finally {
+            script.remove(); // the thread should not pin the class loader of the script
+        }
     }
 
     @Override
     protected Optional<Issue> createIssue(final Matcher matcher, final IssueBuilder builder) {
-        return expressionMatcher.createIssue(matcher, builder, NO_LINE_NUMBER_AVAILABLE, fileName);
+        return script.get().flatMap(compiled -> expressionMatcher.createIssue(compiled, matcher, builder,
+                NO_LINE_NUMBER_AVAILABLE, fileName.get()));
     }
 }
 
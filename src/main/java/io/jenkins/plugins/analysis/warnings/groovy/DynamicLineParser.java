@@ -13,8 +13,15 @@ import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.util.LookaheadStream;
 
+import groovy.lang.Script;
+
 /**
  * A line parser that uses a configurable regular expression and Groovy script to parse warnings.
+ * <p>
+ * Before the regular expression is evaluated, each line is checked by a {@link LiteralPrefilter}: lines that do not
+ * contain the literals that are required by the regular expression are skipped. The number of skipped lines is logged
+ * to the report.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -22,7 +29,8 @@ class DynamicLineParser extends LookaheadParser {
     private static final long serialVersionUID = -4450779127190928924L;
 
     private final GroovyExpressionMatcher expressionMatcher;
-    private String fileName = StringUtils.EMPTY;
+    private final LiteralPrefilter prefilter;
+    private transient ThreadLocal<ParsingState> state = createState();
 
     /**
      * Creates a new instance of {@link DynamicLineParser}.
@@ -36,19 +44,77 @@ class DynamicLineParser extends LookaheadParser {
         super(regexp);
 
         expressionMatcher = new GroovyExpressionMatcher(script);
+        prefilter = LiteralPrefilter.create(regexp);
+    }
+
+    /**
+     * Called after de-serialization to create the transient fields.
+     *
+     * @return this
+     */
+    protected Object readResolve() {
+        state = createState();
+
+        return this;
+    }
+
+    // The state is stored per thread so that several files can be parsed concurrently with the same parser
+    private static ThreadLocal<ParsingState> createState() {
+        return ThreadLocal.withInitial(ParsingState::new);
     }
 
     @Override
     public Report parse(final ReaderFactory reader) throws ParsingException {
-        fileName = reader.getFileName();
-        
-        return super.parse(reader);
+        ParsingState current = state.get();
+        current.reset(reader.getFileName(), expressionMatcher.createScript());
+
+        Report report;
+        try {
+            report = super.parse(reader);
+        }
+        finally {
+            current.script = Optional.empty(); // the thread should not pin the class loader of the script
+        }
+        if (prefilter.isActive()) {
+            report.logInfo("-> literal prefilter %s skipped %d of %d lines of '%s'",
+                    prefilter.getLiterals(), current.skippedLines, current.lines, current.fileName);
+        }
+        return report;
+    }
+
+    @Override
+    protected boolean isLineInteresting(final String line) {
+        ParsingState current = state.get();
+        current.lines++;
+        if (prefilter.accepts(line)) {
+            return true;
+        }
+        current.skippedLines++;
+        return false;
     }
 
     @Override
     protected Optional<Issue> createIssue(final Matcher matcher, final LookaheadStream lookahead,
             final IssueBuilder builder) throws ParsingException {
-        return expressionMatcher.createIssue(matcher, builder, lookahead.getLine(), fileName);
+        ParsingState current = state.get();
+        return current.script.flatMap(compiled -> expressionMatcher.createIssue(compiled, matcher, builder,
+                lookahead.getLine(), current.fileName));
     }
-}
 
+    /**
+     * The state of the file that is currently parsed by a thread.
+     */
+    private static class ParsingState {
+        private String fileName = StringUtils.EMPTY;
+        private Optional<Script> script = Optional.empty();
+        private int lines;
+        private int skippedLines;
+
+        void reset(final String parsedFileName, final Optional<Script> parsingScript) {
+            fileName = parsedFileName;
+            script = parsingScript;
+            lines = 0;
+            skippedLines = 0;
+        }
+    }
+}
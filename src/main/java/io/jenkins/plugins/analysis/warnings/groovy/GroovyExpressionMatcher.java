@@ -7,6 +7,7 @@ import java.util.logging.Logger;
 import java.util.regex.Matcher;
 
 import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
@@ -19,6 +20,13 @@ import org.jenkinsci.plugins.scriptsecurity.sandbox.groovy.GroovySandbox;
 
 /**
  * Creates a warning based on a regular expression match and groovy script.
+ * <p>
+ * The script is compiled only once, the compiled class is shared with all other matchers of the same script using the
+ * {@link GroovyScriptCache}. Since the variables of a script are stored in its {@link Binding}, the matches are
+ * evaluated using instances of the compiled script class that are created with {@link #createScript()}. A parser
+ * creates such an instance for each parsed report and drops it afterwards: an instance must not be shared between
+ * threads, and it should not be referenced by long living threads since it pins the class loader of the script.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -26,7 +34,7 @@ class GroovyExpressionMatcher implements Serializable {
     private static final long serialVersionUID = -2218299240520838315L;
     private static final Logger LOGGER = Logger.getLogger(GroovyExpressionMatcher.class.getName());
     private final String script;
-    private transient Script compiled;
+    private transient volatile Class<? extends Script> scriptClass;
 
     /**
      * Creates a new instance of {@link GroovyExpressionMatcher}.
@@ -39,20 +47,36 @@ class GroovyExpressionMatcher implements Serializable {
     }
 
     private boolean compileScriptIfNotYetDone() {
-        synchronized (script) {
-            if (compiled == null) {
-                try {
-                    compiled = compile();
-                }
-                catch (CompilationFailedException exception) {
-                    LOGGER.log(Level.SEVERE, "Groovy dynamic warnings parser: exception during compiling: ", exception);
-                    return false;
+        if (scriptClass == null) {
+            synchronized (script) {
+                if (scriptClass == null) {
+                    try {
+                        scriptClass = GroovyScriptCache.getInstance()
+                                .getScriptClass(script, () -> compile().getClass());
+                    }
+                    catch (CompilationFailedException exception) {
+                        LOGGER.log(Level.SEVERE, "Groovy dynamic warnings parser: exception during compiling: ",
+                                exception);
+                        return false;
+                    }
                 }
             }
         }
         return true;
     }
 
+    /**
+     * Creates a new instance of the compiled script that evaluates the matches of a single thread.
+     *
+     * @return the script instance, or an empty result if the script could not be compiled
+     */
+    public Optional<Script> createScript() {
+        if (compileScriptIfNotYetDone()) {
+            return Optional.of(InvokerHelper.createScript(scriptClass, new Binding()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Compiles the script.
      *
@@ -68,7 +92,7 @@ class GroovyExpressionMatcher implements Serializable {
     }
 
     /**
-     * Creates a new issue for the specified match.
+     * Creates a new issue for the specified match. The script is evaluated using a new instance of the compiled script.
      *
      * @param matcher
      *         the regular expression matcher
@@ -81,10 +105,31 @@ class GroovyExpressionMatcher implements Serializable {
      *
      * @return a new annotation for the specified pattern
      */
-    @SuppressWarnings("all")
     public Optional<Issue> createIssue(final Matcher matcher, final IssueBuilder builder, final int lineNumber,
             final String fileName) {
-        Object result = run(matcher, builder, lineNumber, fileName);
+        return createScript().flatMap(compiled -> createIssue(compiled, matcher, builder, lineNumber, fileName));
+    }
+
+    /**
+     * Creates a new issue for the specified match.
+     *
+     * @param compiled
+     *         the instance of the compiled script, see {@link #createScript()}
+     * @param matcher
+     *         the regular expression matcher
+     * @param builder
+     *         the issue builder
+     * @param lineNumber
+     *         the current line number
+     * @param fileName
+     *         the name of the parsed report file
+     *
+     * @return a new annotation for the specified pattern
+     */
+    @SuppressWarnings("all")
+    public Optional<Issue> createIssue(final Script compiled, final Matcher matcher, final IssueBuilder builder,
+            final int lineNumber, final String fileName) {
+        Object result = run(compiled, matcher, builder, lineNumber, fileName);
         if (result instanceof Optional) {
             Optional<?> optional = (Optional) result;
             if (optional.isPresent()) {
@@ -98,7 +143,7 @@ class GroovyExpressionMatcher implements Serializable {
     }
 
     /**
-     * Runs the groovy script. No exceptions are caught.
+     * Runs the groovy script using a new instance of the compiled script. No exceptions are caught.
      *
      * @param matcher
      *         the regular expression matcher
@@ -112,20 +157,26 @@ class GroovyExpressionMatcher implements Serializable {
      * @return unchecked result of the script
      */
     public Object run(final Matcher matcher, final IssueBuilder builder, final int lineNumber, final String fileName) {
-        if (compileScriptIfNotYetDone()) {
-            Binding binding = compiled.getBinding();
-            binding.setVariable("matcher", matcher);
-            binding.setVariable("builder", builder);
-            binding.setVariable("lineNumber", lineNumber);
-            binding.setVariable("fileName", fileName);
-
-            return runScript();
+        Optional<Script> compiled = createScript();
+        if (compiled.isPresent()) {
+            return run(compiled.get(), matcher, builder, lineNumber, fileName);
         }
         return Optional.empty();
     }
 
+    private Object run(final Script compiled, final Matcher matcher, final IssueBuilder builder,
+            final int lineNumber, final String fileName) {
+        Binding binding = compiled.getBinding();
+        binding.setVariable("matcher", matcher);
+        binding.setVariable("builder", builder);
+        binding.setVariable("lineNumber", lineNumber);
+        binding.setVariable("fileName", fileName);
+
+        return runScript(compiled);
+    }
+
     @SuppressWarnings({"illegalcatch", "OverlyBroadCatchBlock"})
-    private Object runScript() {
+    private Object runScript(final Script compiled) {
         try {
             return compiled.run();
         }
@@ -135,4 +186,3 @@ class GroovyExpressionMatcher implements Serializable {
         }
     }
 }
-
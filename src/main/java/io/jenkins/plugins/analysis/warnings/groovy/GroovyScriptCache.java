@@ -0,0 +1,213 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import groovy.lang.Script;
+
+/**
+ * Controller wide cache of the compiled classes of Groovy parser scripts. Compiling a script is expensive and each
+ * compilation creates a new class loader. So all parsers that use the same script share the compiled class, across
+ * builds and parser instances. The classes are stored using the digest of the script source as key. The cache is
+ * bounded by the number of classes: if the maximum size is exceeded, then the least recently used classes will be
+ * evicted.
+ * <p>
+ * The cache records the number of hits, misses, evictions, and the time required to compile the missing classes.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class GroovyScriptCache {
+    /** Default maximum number of compiled classes in the cache. */
+    static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final GroovyScriptCache INSTANCE = new GroovyScriptCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final Map<String, Class<? extends Script>> classes = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maximumSize;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long compileCount;
+    private long totalCompileTime;
+
+    /**
+     * Returns the singleton instance of the cache.
+     *
+     * @return the cache
+     */
+    public static GroovyScriptCache getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    GroovyScriptCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the compiled class of the specified script. If the script has not been compiled yet, then it will be
+     * compiled using the specified compiler and stored in the cache.
+     *
+     * @param script
+     *         the source code of the script
+     * @param compiler
+     *         compiles the script if it is not cached yet
+     *
+     * @return the compiled class
+     * @throws org.codehaus.groovy.control.CompilationFailedException
+     *         if the script contains compile errors, failed compilations will not be cached
+     */
+    Class<? extends Script> getScriptClass(final String script, final Supplier<Class<? extends Script>> compiler) {
+        String key = createKey(script);
+        synchronized (this) {
+            Class<? extends Script> cached = classes.get(key);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+        }
+
+        long start = System.nanoTime();
+        Class<? extends Script> compiled = compiler.get();
+        long duration = System.nanoTime() - start;
+
+        synchronized (this) {
+            compileCount++;
+            totalCompileTime += duration;
+
+            Class<? extends Script> concurrentlyCompiled = classes.putIfAbsent(key, compiled);
+            evict();
+            return concurrentlyCompiled == null ? compiled : concurrentlyCompiled;
+        }
+    }
+
+    private void evict() {
+        Iterator<Class<? extends Script>> leastRecentlyUsed = classes.values().iterator();
+        while (classes.size() > maximumSize && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes the classes of all scripts that are not part of the specified scripts. This method is called whenever the
+     * Groovy parsers are reconfigured, so that the class loaders of changed or deleted scripts can be released.
+     *
+     * @param scripts
+     *         the source code of the scripts to retain
+     */
+    void retainAll(final Collection<String> scripts) {
+        Set<String> keys = scripts.stream().map(GroovyScriptCache::createKey).collect(Collectors.toSet());
+        synchronized (this) {
+            classes.keySet().retainAll(keys);
+        }
+    }
+
+    /**
+     * Removes all classes from the cache. The statistics will not be reset.
+     */
+    public synchronized void clear() {
+        classes.clear();
+    }
+
+    /**
+     * Returns the number of cached classes.
+     *
+     * @return the number of cached classes
+     */
+    public synchronized int getEntryCount() {
+        return classes.size();
+    }
+
+    /**
+     * Returns the maximum number of cached classes.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of requests that have been answered with a cached class.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests that required to compile the script.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of classes that have been evicted because the maximum size has been exceeded.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of successfully compiled scripts.
+     *
+     * @return the number of compiled scripts
+     */
+    public synchronized long getCompileCount() {
+        return compileCount;
+    }
+
+    /**
+     * Returns the average time in milliseconds that has been spent compiling a script.
+     *
+     * @return the average compile time
+     */
+    public synchronized long getAverageCompileTime() {
+        return compileCount == 0 ? 0 : totalCompileTime / compileCount / 1_000_000;
+    }
+
+    private static String createKey(final String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(script.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        }
+        catch (NoSuchAlgorithmException ignored) {
+            return script; // SHA-256 is available in every JVM, the source is a valid key as well
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d of %d classes, %d hits, %d misses, %d evictions",
+                classes.size(), maximumSize, hitCount, missCount, evictionCount);
+    }
+}
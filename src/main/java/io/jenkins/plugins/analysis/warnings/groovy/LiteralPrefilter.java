@@ -0,0 +1,326 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rejects lines that can't match a regular expression without evaluating the expression. The prefilter extracts the
+ * literal strings that every match of the expression must contain. A line that does not contain all of these literals
+ * will be rejected using a simple {@link String#contains(CharSequence)} check.
+ * <p>
+ * The extraction is conservative: literals are taken only from parts of the expression that are required in every
+ * match. Alternations, optional atoms, character classes, and lookaround assertions do not contribute any
+ * literals. If the expression uses embedded flags (e.g., {@code (?i)}), then no literals will be extracted at all. In
+ * these cases the prefilter accepts every line.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class LiteralPrefilter implements Serializable {
+    private static final long serialVersionUID = 3366257389766563416L;
+
+    private final List<String> literals;
+
+    /**
+     * Creates a prefilter for the specified regular expression.
+     *
+     * @param regexp
+     *         the regular expression
+     *
+     * @return the prefilter
+     */
+    static LiteralPrefilter create(final String regexp) {
+        try {
+            List<String> required = new ExpressionScanner(regexp).scanSequence();
+            required.sort(Comparator.comparingInt(String::length).reversed());
+
+            List<String> literals = new ArrayList<>();
+            for (String literal : required) {
+                if (literals.stream().noneMatch(longer -> longer.contains(literal))) {
+                    literals.add(literal);
+                }
+            }
+            return new LiteralPrefilter(literals);
+        }
+        catch (UnsupportedExpressionException ignored) {
+            return new LiteralPrefilter(Collections.emptyList());
+        }
+    }
+
+    private LiteralPrefilter(final List<String> literals) {
+        this.literals = literals;
+    }
+
+    /**
+     * Returns the literals that each match must contain, the longest literals come first. Literals that are part of
+     * longer literals are omitted.
+     *
+     * @return the required literals
+     */
+    List<String> getLiterals() {
+        return Collections.unmodifiableList(literals);
+    }
+
+    /**
+     * Returns whether the prefilter will reject any lines at all.
+     *
+     * @return {@code true} if there are required literals, {@code false} if every line is accepted
+     */
+    boolean isActive() {
+        return !literals.isEmpty();
+    }
+
+    /**
+     * Returns whether the specified line might match the regular expression.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line contains all required literals, {@code false} if the line can't match the
+     *         regular expression
+     */
+    boolean accepts(final String line) {
+        for (String literal : literals) {
+            if (!line.contains(literal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates that the expression contains constructs that the scanner does not analyze.
+     */
+    private static class UnsupportedExpressionException extends Exception {
+        private static final long serialVersionUID = -6113627553564839856L;
+    }
+
+    /**
+     * Recursive descent scanner of the regular expression syntax of {@link java.util.regex.Pattern}. The scanner
+     * collects the literals of the required atoms of a sequence.
+     */
+    private static class ExpressionScanner {
+        private static final String QUOTE_END = "\\E";
+
+        private final String regexp;
+        private int position;
+
+        ExpressionScanner(final String regexp) {
+            this.regexp = regexp;
+        }
+
+        /**
+         * Scans a sequence of atoms until the end of the expression or the end of the enclosing group.
+         *
+         * @return the literals of the required atoms of the sequence
+         * @throws UnsupportedExpressionException
+         *         if the expression contains embedded flags
+         */
+        List<String> scanSequence() throws UnsupportedExpressionException {
+            List<String> literals = new ArrayList<>();
+            StringBuilder run = new StringBuilder();
+            boolean hasAlternatives = false;
+
+            while (position < regexp.length() && regexp.charAt(position) != ')') {
+                char c = regexp.charAt(position);
+                if (c == '|') {
+                    hasAlternatives = true;
+                    position++;
+                    continue;
+                }
+
+                String literal = null;
+                List<String> groupLiterals = Collections.emptyList();
+                if (c == '(') {
+                    position++;
+                    groupLiterals = scanGroup();
+                }
+                else if (c == '[') {
+                    skipCharacterClass();
+                }
+                else if (c == '\\') {
+                    literal = scanEscape();
+                }
+                else if (".^$".indexOf(c) >= 0) {
+                    position++;
+                }
+                else {
+                    literal = String.valueOf(c);
+                    position++;
+                }
+
+                Quantifier quantifier = scanQuantifier();
+                if (literal != null && quantifier != Quantifier.OPTIONAL) {
+                    run.append(literal);
+                }
+                if (literal == null || quantifier != Quantifier.NONE) {
+                    flush(run, literals);
+                }
+                if (quantifier != Quantifier.OPTIONAL) {
+                    literals.addAll(groupLiterals);
+                }
+            }
+            flush(run, literals);
+
+            if (hasAlternatives) {
+                return new ArrayList<>();
+            }
+            return literals;
+        }
+
+        private void flush(final StringBuilder run, final List<String> literals) {
+            if (run.length() > 0) {
+                literals.add(run.toString());
+                run.setLength(0);
+            }
+        }
+
+        private List<String> scanGroup() throws UnsupportedExpressionException {
+            boolean isLookaround = false;
+            if (regexp.startsWith("?", position)) {
+                if (regexp.startsWith("?:", position)) {
+                    position += 2;
+                }
+                else if (regexp.startsWith("?=", position) || regexp.startsWith("?!", position)
+                        || regexp.startsWith("?>", position)) {
+                    isLookaround = true;
+                    position += 2;
+                }
+                else if (regexp.startsWith("?<=", position) || regexp.startsWith("?<!", position)) {
+                    isLookaround = true;
+                    position += 3;
+                }
+                else if (regexp.startsWith("?<", position)) {
+                    position = regexp.indexOf('>', position) + 1;
+                    if (position == 0) {
+                        throw new UnsupportedExpressionException();
+                    }
+                }
+                else {
+                    throw new UnsupportedExpressionException(); // embedded flags
+                }
+            }
+
+            List<String> literals = scanSequence();
+            position++; // skip ')'
+
+            if (isLookaround) {
+                return Collections.emptyList();
+            }
+            return literals;
+        }
+
+        private void skipCharacterClass() {
+            position++; // skip '['
+            if (regexp.startsWith("^", position)) {
+                position++;
+            }
+            if (regexp.startsWith("]", position)) {
+                position++; // a leading ']' is a literal
+            }
+            int depth = 1;
+            while (position < regexp.length() && depth > 0) {
+                char c = regexp.charAt(position);
+                if (c == '\\') {
+                    position++;
+                }
+                else if (c == '[') {
+                    depth++;
+                }
+                else if (c == ']') {
+                    depth--;
+                }
+                position++;
+            }
+        }
+
+        private String scanEscape() {
+            position++; // skip '\'
+            if (position >= regexp.length()) {
+                return null;
+            }
+            char c = regexp.charAt(position);
+            if (c == 'Q') {
+                int end = regexp.indexOf(QUOTE_END, position);
+                String quoted = end < 0 ? regexp.substring(position + 1) : regexp.substring(position + 1, end);
+                position = end < 0 ? regexp.length() : end + QUOTE_END.length();
+                return quoted.isEmpty() ? null : quoted;
+            }
+            position++;
+            if (Character.isLetterOrDigit(c)) {
+                if (c == 'p' || c == 'P' || c == 'x' || c == 'u' || c == 'c' || c == 'N' || c == 'k') {
+                    skipEscapeArgument(c);
+                }
+                while (Character.isDigit(c) && position < regexp.length() && Character.isDigit(regexp.charAt(position))) {
+                    position++; // octal escapes and back references may have several digits
+                }
+                return null; // character classes, back references, anchors, or special characters
+            }
+            return String.valueOf(c);
+        }
+
+        private void skipEscapeArgument(final char escape) {
+            if (regexp.startsWith("{", position) || escape == 'k' && regexp.startsWith("<", position)) {
+                int end = regexp.indexOf(escape == 'k' ? '>' : '}', position);
+                position = end < 0 ? regexp.length() : end + 1;
+            }
+            else if (escape == 'x') {
+                position += 2;
+            }
+            else if (escape == 'u') {
+                position += 4;
+            }
+            else if (escape == 'c' || escape == 'p' || escape == 'P') {
+                position += 1;
+            }
+            position = Math.min(position, regexp.length());
+        }
+
+        private Quantifier scanQuantifier() {
+            if (position >= regexp.length()) {
+                return Quantifier.NONE;
+            }
+            char c = regexp.charAt(position);
+            Quantifier quantifier;
+            if (c == '?' || c == '*') {
+                quantifier = Quantifier.OPTIONAL;
+                position++;
+            }
+            else if (c == '+') {
+                quantifier = Quantifier.REPEATED;
+                position++;
+            }
+            else if (c == '{') {
+                int end = regexp.indexOf('}', position);
+                if (end < 0) {
+                    return Quantifier.NONE;
+                }
+                String minimum = regexp.substring(position + 1, end).split(",", -1)[0].trim();
+                quantifier = "0".equals(minimum) || minimum.isEmpty() ? Quantifier.OPTIONAL : Quantifier.REPEATED;
+                position = end + 1;
+            }
+            else {
+                return Quantifier.NONE;
+            }
+            if (position < regexp.length() && (regexp.charAt(position) == '?' || regexp.charAt(position) == '+')) {
+                position++; // reluctant or possessive quantifier
+            }
+            return quantifier;
+        }
+    }
+
+    /**
+     * Determines how often an atom occurs in a match.
+     */
+    private enum Quantifier {
+        /** Exactly once. */
+        NONE,
+        /** Possibly never. */
+        OPTIONAL,
+        /** At least once. */
+        REPEATED
+    }
+}
@@ -65,6 +65,17 @@ public class ParserConfiguration extends GlobalConfiguration {
     public void setParsers(final List<GroovyParser> parsers) {
         this.parsers = new ArrayList<>(parsers);
         save();
+
+        getCache().retainAll(parsers.stream().map(GroovyParser::getScript).collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the cache of the compiled parser scripts, used to show the cache statistics.
+     *
+     * @return the cache
+     */
+    public GroovyScriptCache getCache() {
+        return GroovyScriptCache.getInstance();
     }
 
     /**
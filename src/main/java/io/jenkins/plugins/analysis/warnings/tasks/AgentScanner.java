@@ -3,8 +3,14 @@ package io.jenkins.plugins.analysis.warnings.tasks;
 import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -23,6 +29,12 @@ import io.jenkins.plugins.analysis.warnings.tasks.TaskScanner.MatcherMode;
 /**
  * Searches in the workspace for files matching the given include and exclude pattern and scans each file for open
  * tasks.
+ * <p>
+ * If a parallelism greater than one is configured, then the files will be scanned concurrently in a bounded {@link
+ * ForkJoinPool}. The tasks of the individual files are merged afterwards in the order of the file names. If a cache
+ * file is configured, then the tasks of files that have not been changed since the last scan will be taken from the
+ * {@link TaskCache} rather than scanning these files again.
+ * </p>
  */
 class AgentScanner extends MasterToSlaveFileCallable<Report> {
     private static final long serialVersionUID = -4417487030800559491L;
@@ -35,6 +47,8 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
     private final String includePattern;
     private final String excludePattern;
     private final String sourceCodeEncoding;
+    private final int parallelism;
+    private final String cacheFile;
 
     /**
      * Creates a new {@link AgentScanner}.
@@ -60,6 +74,40 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
     AgentScanner(final String highTasks, final String normalTasks, final String lowTasks, final CaseMode caseMode,
             final MatcherMode matcherMode, final String includePattern, final String excludePattern,
             final String sourceCodeEncoding) {
+        this(highTasks, normalTasks, lowTasks, caseMode, matcherMode, includePattern, excludePattern,
+                sourceCodeEncoding, 1, StringUtils.EMPTY);
+    }
+
+    /**
+     * Creates a new {@link AgentScanner}.
+     *
+     * @param highTasks
+     *         highTasks priority tag identifiers
+     * @param normalTasks
+     *         normalTasks priority tag identifiers
+     * @param lowTasks
+     *         lowTasks priority tag identifiers
+     * @param caseMode
+     *         determines whether the tag identifiers are case sensitive
+     * @param matcherMode
+     *         determines whether the tag identifiers are strings or regular expressions
+     * @param includePattern
+     *         the files to include
+     * @param excludePattern
+     *         the files to exclude
+     * @param sourceCodeEncoding
+     *         the encoding to use to read source files
+     * @param parallelism
+     *         the maximum number of files that will be scanned concurrently, values less than or equal to 1 will scan
+     *         the files sequentially
+     * @param cacheFile
+     *         absolute path of the file that caches the tasks of the scanned files on the agent, an empty path will
+     *         disable the cache
+     */
+    @SuppressWarnings("ParameterNumber")
+    AgentScanner(final String highTasks, final String normalTasks, final String lowTasks, final CaseMode caseMode,
+            final MatcherMode matcherMode, final String includePattern, final String excludePattern,
+            final String sourceCodeEncoding, final int parallelism, final String cacheFile) {
         super();
 
         this.highTasks = highTasks;
@@ -70,10 +118,12 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
         this.includePattern = StringUtils.defaultString(includePattern);
         this.excludePattern = StringUtils.defaultString(excludePattern);
         this.sourceCodeEncoding = sourceCodeEncoding;
+        this.parallelism = parallelism;
+        this.cacheFile = StringUtils.defaultString(cacheFile);
     }
 
     @Override
-    public Report invoke(final File workspace, final VirtualChannel channel) {
+    public Report invoke(final File workspace, final VirtualChannel channel) throws InterruptedException {
         Report report = new Report();
         report.logInfo("Searching for files in workspace '%s' that match the include pattern '%s' and exclude pattern '%s'",
                 workspace, includePattern, excludePattern);
@@ -81,17 +131,18 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
         FileFinder fileFinder = new FileFinder(includePattern, excludePattern);
         String[] fileNames = fileFinder.find(workspace);
         report.logInfo("-> found %d files that will be scanned", fileNames.length);
-        Path root = workspace.toPath();
         TaskScanner scanner = createTaskScanner();
         report.logInfo(scanner.getTaskTags());
         report.logInfo("Scanning all %d files for open tasks", fileNames.length);
-        for (String fileName : fileNames) {
-            report.addAll(scanner.scan(root.resolve(fileName), getCharset()));
 
-            if (Thread.interrupted()) {
-                throw new ParsingCanceledException();
-            }
+        TaskCache cache = loadCache(report);
+        scanFiles(workspace.toPath(), fileNames, scanner, cache, report);
+        if (isCacheEnabled()) {
+            report.logInfo("-> reused open tasks of %d unchanged files (hits), scanned %d files (misses)",
+                    cache.getHits(), cache.getMisses());
+            cache.save(Paths.get(cacheFile), report);
         }
+
         report.logInfo("Found a total of %d open tasks", report.size());
         Map<String, Integer> countPerType = report.getPropertyCount(Issue::getType);
         for (Entry<String, Integer> entry : countPerType.entrySet()) {
@@ -100,6 +151,72 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
         return report;
     }
 
+    private boolean isCacheEnabled() {
+        return StringUtils.isNotBlank(cacheFile);
+    }
+
+    private TaskCache loadCache(final Report report) {
+        String configuration = String.join("\n", String.valueOf(highTasks), String.valueOf(normalTasks),
+                String.valueOf(lowTasks), String.valueOf(caseMode), String.valueOf(matcherMode),
+                String.valueOf(sourceCodeEncoding));
+        if (isCacheEnabled()) {
+            return TaskCache.load(Paths.get(cacheFile), configuration, report);
+        }
+        return new TaskCache(configuration);
+    }
+
+    private void scanFiles(final Path root, final String[] fileNames, final TaskScanner scanner,
+            final TaskCache cache, final Report report) throws InterruptedException {
+        int threads = Math.min(parallelism, fileNames.length);
+        if (threads > 1) {
+            report.logInfo("-> scanning files using %d threads", threads);
+            scanFilesInParallel(root, fileNames, scanner, cache, report, threads);
+        }
+        else {
+            for (String fileName : fileNames) {
+                report.addAll(scanFile(root, fileName, scanner, cache));
+
+                if (Thread.interrupted()) {
+                    throw new ParsingCanceledException();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private void scanFilesInParallel(final Path root, final String[] fileNames, final TaskScanner scanner,
+            final TaskCache cache, final Report report, final int threads) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Report> results = pool.submit(() -> Arrays.stream(fileNames)
+                    .parallel()
+                    .map(fileName -> scanFile(root, fileName, scanner, cache))
+                    .collect(Collectors.toList())).get();
+            for (Report result : results) {
+                report.addAll(result);
+            }
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Report scanFile(final Path root, final String fileName, final TaskScanner scanner,
+            final TaskCache cache) {
+        Path file = root.resolve(fileName);
+        if (isCacheEnabled()) {
+            return cache.scan(fileName, file, () -> scanner.scan(file, getCharset()));
+        }
+        return scanner.scan(file, getCharset());
+    }
+
     private Charset getCharset() {
         return new ModelValidation().getCharset(sourceCodeEncoding);
     }
@@ -146,6 +263,12 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
         if (excludePattern != null ? !excludePattern.equals(that.excludePattern) : that.excludePattern != null) {
             return false;
         }
+        if (parallelism != that.parallelism) {
+            return false;
+        }
+        if (cacheFile != null ? !cacheFile.equals(that.cacheFile) : that.cacheFile != null) {
+            return false;
+        }
         return sourceCodeEncoding != null ?
                 sourceCodeEncoding.equals(that.sourceCodeEncoding) : that.sourceCodeEncoding == null;
     }
@@ -160,6 +283,8 @@ class AgentScanner extends MasterToSlaveFileCallable<Report> {
         result = 31 * result + (includePattern != null ? includePattern.hashCode() : 0);
         result = 31 * result + (excludePattern != null ? excludePattern.hashCode() : 0);
         result = 31 * result + (sourceCodeEncoding != null ? sourceCodeEncoding.hashCode() : 0);
+        result = 31 * result + parallelism;
+        result = 31 * result + (cacheFile != null ? cacheFile.hashCode() : 0);
         return result;
     }
 }
@@ -0,0 +1,229 @@
+package io.jenkins.plugins.analysis.warnings.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds several literal strings in a text in a single pass using the Aho-Corasick algorithm. Each string is associated
+ * with a group, the matcher reports the groups of all strings that occur in a text. Strings may be matched with or
+ * without respecting the case of the characters.
+ * <p>
+ * The automaton is built as a deterministic finite state machine for ASCII characters, all other characters are
+ * resolved using the failure links of the automaton.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class AhoCorasickMatcher {
+    private static final int ASCII = 128;
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final boolean ignoreCase;
+
+    private final List<int[]> asciiTransitions = new ArrayList<>();
+    private final List<Map<Character, Integer>> otherTransitions = new ArrayList<>();
+    private final List<Integer> outputs = new ArrayList<>();
+
+    private volatile int[][] delta; // assigned last: publishes the automaton to other threads
+    private int[] failures;
+    private int[] groups;
+
+    /**
+     * Creates a new instance of {@link AhoCorasickMatcher}.
+     *
+     * @param ignoreCase
+     *         determines whether the strings should be matched without respecting the case of the characters
+     */
+    AhoCorasickMatcher(final boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        createNode();
+    }
+
+    /**
+     * Adds a new string to the matcher. Strings must be added before the first text is matched.
+     *
+     * @param literal
+     *         the string to find
+     * @param group
+     *         the group of the string, must be in the interval [0, 31]
+     *
+     * @return this
+     */
+    AhoCorasickMatcher add(final String literal, final int group) {
+        if (delta != null) {
+            throw new IllegalStateException("Strings must be added before the first text is matched");
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < literal.length(); i++) {
+            char c = fold(literal.charAt(i));
+            int next = getTransition(node, c);
+            if (next == NONE) {
+                next = createNode();
+                setTransition(node, c, next);
+            }
+            node = next;
+        }
+        outputs.set(node, outputs.get(node) | 1 << group);
+
+        return this;
+    }
+
+    /**
+     * Finds all strings that occur in the specified text.
+     *
+     * @param text
+     *         the text to search in
+     *
+     * @return the groups of the strings that occur in the text as a bit mask, i.e. bit {@code n} is set if a string of
+     *         group {@code n} has been found
+     */
+    int findGroups(final CharSequence text) {
+        if (delta == null) {
+            build();
+        }
+        int[][] transitions = delta;
+
+        int found = 0;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c < ASCII) {
+                state = transitions[state][c];
+            }
+            else {
+                state = getOtherTransition(state, c);
+            }
+            found |= groups[state];
+        }
+        return found;
+    }
+
+    private int getOtherTransition(final int start, final char c) {
+        int state = start;
+        while (true) {
+            Integer next = otherTransitions.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failures[state];
+        }
+    }
+
+    private char fold(final char c) {
+        if (ignoreCase) {
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+        return c;
+    }
+
+    private int createNode() {
+        int[] transitions = new int[ASCII];
+        Arrays.fill(transitions, NONE);
+        asciiTransitions.add(transitions);
+        otherTransitions.add(new HashMap<>());
+        outputs.add(0);
+        return outputs.size() - 1;
+    }
+
+    private int getTransition(final int node, final char c) {
+        if (c < ASCII) {
+            return asciiTransitions.get(node)[c];
+        }
+        return otherTransitions.get(node).getOrDefault(c, NONE);
+    }
+
+    private void setTransition(final int node, final char c, final int next) {
+        if (c < ASCII) {
+            asciiTransitions.get(node)[c] = next;
+        }
+        else {
+            otherTransitions.get(node).put(c, next);
+        }
+    }
+
+    /**
+     * Computes the failure links and the deterministic transitions using a breadth first traversal of the trie.
+     */
+    private synchronized void build() {
+        if (delta != null) {
+            return;
+        }
+
+        int size = outputs.size();
+        int[][] transitions = new int[size][];
+        int[] failureLinks = new int[size];
+        int[] groupMasks = new int[size];
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        transitions[ROOT] = new int[ASCII];
+        groupMasks[ROOT] = outputs.get(ROOT);
+        for (int c = 0; c < ASCII; c++) {
+            int next = asciiTransitions.get(ROOT)[c];
+            if (next == NONE) {
+                transitions[ROOT][c] = ROOT;
+            }
+            else {
+                transitions[ROOT][c] = next;
+                failureLinks[next] = ROOT;
+                queue.add(next);
+            }
+        }
+        for (int next : otherTransitions.get(ROOT).values()) {
+            failureLinks[next] = ROOT;
+            queue.add(next);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            int failure = failureLinks[node];
+            groupMasks[node] = outputs.get(node) | groupMasks[failure];
+
+            transitions[node] = new int[ASCII];
+            for (int c = 0; c < ASCII; c++) {
+                int next = asciiTransitions.get(node)[c];
+                if (next == NONE) {
+                    transitions[node][c] = transitions[failure][c];
+                }
+                else {
+                    transitions[node][c] = next;
+                    failureLinks[next] = transitions[failure][c];
+                    queue.add(next);
+                }
+            }
+            for (Map.Entry<Character, Integer> entry : otherTransitions.get(node).entrySet()) {
+                int next = entry.getValue();
+                failureLinks[next] = findFailure(failureLinks, failure, entry.getKey());
+                queue.add(next);
+            }
+        }
+
+        failures = failureLinks;
+        groups = groupMasks;
+        delta = transitions;
+    }
+
+    private int findFailure(final int[] failureLinks, final int start, final char c) {
+        int state = start;
+        while (true) {
+            Integer next = otherTransitions.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = failureLinks[state];
+        }
+    }
+}
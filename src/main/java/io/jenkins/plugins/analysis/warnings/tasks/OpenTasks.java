@@ -29,6 +29,7 @@ import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
 import io.jenkins.plugins.analysis.core.model.Tool;
 import io.jenkins.plugins.analysis.core.util.LogHandler;
 import io.jenkins.plugins.analysis.core.util.ModelValidation;
+import io.jenkins.plugins.analysis.core.util.WorkspaceCache;
 import io.jenkins.plugins.analysis.warnings.Messages;
 import io.jenkins.plugins.analysis.warnings.tasks.TaskScanner.CaseMode;
 import io.jenkins.plugins.analysis.warnings.tasks.TaskScanner.MatcherMode;
@@ -51,6 +52,7 @@ public class OpenTasks extends Tool {
     private boolean isRegularExpression;
     private String includePattern = StringUtils.EMPTY;
     private String excludePattern = StringUtils.EMPTY;
+    private int parallelism = 1;
 
     /**
      * Returns the Ant file-set pattern of files to work with.
@@ -152,6 +154,22 @@ public class OpenTasks extends Tool {
         this.isRegularExpression = isRegularExpression;
     }
 
+    /**
+     * Sets the maximum number of files that will be scanned concurrently on the agent. Values less than or equal to 1
+     * will scan the files sequentially.
+     *
+     * @param parallelism
+     *         the number of threads to use
+     */
+    @DataBoundSetter
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
     @Override
     public Report scan(final Run<?, ?> run, final FilePath workspace, final Charset sourceCodeEncoding,
             final LogHandler logger) {
@@ -159,7 +177,8 @@ public class OpenTasks extends Tool {
             return workspace.act(new AgentScanner(highTags, normalTags, lowTags,
                     ignoreCase ? CaseMode.IGNORE_CASE : CaseMode.CASE_SENSITIVE,
                     isRegularExpression ? MatcherMode.REGEXP_MATCH : MatcherMode.STRING_MATCH,
-                    includePattern, excludePattern, sourceCodeEncoding.name()));
+                    includePattern, excludePattern, sourceCodeEncoding.name(), parallelism,
+                    WorkspaceCache.getFile(workspace, getActualId(), "files")));
         }
         catch (IOException e) {
             Report report = new Report();
@@ -0,0 +1,286 @@
+package io.jenkins.plugins.analysis.warnings.tasks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Caches the open tasks of the scanned files across builds. The tasks of a file are stored using the relative path, the
+ * size and the last modification time of the file as key. If a file has not been changed since the last scan, then the
+ * cached tasks will be reused. Otherwise the file will be scanned again.
+ * <p>
+ * The cache is valid only for the configuration (tags, matcher modes, and encoding) that has been used to create the
+ * tasks. It contains only the files that have been seen in the last scan and is stored as a compressed binary file on
+ * the agent. Lookups and updates are thread safe so that files can be scanned concurrently.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class TaskCache {
+    private static final int MAGIC = 0x54534B31; // TSK1
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String configuration;
+    private final Map<String, CachedFile> cachedFiles;
+    private final Map<String, CachedFile> scannedFiles = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Creates a new empty instance of {@link TaskCache}.
+     *
+     * @param configuration
+     *         the configuration of the scanner that creates the cached tasks
+     */
+    TaskCache(final String configuration) {
+        this(configuration, Collections.emptyMap());
+    }
+
+    private TaskCache(final String configuration, final Map<String, CachedFile> cachedFiles) {
+        this.configuration = configuration;
+        this.cachedFiles = cachedFiles;
+    }
+
+    /**
+     * Loads the task cache from the specified file. If the file does not exist, could not be read, or has been created
+     * for a different configuration, then an empty cache will be returned.
+     *
+     * @param cacheFile
+     *         the file that contains the cached tasks
+     * @param configuration
+     *         the configuration of the scanner that creates the cached tasks
+     * @param report
+     *         the report to log errors to
+     *
+     * @return the cache
+     */
+    static TaskCache load(final Path cacheFile, final String configuration, final Report report) {
+        if (Files.exists(cacheFile)) {
+            try (InputStream stream = Files.newInputStream(cacheFile)) {
+                TaskCache cache = read(stream);
+                if (configuration.equals(cache.configuration)) {
+                    return cache;
+                }
+                report.logInfo("-> configuration of open tasks scanner has been changed, ignoring cached tasks");
+            }
+            catch (IOException exception) {
+                report.logException(exception, "Can't read open tasks cache '%s'", cacheFile);
+            }
+        }
+        return new TaskCache(configuration);
+    }
+
+    /**
+     * Saves the tasks of all files that have been scanned so far to the specified file.
+     *
+     * @param cacheFile
+     *         the file that will contain the cached tasks
+     * @param report
+     *         the report to log errors to
+     */
+    void save(final Path cacheFile, final Report report) {
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path temporary = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temporary)) {
+                write(stream);
+            }
+            Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException exception) {
+            report.logException(exception, "Can't write open tasks cache '%s'", cacheFile);
+        }
+    }
+
+    /**
+     * Returns the open tasks of the specified file. If the file has not been changed since the last scan, then the
+     * cached tasks are returned. Otherwise the file will be scanned using the specified scanner.
+     *
+     * @param fileName
+     *         the name of the file, relative to the workspace
+     * @param file
+     *         the file to scan
+     * @param scanner
+     *         scans the file for open tasks
+     *
+     * @return the open tasks
+     */
+    Report scan(final String fileName, final Path file, final Supplier<Report> scanner) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        }
+        catch (IOException ignored) {
+            misses.incrementAndGet();
+            return scanner.get(); // the scanner will report the problem
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        CachedFile cached = cachedFiles.get(fileName);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            hits.incrementAndGet();
+            scannedFiles.put(fileName, cached);
+            return cached.toReport(file.toString());
+        }
+
+        misses.incrementAndGet();
+        Report tasks = scanner.get();
+        if (tasks.getErrorMessages().isEmpty()) {
+            scannedFiles.put(fileName, new CachedFile(size, lastModified, tasks));
+        }
+        return tasks;
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    @VisibleForTesting
+    int size() {
+        return scannedFiles.size();
+    }
+
+    @VisibleForTesting
+    static TaskCache read(final InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream, BUFFER_SIZE)));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Unsupported format of open tasks cache");
+        }
+        String configuration = readString(input);
+        int files = input.readInt();
+        Map<String, CachedFile> cachedFiles = new HashMap<>(files);
+        for (int file = 0; file < files; file++) {
+            String fileName = readString(input);
+            long size = input.readLong();
+            long lastModified = input.readLong();
+            int count = input.readInt();
+            List<CachedTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(new CachedTask(input.readInt(), readString(input), readString(input), readString(input)));
+            }
+            cachedFiles.put(fileName, new CachedFile(size, lastModified, tasks));
+        }
+        return new TaskCache(configuration, cachedFiles);
+    }
+
+    @VisibleForTesting
+    void write(final OutputStream stream) throws IOException {
+        GZIPOutputStream compressed = new GZIPOutputStream(stream, BUFFER_SIZE);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(compressed, BUFFER_SIZE));
+        output.writeInt(MAGIC);
+        writeString(output, configuration);
+        output.writeInt(scannedFiles.size());
+        for (Map.Entry<String, CachedFile> file : scannedFiles.entrySet()) {
+            writeString(output, file.getKey());
+            CachedFile cached = file.getValue();
+            output.writeLong(cached.size);
+            output.writeLong(cached.lastModified);
+            output.writeInt(cached.tasks.size());
+            for (CachedTask task : cached.tasks) {
+                output.writeInt(task.line);
+                writeString(output, task.severity);
+                writeString(output, task.type);
+                writeString(output, task.message);
+            }
+        }
+        output.flush();
+        compressed.finish();
+    }
+
+    // DataOutput.writeUTF is limited to 64 KB, source code lines might be longer
+    private static String readString(final DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * The open tasks of a file with a given size and modification time.
+     */
+    private static class CachedFile {
+        private final long size;
+        private final long lastModified;
+        private final List<CachedTask> tasks;
+
+        CachedFile(final long size, final long lastModified, final Report report) {
+            this(size, lastModified, new ArrayList<>(report.size()));
+
+            for (Issue issue : report) {
+                tasks.add(new CachedTask(issue.getLineStart(), issue.getSeverity().getName(), issue.getType(),
+                        issue.getMessage()));
+            }
+        }
+
+        CachedFile(final long size, final long lastModified, final List<CachedTask> tasks) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.tasks = tasks;
+        }
+
+        Report toReport(final String fileName) {
+            Report report = new Report();
+            IssueBuilder builder = new IssueBuilder().setFileName(fileName);
+            for (CachedTask task : tasks) {
+                report.add(builder.setLineStart(task.line)
+                        .setSeverity(Severity.valueOf(task.severity))
+                        .setType(task.type)
+                        .setMessage(task.message)
+                        .build());
+            }
+            return report;
+        }
+    }
+
+    /**
+     * The properties of an open task that are set by the {@link TaskScanner}.
+     */
+    private static class CachedTask {
+        private final int line;
+        private final String severity;
+        private final String type;
+        private final String message;
+
+        CachedTask(final int line, final String severity, final String type, final String message) {
+            this.line = line;
+            this.severity = severity;
+            this.type = type;
+            this.message = message;
+        }
+    }
+}
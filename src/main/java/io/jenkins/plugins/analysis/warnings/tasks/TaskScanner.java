@@ -34,11 +34,21 @@ import io.jenkins.plugins.analysis.core.util.LocalizedSeverity;
 class TaskScanner {
     private static final String WORD_BOUNDARY = "\\b";
     private static final Pattern INVALID = Pattern.compile("");
+    private static final String REGEXP_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final int ALL_SEVERITIES = -1;
 
     /** The regular expression patterns to be used to scan the files. One pattern per priority. */
     private final Map<Severity, Pattern> patterns = new HashMap<Severity, Pattern>();
     private final boolean isUppercase;
 
+    /**
+     * Finds the tags of all severities in a single pass. Only the patterns of severities with a tag in a line need to be
+     * evaluated for that line. If {@code null}, then all patterns are evaluated for every line.
+     */
+    @Nullable
+    private final AhoCorasickMatcher tagMatcher;
+    private final Map<Severity, Integer> tagGroups = new HashMap<>();
+
     private boolean isInvalidPattern;
     private final StringBuilder errors = new StringBuilder();
 
@@ -85,6 +95,47 @@ class TaskScanner {
         if (StringUtils.isNotBlank(lowTags)) {
             patterns.put(Severity.WARNING_LOW, compile(lowTags, caseMode, matcherMode));
         }
+
+        if (matcherMode == MatcherMode.STRING_MATCH) {
+            tagMatcher = createTagMatcher(caseMode, highTags, normalTags, lowTags);
+        }
+        else {
+            tagMatcher = null;
+        }
+    }
+
+    /**
+     * Creates a matcher that finds the plain string tags of all severities. The matcher ignores word boundaries, so it
+     * finds a superset of the tags that are matched by the regular expressions. Returns {@code null} if one of the tags
+     * contains characters with a special meaning in regular expressions or if a pattern matches every line.
+     */
+    @Nullable
+    private AhoCorasickMatcher createTagMatcher(final CaseMode caseMode, final @Nullable String... tagsPerSeverity) {
+        Severity[] severities = {Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(caseMode == CaseMode.IGNORE_CASE);
+        for (int group = 0; group < severities.length; group++) {
+            String tags = tagsPerSeverity[group];
+            if (StringUtils.isNotBlank(tags)) {
+                tagGroups.put(severities[group], group);
+
+                int count = 0;
+                for (String tag : splitTags(tags)) {
+                    String trimmed = tag.trim();
+                    if (StringUtils.containsAny(trimmed, REGEXP_META_CHARACTERS)) {
+                        return null;
+                    }
+                    if (StringUtils.isNotBlank(trimmed)) {
+                        matcher.add(trimmed, group);
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    return null;
+                }
+            }
+        }
+        return matcher;
     }
 
     String getTaskTags() {
@@ -234,8 +285,12 @@ class TaskScanner {
         for (int lineNumber = 1; lines.hasNext(); lineNumber++) {
             String line = lines.next();
 
+            int candidates = tagMatcher == null ? ALL_SEVERITIES : tagMatcher.findGroups(line);
+            if (candidates == 0) {
+                continue;
+            }
             for (Severity severity : Severity.getPredefinedValues()) {
-                if (patterns.containsKey(severity)) {
+                if (patterns.containsKey(severity) && isCandidate(severity, candidates)) {
                     Matcher matcher = patterns.get(severity).matcher(line);
                     if (matcher.matches() && matcher.groupCount() == 2) {
                         String message = matcher.group(2).trim();
@@ -255,5 +310,9 @@ class TaskScanner {
         }
         return report;
     }
+
+    private boolean isCandidate(final Severity severity, final int candidates) {
+        return tagMatcher == null || (candidates & 1 << tagGroups.get(severity)) != 0;
+    }
 }
 
@@ -286,7 +286,19 @@
                 columnDefs: [{
                     targets: 0,         // First column contains details button
                     orderable: false
-                }]
+                }],
+                serverSide: true,       // Rows are sorted, filtered, and paged on the server
+                deferLoading: 0,        // Content is loaded when the tab is shown
+                searchDelay: 500,
+                ajax: function (data, callback) {
+                    var order = data.order.length ? data.order[0] : {column: 1, dir: 'asc'};
+                    view.getTablePage(id, data.start, data.length, order.column, order.dir, data.search.value,
+                        function (t) {
+                            var page = t.responseObject();
+                            page.draw = data.draw;
+                            callback(page);
+                        });
+                }
             });
 
             // Add event listener for opening and closing details
@@ -305,17 +317,14 @@
                 }
             });
 
-            // Content is loaded on demand: if the active tab shows the table, then content is loaded using Ajax
+            // Content is loaded on demand: if the active tab shows the table, then the first page is loaded using Ajax
+            var isLoaded = false;
             var tabToggleLink = $('a[data-toggle="tab"]');
             tabToggleLink.on('show.bs.tab', function (e) {
                 var activeTab = $(e.target).attr('href');
-                if (activeTab === (id + 'Content') && dataTable.data().length === 0) {
-                    view.getTableModel(id, function (t) {
-                        (function ($) {
-                            var table = $(id).DataTable();
-                            table.rows.add(t.responseObject().data).draw()
-                        })(jQuery);
-                    });
+                if (activeTab === (id + 'Content') && !isLoaded) {
+                    isLoaded = true;
+                    dataTable.draw();
                 }
             });
         }
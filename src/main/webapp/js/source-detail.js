@@ -6,10 +6,43 @@
             }, 1000);
         });
     };
-    $(document).ready(function() {
-        $('.highlight').scrollView();
-    });
-})(jQuery);
 
+    /**
+     * Shows the selected range of lines of the source file. The range is rendered on the server and replaces the
+     * currently shown source code.
+     */
+    function showRange(controls, from, to) {
+        $.get('range', {from: from, to: to}, function (html) {
+            var sourceCode = $('#source-code');
+            sourceCode.html(html);
+            controls.data('first-line', from);
+            controls.data('last-line', to);
+            updateButtons(controls);
+            Prism.highlightAllUnder(sourceCode.get(0));
+        });
+    }
+
+    function updateButtons(controls) {
+        var renderedLastLine = $('#source-code .source-range').data('last-line');
+        $('#source-range-previous').toggle(controls.data('first-line') > 1);
+        $('#source-range-next').toggle(renderedLastLine >= controls.data('last-line'));
+    }
+
+    $(document).ready(function () {
+        var controls = $('#source-range-controls');
+        var context = controls.data('context-lines');
 
+        updateButtons(controls);
+        $('#source-range-previous').click(function () {
+            showRange(controls, Math.max(controls.data('first-line') - context, 1), controls.data('last-line'));
+        });
+        $('#source-range-next').click(function () {
+            showRange(controls, controls.data('first-line'), controls.data('last-line') + context);
+        });
+        $('#source-range-all').click(function () {
+            showRange(controls, 1, 2147483647); // Integer.MAX_VALUE
+        });
 
+        $('.highlight').scrollView();
+    });
+})(jQuery);
@@ -0,0 +1,214 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.LineRange;
+import edu.hm.hafner.analysis.LineRangeList;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import static java.util.Collections.*;
+import static org.assertj.core.api.Assertions.*;
+
+import hudson.util.XStream2;
+
+/**
+ * Tests the class {@link ColumnarIssueStream}.
+ *
+ * @author Ullrich Hafner
+ */
+public class ColumnarIssueStreamITest {
+    private static final int BENCHMARK_SIZE = 50_000;
+
+    /** Required to enable Jenkins security settings during serialization with XStream. */
+    @ClassRule
+    public static final JenkinsRule JENKINS = new JenkinsRule();
+
+    /**
+     * Ensures that a {@link Report} can be written and read again with all properties of the issues.
+     *
+     * @throws IOException
+     *         if the report could not be written or read
+     */
+    @Test
+    public void shouldWriteAndReadReport() throws IOException {
+        Report report = createReport(3);
+        report.logInfo("info");
+        report.logError("error");
+
+        Report restored = read(write(report));
+
+        assertThat(restored).isEqualTo(report);
+        assertThat(restored.getInfoMessages()).containsExactly("info");
+        assertThat(restored.getErrorMessages()).containsExactly("error");
+        for (int i = 0; i < report.size(); i++) {
+            Issue expected = report.get(i);
+            Issue actual = restored.get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getLineRanges()).isEqualTo(expected.getLineRanges());
+            assertThat(actual.getColumnEnd()).isEqualTo(expected.getColumnEnd());
+            assertThat(actual.getFingerprint()).isEqualTo(expected.getFingerprint());
+        }
+    }
+
+    /**
+     * Ensures that the new and fixed issues of an {@link IssueStore} are written and read again.
+     *
+     * @throws IOException
+     *         if the issues could not be written or read
+     */
+    @Test
+    public void shouldWriteAndReadIssueStore() throws IOException {
+        Report issues = createReport(6);
+        Report outstanding = new Report().addAll(issues.get(0), issues.get(1));
+        Report newIssues = new Report().addAll(issues.get(2), issues.get(3), issues.get(4));
+        Report fixed = new Report().addAll(issues.get(5));
+        IssueStore store = new IssueStore(outstanding, newIssues, fixed);
+
+        IssueStore restored;
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            new ColumnarIssueStream().write(store, out);
+            byte[] bytes = out.toByteArray();
+            restored = new ColumnarIssueStream().readStore(new ByteArrayInputStream(bytes), bytes.length);
+        }
+
+        assertThat(restored.getOutstandingIssues()).isEqualTo(store.getOutstandingIssues());
+        assertThat(restored.getNewIssues()).isEqualTo(store.getNewIssues());
+        assertThat(restored.getFixedIssues()).containsExactly(fixed.get(0).getId());
+    }
+
+    /**
+     * Ensures that an empty {@link Report} can be written and read again.
+     *
+     * @throws IOException
+     *         if the report could not be written or read
+     */
+    @Test
+    public void shouldWriteAndReadEmptyReport() throws IOException {
+        assertThat(read(write(new Report()))).isEmpty();
+    }
+
+    /**
+     * Ensures that files in an unknown format are rejected.
+     */
+    @Test
+    public void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> read(new byte[] {1, 2, 3, 4, 5}))
+                .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Ensures that the additional properties of the issues and the number of duplicates are written and read again.
+     *
+     * @throws IOException
+     *         if the report could not be written or read
+     */
+    @Test
+    public void shouldWriteAndReadAdditionalPropertiesAndDuplicates() throws IOException {
+        Report report = new Report();
+        Issue issue = new IssueBuilder().setFileName("file").setAdditionalProperties("properties").build();
+        report.add(issue);
+        report.add(issue);
+        report.add(issue);
+
+        Report restored = read(write(report));
+
+        assertThat(restored).hasSize(1);
+        assertThat(restored.get(0).getAdditionalProperties()).isEqualTo("properties");
+        assertThat(restored.getDuplicatesSize()).isEqualTo(2);
+    }
+
+    /**
+     * Ensures that truncated files and files with corrupt lengths are rejected without allocating the memory the
+     * corrupt lengths would require.
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    @Test
+    public void shouldRejectCorruptLengths() throws IOException {
+        byte[] bytes = write(createReport(3));
+
+        assertThatThrownBy(() -> read(Arrays.copyOf(bytes, bytes.length / 2))).isInstanceOf(IOException.class);
+
+        byte[] corrupt = Arrays.copyOf(bytes, bytes.length);
+        int lengthOfInfoMessages = 5; // after the magic number and the version
+        corrupt[lengthOfInfoMessages] = (byte) 0xFF;
+        corrupt[lengthOfInfoMessages + 1] = (byte) 0xFF;
+        corrupt[lengthOfInfoMessages + 2] = (byte) 0xFF;
+        corrupt[lengthOfInfoMessages + 3] = (byte) 0x7F;
+        assertThatThrownBy(() -> read(corrupt)).isInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds the remaining");
+    }
+
+    /**
+     * Compares the size of the binary format with the XML format of {@link IssueStream}.
+     *
+     * @throws IOException
+     *         if the report could not be written or read
+     */
+    @Test
+    public void shouldBeSmallerThanXml() throws IOException {
+        Report report = createReport(BENCHMARK_SIZE);
+        XStream2 xStream = new IssueStream().createStream();
+
+        byte[] binary = write(report);
+        byte[] xml = asXml(report, xStream);
+
+        assertThat(read(binary)).hasSize(BENCHMARK_SIZE);
+        assertThat(binary.length).isLessThan(xml.length / 5);
+    }
+
+    private Report createReport(final int size) {
+        IssueBuilder builder = new IssueBuilder();
+        Report report = new Report();
+        for (int i = 0; i < size; i++) {
+            builder.setFileName(String.format("src/main/java/edu/hm/hafner/package%d/File%d.java", i % 50, i % 500))
+                    .setLineStart(i)
+                    .setLineEnd(i + i % 3)
+                    .setColumnStart(i % 80)
+                    .setColumnEnd(i % 80 + 5)
+                    .setCategory("category-" + i % 10)
+                    .setType("type-" + i % 100)
+                    .setPackageName("edu.hm.hafner.package" + i % 50)
+                    .setModuleName("module-" + i % 5)
+                    .setSeverity(i % 2 == 0 ? Severity.WARNING_HIGH : Severity.WARNING_LOW)
+                    .setMessage("message " + i % 1000)
+                    .setDescription("description " + i % 100)
+                    .setOrigin("checkstyle")
+                    .setReference("42")
+                    .setLineRanges(new LineRangeList(singletonList(new LineRange(i + 10, i + 12))))
+                    .setFingerprint("fingerprint-" + i);
+            report.add(builder.build());
+        }
+        return report;
+    }
+
+    private byte[] write(final Report report) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            new ColumnarIssueStream().write(report, out);
+            return out.toByteArray();
+        }
+    }
+
+    private Report read(final byte[] bytes) throws IOException {
+        try (ByteArrayInputStream in = new ByteArrayInputStream(bytes)) {
+            return new ColumnarIssueStream().read(in, bytes.length);
+        }
+    }
+
+    private byte[] asXml(final Report report, final XStream2 stream) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            stream.toXMLUTF8(report, out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -147,7 +147,7 @@ class DetailFactoryTest {
     @Test
     void shouldCreateConsoleDetailForSourceLinksIfFileNameIsSelf() {
         JenkinsFacade jenkins = mock(JenkinsFacade.class);
-        when(jenkins.readConsoleLog(any())).thenReturn(createLines());
+        when(jenkins.readConsoleLog(any(), anyInt(), anyInt())).thenReturn(createLines());
         DetailFactory detailFactory = new DetailFactory(jenkins);
         Report report = new Report();
 
@@ -0,0 +1,99 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import io.jenkins.plugins.analysis.core.model.DetailsTableIndex.TablePage;
+import io.jenkins.plugins.analysis.core.model.FileNameRenderer.BuildFolderFacade;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.DefaultAgeBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link DetailsTableIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class DetailsTableIndexTest {
+    private static final int FILE_COLUMN = 1;
+    private static final int SIZE = 25;
+
+    @BeforeAll
+    static void useEnglishLocale() {
+        Locale.setDefault(Locale.ENGLISH);
+    }
+
+    @Test
+    void shouldReturnOnlyRowsOfSelectedPage() {
+        DetailsTableIndex index = createIndex();
+
+        TablePage page = index.getPage(10, 10, FILE_COLUMN, true, "");
+
+        assertThat(page.getTotalSize()).isEqualTo(SIZE);
+        assertThat(page.getFilteredSize()).isEqualTo(SIZE);
+        assertThat(page.getRows()).hasSize(10);
+        assertThat(getFileColumn(page, 0)).contains("file-10");
+        assertThat(getFileColumn(page, 9)).contains("file-19");
+
+        TablePage last = index.getPage(20, 10, FILE_COLUMN, true, "");
+        assertThat(last.getRows()).hasSize(5);
+        assertThat(index.getPage(0, -1, FILE_COLUMN, true, "").getRows()).hasSize(SIZE);
+    }
+
+    @Test
+    void shouldSortRowsInDescendingOrder() {
+        DetailsTableIndex index = createIndex();
+
+        TablePage page = index.getPage(0, 3, FILE_COLUMN, false, "");
+
+        assertThat(getFileColumn(page, 0)).contains("file-24");
+        assertThat(getFileColumn(page, 1)).contains("file-23");
+        assertThat(getFileColumn(page, 2)).contains("file-22");
+    }
+
+    @Test
+    void shouldFilterRowsBySearchTerm() {
+        DetailsTableIndex index = createIndex();
+
+        TablePage page = index.getPage(0, 10, FILE_COLUMN, true, "FILE-1");
+
+        assertThat(page.getTotalSize()).isEqualTo(SIZE);
+        assertThat(page.getFilteredSize()).isEqualTo(10); // file-10 to file-19
+        assertThat(page.getRows()).hasSize(10);
+        assertThat(getFileColumn(page, 0)).contains("file-10");
+
+        assertThat(index.getPage(0, 10, FILE_COLUMN, true, "no match").getRows()).isEmpty();
+    }
+
+    private String getFileColumn(final TablePage page, final int row) {
+        List<String> columns = page.getRows().get(row);
+        return columns.get(FILE_COLUMN);
+    }
+
+    private DetailsTableIndex createIndex() {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder().setMessage("message").setReference("1");
+        for (int i = SIZE - 1; i >= 0; i--) { // reverse order to verify sorting
+            report.add(builder.setFileName(String.format("/path/to/file-%02d", i))
+                    .setLineStart(i)
+                    .setSeverity(Severity.WARNING_NORMAL)
+                    .build());
+        }
+        return new DetailsTableIndex(report, createModel());
+    }
+
+    private DetailsTableModel createModel() {
+        BuildFolderFacade buildFolder = mock(BuildFolderFacade.class);
+        when(buildFolder.canAccessAffectedFileOf(any())).thenReturn(true);
+
+        return new DetailsTableModel(new DefaultAgeBuilder(1, "url"), new FileNameRenderer(buildFolder),
+                issue -> "description");
+    }
+}
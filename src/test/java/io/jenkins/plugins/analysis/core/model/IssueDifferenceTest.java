@@ -0,0 +1,134 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueDifference}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueDifferenceTest {
+    private static final String REFERENCE_BUILD = "100";
+    private static final String CURRENT_REFERENCE = "2";
+    private static final int CURRENT_BUILD = 2;
+
+    @Test
+    void shouldCreateIssueDifferenceBasedOnPropertiesAndThenOnFingerprint() {
+        Report referenceIssues = new Report();
+        referenceIssues.add(createIssue("OUTSTANDING 1", "OUT 1", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("OUTSTANDING 2", "OUT 2", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("OUTSTANDING 3", "OUT 3", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("TO-FIX 1", "FIX", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("TO-FIX 2", "FIX", REFERENCE_BUILD));
+
+        Report currentIssues = new Report();
+        currentIssues.add(createIssue("UPD OUTSTANDING 1", "OUT 1", CURRENT_REFERENCE));
+        currentIssues.add(createIssue("OUTSTANDING 2", "UPD OUT 2", CURRENT_REFERENCE));
+        currentIssues.add(createIssue("OUTSTANDING 3", "OUT 3", CURRENT_REFERENCE));
+        currentIssues.add(createIssue("NEW 1", "NEW 1", CURRENT_REFERENCE));
+
+        IssueDifference issueDifference = new IssueDifference(currentIssues, CURRENT_BUILD, referenceIssues);
+
+        Report outstanding = issueDifference.getOutstandingIssues();
+        assertThat(outstanding).hasSize(3);
+        assertThat(outstanding.get(0).getMessage()).isEqualTo("UPD OUTSTANDING 1");
+        assertThat(outstanding.get(1).getMessage()).isEqualTo("OUTSTANDING 2");
+        assertThat(outstanding.get(2).getMessage()).isEqualTo("OUTSTANDING 3");
+        assertThat(outstanding).allSatisfy(issue -> assertThat(issue.getReference()).isEqualTo(REFERENCE_BUILD));
+
+        Report fixed = issueDifference.getFixedIssues();
+        assertThat(fixed).hasSize(2);
+        assertThat(fixed.get(0).getMessage()).isEqualTo("TO-FIX 1");
+        assertThat(fixed.get(1).getMessage()).isEqualTo("TO-FIX 2");
+
+        Report newIssues = issueDifference.getNewIssues();
+        assertThat(newIssues).hasSize(1);
+        assertThat(newIssues.get(0).getMessage()).isEqualTo("NEW 1");
+        assertThat(newIssues.get(0).getReference()).isEqualTo(String.valueOf(CURRENT_BUILD));
+    }
+
+    @Test
+    void shouldMatchEveryReferenceIssueOnlyOnce() {
+        Report referenceIssues = new Report();
+        referenceIssues.add(createIssue("FIRST", "SAME", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("SECOND", "SAME", REFERENCE_BUILD));
+
+        Report currentIssues = new Report();
+        currentIssues.add(createIssue("CHANGED 1", "SAME", CURRENT_REFERENCE));
+        currentIssues.add(createIssue("CHANGED 2", "SAME", CURRENT_REFERENCE));
+        currentIssues.add(createIssue("CHANGED 3", "SAME", CURRENT_REFERENCE));
+
+        IssueDifference issueDifference = new IssueDifference(currentIssues, CURRENT_BUILD, referenceIssues);
+
+        assertThat(issueDifference.getOutstandingIssues()).hasSize(2);
+        assertThat(issueDifference.getFixedIssues()).isEmpty();
+        assertThat(issueDifference.getNewIssues()).hasSize(1);
+        assertThat(issueDifference.getNewIssues().get(0).getMessage()).isEqualTo("CHANGED 3");
+    }
+
+    @Test
+    void shouldPreferEqualIssueOverFirstIssueWithSameFingerprint() {
+        Report referenceIssues = new Report();
+        referenceIssues.add(createIssue("OTHER", "SAME", REFERENCE_BUILD));
+        referenceIssues.add(createIssue("EQUAL", "SAME", REFERENCE_BUILD));
+
+        Report currentIssues = new Report();
+        currentIssues.add(createIssue("EQUAL", "SAME", CURRENT_REFERENCE));
+
+        IssueDifference issueDifference = new IssueDifference(currentIssues, CURRENT_BUILD, referenceIssues);
+
+        assertThat(issueDifference.getOutstandingIssues()).hasSize(1);
+        assertThat(issueDifference.getFixedIssues()).hasSize(1);
+        assertThat(issueDifference.getFixedIssues().get(0).getMessage()).isEqualTo("OTHER");
+        assertThat(issueDifference.getNewIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchManyIssuesByEqualityAndByFingerprint() {
+        int size = 1000;
+        IssueBuilder builder = new IssueBuilder();
+        Report referenceIssues = new Report();
+        Report currentIssues = new Report();
+        for (int i = 0; i < size; i++) {
+            builder.setFileName("file-" + i % 10).setLineStart(i).setMessage("message");
+            builder.setFingerprint("fingerprint-" + i);
+            referenceIssues.add(builder.build());
+
+            if (i % 2 == 1) {
+                builder.setLineStart(-i).setFingerprint("new-" + i);
+            }
+            else if (i % 4 == 0) {
+                builder.setMessage("changed");
+            }
+            currentIssues.add(builder.build());
+        }
+
+        IssueDifference difference = new IssueDifference(currentIssues, CURRENT_BUILD, referenceIssues);
+
+        Report outstanding = difference.getOutstandingIssues();
+        assertThat(outstanding).hasSize(size / 2);
+        assertThat(outstanding).allSatisfy(issue -> assertThat(issue.getLineStart()).isGreaterThanOrEqualTo(0));
+        assertThat(outstanding.filter(issue -> "changed".equals(issue.getMessage()))).hasSize(size / 4);
+        assertThat(difference.getNewIssues()).hasSize(size / 2)
+                .allSatisfy(issue -> assertThat(issue.getFingerprint()).startsWith("new-"));
+        assertThat(difference.getFixedIssues()).hasSize(size / 2);
+    }
+
+    private Issue createIssue(final String message, final String fingerprint, final String reference) {
+        IssueBuilder builder = new IssueBuilder();
+        builder.setFileName("file-name")
+                .setLineStart(1)
+                .setCategory("category")
+                .setType("type")
+                .setMessage(message)
+                .setFingerprint(fingerprint)
+                .setReference(reference);
+        return builder.build();
+    }
+}
@@ -0,0 +1,52 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueStoreTest {
+    @Test
+    void shouldStoreNewIssuesAsBitmap() {
+        Issue outstanding = createIssue("outstanding");
+        Issue firstNew = createIssue("new 1");
+        Issue secondNew = createIssue("new 2");
+
+        IssueStore store = new IssueStore(new Report().addAll(outstanding), new Report().addAll(firstNew, secondNew),
+                new Report());
+
+        assertThat(store.getIssues()).hasSize(3);
+        assertThat(store.getNewIssuesBitmap().cardinality()).isEqualTo(2);
+        assertThat(store.getOutstandingIssues()).containsExactly(outstanding);
+        assertThat(store.getNewIssues()).containsExactly(firstNew, secondNew);
+        assertThat(store.getFixedIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldResolveFixedIssuesInReferenceBuild() {
+        Issue stillThere = createIssue("outstanding");
+        Issue fixed = createIssue("fixed");
+        Issue alsoFixed = createIssue("also fixed");
+
+        IssueStore store = new IssueStore(new Report().addAll(stillThere), new Report(),
+                new Report().addAll(fixed, alsoFixed));
+
+        assertThat(store.getFixedIssues()).containsExactly(fixed.getId(), alsoFixed.getId());
+        assertThat(store.resolveFixedIssues(new Report().addAll(stillThere, fixed, alsoFixed)))
+                .containsExactly(fixed, alsoFixed);
+        assertThat(store.resolveFixedIssues(new Report().addAll(stillThere, fixed)))
+                .containsExactly(fixed);
+    }
+
+    private Issue createIssue(final String message) {
+        return new IssueBuilder().setFileName("file").setMessage(message).build();
+    }
+}
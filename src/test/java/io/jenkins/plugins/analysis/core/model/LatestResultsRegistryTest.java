@@ -0,0 +1,95 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.analysis.core.util.QualityGateStatus;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link LatestResultsRegistry}.
+ *
+ * @author Ullrich Hafner
+ */
+class LatestResultsRegistryTest {
+    private static final String ID = "checkstyle";
+
+    @Test
+    void shouldCreateSummariesOnFirstAccess() {
+        Job<?, ?> job = mock(Job.class);
+        Run<?, ?> run = createRun(job, 1, 5);
+        doReturn(run).when(job).getLastCompletedBuild();
+
+        LatestResultsRegistry registry = new LatestResultsRegistry();
+
+        assertThat(registry.getLatestResult(job, ID)).hasValueSatisfying(summary -> {
+            assertThat(summary.getTotalSize()).isEqualTo(5);
+            assertThat(summary.getBuildNumber()).isEqualTo(1);
+            assertThat(summary.getQualityGateStatus()).isEqualTo(QualityGateStatus.PASSED);
+        });
+        assertThat(registry.getLatestResult(job, "other")).isEmpty();
+
+        registry.getLatestResults(job);
+        verify(job, times(1)).getLastCompletedBuild();
+    }
+
+    @Test
+    void shouldReplaceSummariesOfOlderBuilds() {
+        Job<?, ?> job = mock(Job.class);
+        LatestResultsRegistry registry = new LatestResultsRegistry();
+
+        registry.register(createRun(job, 2, 20));
+        registry.register(createRun(job, 1, 10)); // completed after the newer build
+
+        assertThat(registry.getLatestResult(job, ID)).hasValueSatisfying(
+                summary -> assertThat(summary.getTotalSize()).isEqualTo(20));
+
+        registry.register(createRun(job, 3, 30));
+        assertThat(registry.getLatestResult(job, ID)).hasValueSatisfying(
+                summary -> assertThat(summary.getTotalSize()).isEqualTo(30));
+        verify(job, never()).getLastCompletedBuild();
+    }
+
+    @Test
+    void shouldRecomputeSummariesIfLatestBuildHasBeenDeleted() {
+        Job<?, ?> job = mock(Job.class);
+        LatestResultsRegistry registry = new LatestResultsRegistry();
+
+        Run<?, ?> previous = createRun(job, 1, 10);
+        Run<?, ?> latest = createRun(job, 2, 20);
+        registry.register(latest);
+
+        registry.unregister(previous);
+        assertThat(registry.getLatestResult(job, ID)).hasValueSatisfying(
+                summary -> assertThat(summary.getTotalSize()).isEqualTo(20));
+
+        doReturn(previous).when(job).getLastCompletedBuild();
+        registry.unregister(latest);
+        assertThat(registry.getLatestResult(job, ID)).hasValueSatisfying(
+                summary -> assertThat(summary.getTotalSize()).isEqualTo(10));
+    }
+
+    private Run<?, ?> createRun(final Job<?, ?> job, final int number, final int size) {
+        Run<?, ?> run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getNumber()).thenReturn(number);
+
+        AnalysisResult result = mock(AnalysisResult.class);
+        when(result.getTotalSize()).thenReturn(size);
+        when(result.getQualityGateStatus()).thenReturn(QualityGateStatus.PASSED);
+
+        ResultAction action = mock(ResultAction.class);
+        when(action.getId()).thenReturn(ID);
+        when(action.getResult()).thenReturn(result);
+        doReturn(run).when(action).getOwner();
+        when(run.getActions(ResultAction.class)).thenReturn(Collections.singletonList(action));
+
+        return run;
+    }
+}
@@ -0,0 +1,158 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ResultCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class ResultCacheTest {
+    private static final String OUTSTANDING = "outstanding";
+    private static final String NEW = "new";
+
+    private int buildNumber;
+
+    @Test
+    void shouldLoadMissingReportsOnlyOnce() {
+        ResultCache cache = new ResultCache(ResultCache.estimateSize(createReport(10)));
+        AnalysisResult result = createResult();
+        Report report = createReport(2);
+
+        assertThat(cache.getReport(result, OUTSTANDING, () -> report)).isSameAs(report);
+        assertThat(cache.getReport(result, OUTSTANDING, this::failToLoad)).isSameAs(report);
+
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getLoadCount()).isEqualTo(1);
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+        assertThat(cache.getEstimatedSize()).isEqualTo(ResultCache.estimateSize(report));
+    }
+
+    @Test
+    void shouldDistinguishResultsAndNames() {
+        ResultCache cache = new ResultCache(3 * ResultCache.estimateSize(createReport(1)));
+        AnalysisResult first = createResult();
+        AnalysisResult second = createResult();
+
+        Report outstanding = createReport(1);
+        Report newIssues = createReport(1);
+        Report other = createReport(1);
+        cache.putReport(first, OUTSTANDING, outstanding);
+        cache.putReport(first, NEW, newIssues);
+        cache.putReport(second, OUTSTANDING, other);
+
+        assertThat(cache.getReport(first, OUTSTANDING, this::failToLoad)).isSameAs(outstanding);
+        assertThat(cache.getReport(first, NEW, this::failToLoad)).isSameAs(newIssues);
+        assertThat(cache.getReport(second, OUTSTANDING, this::failToLoad)).isSameAs(other);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedReports() {
+        ResultCache cache = new ResultCache(2 * ResultCache.estimateSize(createReport(2)));
+        AnalysisResult first = createResult();
+        AnalysisResult second = createResult();
+        AnalysisResult third = createResult();
+
+        cache.putReport(first, OUTSTANDING, createReport(2));
+        cache.putReport(second, OUTSTANDING, createReport(2));
+        cache.getReport(first, OUTSTANDING, this::failToLoad);
+        cache.putReport(third, OUTSTANDING, createReport(2));
+
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+        assertThat(cache.getReport(first, OUTSTANDING, this::failToLoad)).hasSize(2);
+
+        Report reloaded = createReport(1);
+        assertThat(cache.getReport(second, OUTSTANDING, () -> reloaded)).isSameAs(reloaded);
+    }
+
+    @Test
+    void shouldNotCacheReportsThatAreLargerThanTheCache() {
+        ResultCache cache = new ResultCache(ResultCache.estimateSize(createReport(1)));
+        AnalysisResult result = createResult();
+
+        cache.putReport(result, OUTSTANDING, createReport(2));
+
+        assertThat(cache.getEntryCount()).isZero();
+        assertThat(cache.getEstimatedSize()).isZero();
+    }
+
+    @Test
+    void shouldEvictReportsIfMaximumSizeIsReduced() {
+        ResultCache cache = new ResultCache(ResultCache.estimateSize(createReport(10)));
+        cache.putReport(createResult(), OUTSTANDING, createReport(2));
+
+        cache.setMaximumSize(0);
+
+        assertThat(cache.getEntryCount()).isZero();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseSameValuesForResultsOfTheSameBuild() {
+        ResultCache cache = new ResultCache(ResultCache.estimateSize(createReport(10)));
+        Report report = createReport(1);
+        cache.putReport(createResult("job", 1, "checkstyle"), OUTSTANDING, report);
+
+        assertThat(cache.getReport(createResult("job", 1, "checkstyle"), OUTSTANDING, this::failToLoad))
+                .isSameAs(report);
+        assertThat(cache.getReport(createResult("job", 2, "checkstyle"), OUTSTANDING, Report::new))
+                .isNotSameAs(report);
+        assertThat(cache.getReport(createResult("other", 1, "checkstyle"), OUTSTANDING, Report::new))
+                .isNotSameAs(report);
+        assertThat(cache.getReport(createResult("job", 1, "pmd"), OUTSTANDING, Report::new))
+                .isNotSameAs(report);
+    }
+
+    @Test
+    void shouldBoundTheNumberOfEmptyReports() {
+        ResultCache cache = new ResultCache(10 * ResultCache.estimateSize(new Report()));
+
+        for (int build = 1; build <= 100; build++) {
+            cache.putReport(createResult("job", build, "checkstyle"), OUTSTANDING, new Report());
+        }
+
+        assertThat(ResultCache.estimateSize(new Report())).isPositive();
+        assertThat(cache.getEntryCount()).isEqualTo(10);
+        assertThat(cache.getEvictionCount()).isEqualTo(90);
+    }
+
+    private AnalysisResult createResult() {
+        return createResult("job", ++buildNumber, "checkstyle");
+    }
+
+    private AnalysisResult createResult(final String jobName, final int number, final String id) {
+        Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn(jobName);
+        Run<?, ?> run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getNumber()).thenReturn(number);
+        AnalysisResult result = mock(AnalysisResult.class);
+        doReturn(run).when(result).getOwner();
+        when(result.getId()).thenReturn(id);
+        return result;
+    }
+
+    private Report failToLoad() {
+        throw new AssertionError("Report should be cached");
+    }
+
+    private Report createReport(final int size) {
+        IssueBuilder builder = new IssueBuilder().setMessage("message");
+        Report report = new Report();
+        for (int i = 0; i < size; i++) {
+            report.add(builder.setLineStart(i).build());
+        }
+        return report;
+    }
+}
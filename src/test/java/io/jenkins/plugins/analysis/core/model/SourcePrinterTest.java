@@ -1,5 +1,8 @@
 package io.jenkins.plugins.analysis.core.model;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import org.apache.commons.lang3.StringUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -116,6 +119,45 @@ class SourcePrinterTest extends ResourceTest {
                 .isEqualToIgnoringWhitespace("Hello <b>Description</b>");
     }
 
+    @Test
+    void shouldRenderWindowAroundIssue() throws IOException {
+        IssueBuilder builder = new IssueBuilder();
+        Issue issue = builder.setLineStart(24).setLineEnd(25).setMessage(MESSAGE).build();
+
+        SourcePrinter printer = new SourcePrinter();
+
+        StringWriter output = new StringWriter();
+        assertThat(printer.render(asStream("format-java.txt"), issue, NO_DESCRIPTION, ICON_URL, 22, 27, output))
+                .isEqualTo(27);
+
+        Document document = Jsoup.parse(output.toString());
+        assertThat(document.getElementsByTag("pre").attr("data-start")).isEqualTo("22");
+        assertThat(document.getElementsByClass("line-numbers").text())
+                .isEqualToIgnoringWhitespace("*/ public static int parseInt(@Nullable final String number) {");
+        assertThat(document.getElementsByClass("highlight").text())
+                .isEqualToIgnoringWhitespace("if (StringUtils.isNotBlank(number)) { try {");
+        assertThat(document.getElementsByTag("code").text())
+                .endsWith("return Integer.parseInt(number); }");
+        assertThat(document.getElementsByClass("analysis-warning-title").text()).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    void shouldRenderWindowWithoutIssue() throws IOException {
+        IssueBuilder builder = new IssueBuilder();
+        Issue issue = builder.setLineStart(7).setMessage(MESSAGE).build();
+
+        SourcePrinter printer = new SourcePrinter();
+
+        StringWriter output = new StringWriter();
+        assertThat(printer.render(asStream("format-java.txt"), issue, NO_DESCRIPTION, ICON_URL, 35, 100, output))
+                .as("End of file has been reached").isEqualTo(38);
+
+        Document document = Jsoup.parse(output.toString());
+        assertThat(document.getElementsByTag("code").text())
+                .isEqualToIgnoringWhitespace("private IntegerParser() { // prevents instantiation } }");
+        assertThat(document.getElementsByClass("analysis-warning")).isEmpty();
+    }
+
     @Test @org.jvnet.hudson.test.Issue("JENKINS-55679")
     void shouldRenderXmlFiles() {
         SourcePrinter printer = new SourcePrinter();
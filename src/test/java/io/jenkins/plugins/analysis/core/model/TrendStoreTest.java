@@ -0,0 +1,90 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Severity;
+
+import io.jenkins.plugins.analysis.core.util.TrendEntry;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link TrendStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class TrendStoreTest {
+    private Path jobDirectory;
+    private File buildsDirectory;
+    private TrendStore store;
+
+    @BeforeEach
+    void createJobDirectory() throws IOException {
+        jobDirectory = Files.createTempDirectory("trend");
+        buildsDirectory = jobDirectory.resolve("builds").toFile();
+        store = new TrendStore(jobDirectory.resolve("id-trend.bin").toFile(), buildsDirectory);
+    }
+
+    @AfterEach
+    void deleteJobDirectory() throws IOException {
+        FileUtils.deleteDirectory(jobDirectory.toFile());
+    }
+
+    @Test
+    void shouldReturnEmptyTrendIfStoreDoesNotExist() {
+        assertThat(store.exists()).isFalse();
+        assertThat(store.read(Integer.MAX_VALUE, 50)).isEmpty();
+    }
+
+    @Test
+    void shouldReadAppendedEntriesInDescendingOrder() {
+        store.append(Arrays.asList(createEntry(1, 10), createEntry(2, 20)));
+        store.append(Collections.singletonList(createEntry(3, 30)));
+
+        List<TrendEntry> entries = store.read(Integer.MAX_VALUE, 50);
+
+        assertThat(store.exists()).isTrue();
+        assertThat(entries).extracting(TrendEntry::getBuildNumber).containsExactly(3, 2, 1);
+        assertThat(entries.get(0).getDisplayName()).isEqualTo("#3");
+        assertThat(entries.get(0).getTotalSizeOf(Severity.WARNING_HIGH)).isEqualTo(30);
+        assertThat(entries.get(0).getTotalSizeOf(Severity.WARNING_NORMAL)).isEqualTo(31);
+        assertThat(entries.get(0).getNewSizeOf(Severity.WARNING_LOW)).isEqualTo(3);
+        assertThat(entries.get(0).getFixedSize()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldUseLastEntryOfBuild() {
+        store.append(Arrays.asList(createEntry(1, 10), createEntry(1, 20)));
+
+        List<TrendEntry> entries = store.read(Integer.MAX_VALUE, 50);
+
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getTotalSizeOf(Severity.WARNING_HIGH)).isEqualTo(20);
+    }
+
+    @Test
+    void shouldSkipDeletedAndNewerBuildsAndLimitEntries() {
+        store.append(Arrays.asList(createEntry(1, 10), createEntry(2, 20), createEntry(3, 30), createEntry(4, 40)));
+        assertThat(new File(buildsDirectory, "2").delete()).isTrue();
+
+        assertThat(store.read(3, 50)).extracting(TrendEntry::getBuildNumber).containsExactly(3, 1);
+        assertThat(store.read(4, 2)).extracting(TrendEntry::getBuildNumber).containsExactly(4, 3);
+    }
+
+    private TrendEntry createEntry(final int number, final int high) {
+        new File(buildsDirectory, String.valueOf(number)).mkdirs();
+        return new TrendEntry(number, "#" + number, new int[] {0, high, high + 1, high + 2}, new int[] {0, 1, 2, 3},
+                4);
+    }
+}
@@ -0,0 +1,69 @@
+package io.jenkins.plugins.analysis.core.restapi;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+import net.sf.json.JSONObject;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueStreamWriter}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueStreamWriterTest {
+    @Test
+    void shouldWriteEachIssueAsJsonLine() throws IOException {
+        String[] lines = write(new IssueStreamWriter("", ""), createReport());
+
+        assertThat(lines).hasSize(3);
+
+        JSONObject first = JSONObject.fromObject(lines[0]);
+        assertThat(first.getString("fileName")).isEqualTo("file-1.txt");
+        assertThat(first.getString("baseName")).isEqualTo("file-1.txt");
+        assertThat(first.getString("severity")).isEqualTo("HIGH");
+        assertThat(first.getString("message")).isEqualTo("Quote \" and backslash \\ in\nmessage\u0001");
+        assertThat(first.getInt("lineStart")).isEqualTo(1);
+        assertThat(first.keySet()).hasSize(16);
+    }
+
+    @Test
+    void shouldWriteSelectedFieldsAndSeverities() throws IOException {
+        String[] lines = write(new IssueStreamWriter("fileName, lineStart", "error,high"), createReport());
+
+        assertThat(lines).containsExactly(
+                "{\"fileName\":\"file-1.txt\",\"lineStart\":1}",
+                "{\"fileName\":\"file-3.txt\",\"lineStart\":3}");
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new IssueStreamWriter("fileName,unknown", ""))
+                .withMessageContaining("unknown");
+    }
+
+    private String[] write(final IssueStreamWriter writer, final Report report) throws IOException {
+        StringWriter output = new StringWriter();
+        writer.write(report, output);
+        return output.toString().split("\n");
+    }
+
+    private Report createReport() {
+        IssueBuilder builder = new IssueBuilder();
+        Report report = new Report();
+        report.add(builder.setFileName("file-1.txt").setLineStart(1).setSeverity(Severity.WARNING_HIGH)
+                .setMessage("Quote \" and backslash \\ in\nmessage\u0001").build());
+        report.add(builder.setFileName("file-2.txt").setLineStart(2).setSeverity(Severity.WARNING_LOW)
+                .setMessage("low").build());
+        report.add(builder.setFileName("file-3.txt").setLineStart(3).setSeverity(Severity.ERROR)
+                .setMessage("error").build());
+        return report;
+    }
+}
@@ -1,7 +1,16 @@
 package io.jenkins.plugins.analysis.core.scm;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
+import com.thoughtworks.xstream.XStream;
+
+import io.jenkins.plugins.analysis.core.scm.BlameRequest.BlameRequestConverter;
+
 import static io.jenkins.plugins.analysis.core.scm.BlameRequest.EMPTY;
 import static org.assertj.core.api.Assertions.*;
 
@@ -72,6 +81,59 @@ class BlameRequestTest {
                 .hasMessageContaining("wrong").hasMessageContaining("file");
     }
 
+    @Test
+    void shouldStoreLinesInAscendingOrder() {
+        BlameRequest request = new BlameRequest("file", 30);
+        for (int line = 20; line > 0; line--) {
+            request.addLineNumber(line);
+        }
+        request.addLineNumber(10);
+        setDetails(request, 10);
+
+        assertThat(request).hasSize(21).startsWith(1, 2, 3).endsWith(19, 20, 30);
+        verifyDetails(request, 10);
+        assertThat(request.getCommit(9)).isEqualTo(EMPTY);
+    }
+
+    @Test
+    void shouldWriteAndReadCompactXml() {
+        BlameRequest request = new BlameRequest("file", 1).addLineNumber(2).addLineNumber(3);
+        setDetails(request, 1);
+        setDetails(request, 3);
+
+        XStream xStream = createStream();
+        String xml = xStream.toXML(request);
+
+        assertThat(xml).contains("<lines>1,2,3</lines>").contains("<commits>0,-1,0</commits>");
+        assertThat(xStream.fromXML(xml)).isEqualTo(request);
+    }
+
+    @Test
+    void shouldReadXmlOfPreviousVersion() {
+        String xml = "<io.jenkins.plugins.analysis.core.scm.BlameRequest>\n"
+                + "  <fileName>file</fileName>\n"
+                + "  <lines><int>1</int><int>2</int></lines>\n"
+                + "  <commitByLine><entry><int>1</int><string>commit</string></entry></commitByLine>\n"
+                + "  <nameByLine><entry><int>1</int><string>name</string></entry></nameByLine>\n"
+                + "  <emailByLine><entry><int>1</int><string>email</string></entry></emailByLine>\n"
+                + "</io.jenkins.plugins.analysis.core.scm.BlameRequest>";
+
+        BlameRequest request = (BlameRequest) createStream().fromXML(xml);
+
+        assertThat(request.getFileName()).isEqualTo("file");
+        assertThat(request).containsExactly(1, 2);
+        verifyDetails(request, 1);
+        assertThat(request.getCommit(2)).isEqualTo(EMPTY);
+        assertThat(request.getName(2)).isEqualTo(EMPTY);
+        assertThat(request.getEmail(2)).isEqualTo(EMPTY);
+    }
+
+    private XStream createStream() {
+        XStream xStream = new XStream();
+        xStream.registerConverter(new BlameRequestConverter());
+        return xStream;
+    }
+
     @Test
     void shouldReturnMeaningfulDefaults() {
         BlameRequest request = new BlameRequest("file", 1);
@@ -81,4 +143,45 @@ class BlameRequestTest {
         assertThat(request.getName(2)).isEqualTo(EMPTY);
     }
 
+    @Test
+    void shouldAddLinesThatAreSetButNotRequested() {
+        BlameRequest request = new BlameRequest("file", 1);
+
+        setDetails(request, 5);
+
+        assertThat(request).containsExactly(1, 5);
+        verifyDetails(request, 5);
+    }
+
+    @Test
+    void shouldCompareAndMergeConcurrentlyWithoutDeadlock() throws Exception {
+        BlameRequest first = new BlameRequest("file", 1);
+        BlameRequest second = new BlameRequest("file", 2);
+        setDetails(first, 1);
+        setDetails(second, 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> forward = executor.submit(() -> compareAndMerge(first, second));
+            Future<?> backward = executor.submit(() -> compareAndMerge(second, first));
+
+            forward.get(1, TimeUnit.MINUTES);
+            backward.get(1, TimeUnit.MINUTES);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(first).containsExactly(1, 2).isEqualTo(second);
+    }
+
+    private int compareAndMerge(final BlameRequest request, final BlameRequest other) {
+        int equal = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (request.equals(other)) {
+                equal++;
+            }
+            request.merge(other);
+        }
+        return equal;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package io.jenkins.plugins.analysis.core.scm;
 
+import java.io.IOException;
+
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.JGitInternalException;
 import org.eclipse.jgit.api.errors.NoHeadException;
@@ -11,6 +13,7 @@ import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.jupiter.api.Test;
 import org.jvnet.hudson.test.Issue;
 
+import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Report;
 
 import io.jenkins.plugins.analysis.core.scm.GitBlamer.BlameCallback;
@@ -99,6 +102,142 @@ class GitBlameRunnerTest {
         assertThat(request.getCommit(3)).isEqualTo("-");
     }
 
+    @Test
+    void shouldRunBlameCommandsConcurrently() throws GitAPIException, InterruptedException {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        for (int file = 0; file < 10; file++) {
+            report.add(builder.setFileName(WORKSPACE + "/file" + file).setLineStart(1).build());
+            report.add(builder.setLineStart(2).build());
+        }
+        BlameCallback callback = new BlameCallback(report, mock(ObjectId.class), WORKSPACE, 4, new BlameCache());
+
+        BlameResult result = createResult(2);
+        createResultForLine(result, 0);
+        createResultForLine(result, 1);
+        BlameRunner blameRunner = mock(BlameRunner.class);
+        when(blameRunner.run(anyString())).thenReturn(result);
+
+        Blames blames = callback.blame(blameRunner);
+
+        assertThat(blames.size()).isEqualTo(10);
+        for (BlameRequest request : blames.getRequests()) {
+            verifyResult(request, 1);
+            verifyResult(request, 2);
+        }
+        assertThat(report.getInfoMessages()).contains("-> running Git blame using 4 threads",
+                "-> blamed authors of issues in 10 files");
+        assertThat(report.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReuseBlamesOfUnchangedBlobs() throws GitAPIException, IOException, InterruptedException {
+        BlameCache cache = new BlameCache();
+
+        BlameRunner blameRunner = mock(BlameRunner.class);
+        BlameResult result = createResult(2);
+        createResultForLine(result, 0);
+        createResultForLine(result, 1);
+        when(blameRunner.run("file")).thenReturn(result);
+        when(blameRunner.getBlobId("file")).thenReturn("blob");
+
+        Report first = createReportWithTwoLines();
+        new BlameCallback(first, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(first.getInfoMessages()).contains(
+                "-> reused cached blames for 0 files, invoking Git blame for 1 files");
+
+        Report second = createReportWithTwoLines();
+        Blames blames = new BlameCallback(second, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(second.getInfoMessages()).contains(
+                "-> reused cached blames for 1 files, invoking Git blame for 0 files");
+        verify(blameRunner, times(1)).run("file");
+
+        BlameRequest request = blames.get(WORKSPACE + "/file");
+        verifyResult(request, 1);
+        verifyResult(request, 2);
+
+        when(blameRunner.getBlobId("file")).thenReturn("changed");
+        Report changed = createReportWithTwoLines();
+        new BlameCallback(changed, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(changed.getInfoMessages()).contains(
+                "-> reused cached blames for 0 files, invoking Git blame for 1 files");
+    }
+
+    @Test
+    void shouldNotCacheFailedBlames() throws GitAPIException, IOException, InterruptedException {
+        BlameCache cache = new BlameCache();
+
+        BlameRunner blameRunner = mock(BlameRunner.class);
+        when(blameRunner.run("file")).thenThrow(JGitInternalException.class);
+        when(blameRunner.getBlobId("file")).thenReturn("blob");
+
+        new BlameCallback(createReportWithTwoLines(), mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(cache.size()).isZero();
+
+        Report second = createReportWithTwoLines();
+        new BlameCallback(second, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(second.getInfoMessages()).contains(
+                "-> reused cached blames for 0 files, invoking Git blame for 1 files");
+        verify(blameRunner, times(2)).run("file");
+    }
+
+    @Test
+    void shouldKeepFilesThatAreNotAffectedInSingleRuns() throws GitAPIException, IOException, InterruptedException {
+        BlameCache cache = new BlameCache();
+        BlameRunner blameRunner = createCachingBlameRunner();
+
+        new BlameCallback(createReportWithTwoLines(), mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        new BlameCallback(createReportForOtherFile(), mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(cache.size()).isEqualTo(2);
+
+        Report first = createReportWithTwoLines();
+        new BlameCallback(first, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(first.getInfoMessages()).contains(
+                "-> reused cached blames for 1 files, invoking Git blame for 0 files");
+    }
+
+    @Test
+    void shouldRemoveFilesThatAreNotAffectedAnymore() throws GitAPIException, IOException, InterruptedException {
+        BlameCache cache = new BlameCache();
+        BlameRunner blameRunner = createCachingBlameRunner();
+
+        new BlameCallback(createReportWithTwoLines(), mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        for (int run = 0; run < BlameCache.MAX_UNUSED_RUNS; run++) {
+            new BlameCallback(createReportForOtherFile(), mock(ObjectId.class), WORKSPACE, 1, cache)
+                    .blame(blameRunner);
+        }
+        assertThat(cache.size()).isEqualTo(1);
+
+        Report first = createReportWithTwoLines();
+        new BlameCallback(first, mock(ObjectId.class), WORKSPACE, 1, cache).blame(blameRunner);
+        assertThat(first.getInfoMessages()).contains(
+                "-> reused cached blames for 0 files, invoking Git blame for 1 files");
+    }
+
+    private BlameRunner createCachingBlameRunner() throws GitAPIException, IOException {
+        BlameRunner blameRunner = mock(BlameRunner.class);
+        BlameResult result = createResult(2);
+        createResultForLine(result, 0);
+        createResultForLine(result, 1);
+        when(blameRunner.run(anyString())).thenReturn(result);
+        when(blameRunner.getBlobId(anyString())).thenReturn("blob");
+        return blameRunner;
+    }
+
+    private Report createReportForOtherFile() {
+        Report report = new Report();
+        report.add(new IssueBuilder().setFileName(WORKSPACE + "/other").setLineStart(1).build());
+        return report;
+    }
+
+    private Report createReportWithTwoLines() {
+        IssueBuilder builder = new IssueBuilder().setFileName(WORKSPACE + "/file");
+        Report report = new Report();
+        report.add(builder.setLineStart(1).build());
+        report.add(builder.setLineStart(2).build());
+        return report;
+    }
+
     private BlameResult createResult(final int size) {
         RawText resultSize = createResultSize(size);
         BlameResult result = mock(BlameResult.class);
@@ -10,8 +10,10 @@ import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.model.JobAction;
 import io.jenkins.plugins.analysis.core.model.LabelProviderFactory;
 import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.analysis.core.model.ResultSummary;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ToolSelection;
+import io.jenkins.plugins.analysis.core.util.QualityGateStatus;
 
 import static org.mockito.Mockito.*;
 
@@ -115,6 +117,8 @@ public final class JobStubs {
         ResultAction resultAction = mock(ResultAction.class);
         when(jobAction.getLatestAction()).thenReturn(Optional.of(resultAction));
         when(jobAction.getId()).thenReturn(id);
+        when(jobAction.getLatestSummary()).thenReturn(
+                Optional.of(new ResultSummary(id, name, id, url(id), 1, size, QualityGateStatus.INACTIVE)));
 
         AnalysisResult result = mock(AnalysisResult.class);
         when(result.getTotalSize()).thenReturn(size);
@@ -0,0 +1,102 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link AffectedFilesCompressor}.
+ *
+ * @author Ullrich Hafner
+ */
+class AffectedFilesCompressorTest {
+    private static final String DIGEST = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final String TEMP_NAME = "1a2b3c.tmp";
+    private static final String CONTENT = "public class Test {}";
+
+    private Path folder;
+
+    @BeforeEach
+    void createFolder() throws IOException {
+        folder = Files.createTempDirectory("affected-files");
+    }
+
+    @AfterEach
+    void deleteFolder() throws IOException {
+        FileUtils.deleteDirectory(folder.toFile());
+    }
+
+    @Test
+    void shouldCompressAffectedFilesOfStoreAndBuildFolders() throws IOException {
+        Path stored = createFile(DIGEST);
+        Path legacy = createFile(TEMP_NAME);
+        Path manifest = createFile("checkstyle" + AffectedFilesStore.MANIFEST_SUFFIX);
+        Path references = createFile("references.txt");
+
+        assertThat(AffectedFilesCompressor.compressFolder(folder, 0)).isEqualTo(2);
+
+        assertThat(stored).doesNotExist();
+        assertThat(legacy).doesNotExist();
+        assertThat(manifest).exists();
+        assertThat(references).exists();
+        assertThat(folder.resolve(DIGEST + AffectedFilesCompressor.COMPRESSED_SUFFIX)).exists();
+
+        assertThat(read(AffectedFilesCompressor.resolve(stored))).isEqualTo(CONTENT);
+        assertThat(read(AffectedFilesCompressor.resolve(legacy))).isEqualTo(CONTENT);
+
+        assertThat(AffectedFilesCompressor.compressFolder(folder, 0)).isZero();
+    }
+
+    @Test
+    void shouldSkipRecentlyModifiedFiles() throws IOException {
+        Path recent = createFile(DIGEST);
+        Path old = createFile(TEMP_NAME);
+        Files.setLastModifiedTime(old, FileTime.fromMillis(System.currentTimeMillis() - 120_000));
+
+        assertThat(AffectedFilesCompressor.compressFolder(folder, 60_000)).isEqualTo(1);
+
+        assertThat(recent).exists();
+        assertThat(old).doesNotExist();
+    }
+
+    @Test
+    void shouldCompressRemainingFilesIfAFileCannotBeCompressed() throws IOException {
+        Path broken = Files.createDirectory(folder.resolve(TEMP_NAME));
+        Path stored = createFile(DIGEST);
+
+        assertThat(AffectedFilesCompressor.compressFolder(folder, 0)).isEqualTo(1);
+
+        assertThat(broken).isDirectory();
+        assertThat(stored).doesNotExist();
+        assertThat(read(AffectedFilesCompressor.resolve(stored))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldReadUncompressedFiles() throws IOException {
+        Path file = createFile(DIGEST);
+
+        assertThat(AffectedFilesCompressor.resolve(file)).isEqualTo(file);
+        assertThat(read(file)).isEqualTo(CONTENT);
+    }
+
+    private String read(final Path file) throws IOException {
+        try (InputStream stream = AffectedFilesCompressor.open(file)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private Path createFile(final String fileName) throws IOException {
+        return Files.write(folder.resolve(fileName), CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,7 +2,12 @@ package io.jenkins.plugins.analysis.core.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -12,6 +17,8 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import hudson.FilePath;
+import hudson.model.Job;
+import hudson.model.Run;
 
 /**
  * Tests the class {@link AffectedFilesResolver}.
@@ -19,21 +26,59 @@ import hudson.FilePath;
  * @author Ullrich Hafner
  */
 class AffectedFilesResolverTest {
-    private static final FilePath BUILD_ROOT = new FilePath(new File("builds"));
-
     /** Ensures that illegal file names are processed without problems. */
     @ParameterizedTest(name = "[{index}] Illegal filename = {0}")
     @ValueSource(strings = {"/does/not/exist", "!<>$$&%/&(", "\0 Null-Byte"})
-    void shouldReturnFallbackOnError(final String fileName) throws IOException, InterruptedException {
+    void shouldReturnFallbackOnError(final String fileName) {
         Report report = new Report().add(new IssueBuilder().setFileName(fileName).build());
         
-        new AffectedFilesResolver().copyFilesWithAnnotationsToBuildFolder(report, BUILD_ROOT, mock(File.class));
+        assertThat(new AffectedFilesResolver().computeDigests(report, mock(File.class))).isEmpty();
 
         assertThat(report.getInfoMessages()).hasSize(1);
         String message = report.getInfoMessages().get(0);
-        assertThat(message).contains("0 copied");
+        assertThat(message).contains("0 in workspace");
         assertThat(message).contains("0 not in workspace");
         assertThat(message).contains("1 not-found");
         assertThat(message).contains("0 with I/O error");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCopyAllAffectedFilesInBulk() throws IOException, InterruptedException {
+        Path workspace = Files.createTempDirectory("workspace");
+        Path jobFolder = Files.createTempDirectory("job");
+        try {
+            Path first = createFile(workspace.resolve("first.txt"), "first");
+            Path second = createFile(workspace.resolve("module/second.txt"), "second");
+            Report report = new Report()
+                    .add(new IssueBuilder().setFileName(first.toString()).build())
+                    .add(new IssueBuilder().setFileName(second.toString()).build())
+                    .add(new IssueBuilder().setFileName(workspace.resolve("missing.txt").toString()).build());
+
+            Job<?, ?> job = mock(Job.class);
+            when(job.getRootDir()).thenReturn(jobFolder.toFile());
+            Run<?, ?> run = mock(Run.class);
+            doReturn(job).when(run).getParent();
+            when(run.getRootDir()).thenReturn(Files.createDirectory(jobFolder.resolve("1")).toFile());
+
+            AffectedFilesResolver resolver = new AffectedFilesResolver();
+            resolver.copyFilesToStore(report, resolver.computeDigests(report, workspace.toFile()),
+                    new FilePath(workspace.toFile()), run, "checkstyle", false);
+
+            assertThat(report.getInfoMessages()).containsExactly(
+                    "-> 2 in workspace, 0 not in workspace, 1 not-found, 0 with I/O error",
+                    "-> 2 files have been transferred, 0 unchanged files are already stored in the job");
+
+            assertThat(AffectedFilesResolver.getFile(run, first.toString())).hasContent("first");
+            assertThat(AffectedFilesResolver.getFile(run, second.toString())).hasContent("second");
+        }
+        finally {
+            FileUtils.deleteDirectory(workspace.toFile());
+            FileUtils.deleteDirectory(jobFolder.toFile());
+        }
+    }
+
+    private Path createFile(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8)).toRealPath();
+    }
+}
@@ -0,0 +1,262 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+
+import hudson.FilePath;
+import hudson.model.Job;
+import hudson.model.Run;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link AffectedFilesStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class AffectedFilesStoreTest {
+    private static final String ID = "checkstyle";
+
+    private Path workspace;
+    private Path jobFolder;
+    private Job<?, ?> job;
+
+    @BeforeEach
+    void createFolders() throws IOException {
+        workspace = Files.createTempDirectory("workspace");
+        jobFolder = Files.createTempDirectory("job");
+        job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(jobFolder.toFile());
+    }
+
+    @AfterEach
+    void deleteFolders() throws IOException {
+        FileUtils.deleteDirectory(workspace.toFile());
+        FileUtils.deleteDirectory(jobFolder.toFile());
+    }
+
+    @Test
+    void shouldStoreUnchangedFilesOnlyOnce() throws IOException, InterruptedException {
+        Path unchanged = createFile("unchanged.txt", "unchanged");
+        Path changed = createFile("changed.txt", "before");
+
+        Run<?, ?> first = createRun(1);
+        Report firstReport = copyAffectedFiles(first, unchanged, changed);
+        assertThat(firstReport.getInfoMessages()).contains(
+                "-> 2 in workspace, 0 not in workspace, 0 not-found, 0 with I/O error",
+                "-> 2 files have been transferred, 0 unchanged files are already stored in the job");
+
+        Files.write(changed, "after".getBytes(StandardCharsets.UTF_8));
+
+        Run<?, ?> second = createRun(2);
+        Report secondReport = copyAffectedFiles(second, unchanged, changed);
+        assertThat(secondReport.getInfoMessages()).contains(
+                "-> 2 in workspace, 0 not in workspace, 0 not-found, 0 with I/O error",
+                "-> 1 files have been transferred, 1 unchanged files are already stored in the job");
+
+        assertThat(AffectedFilesResolver.getFile(first, unchanged.toString()))
+                .isEqualTo(AffectedFilesResolver.getFile(second, unchanged.toString()))
+                .hasContent("unchanged");
+        assertThat(AffectedFilesResolver.getFile(first, changed.toString())).hasContent("before");
+        assertThat(AffectedFilesResolver.getFile(second, changed.toString())).hasContent("after");
+    }
+
+    @Test
+    void shouldDeleteStoredFilesThatAreNotReferencedAnymore() throws IOException, InterruptedException {
+        Path unchanged = createFile("unchanged.txt", "unchanged");
+        Path changed = createFile("changed.txt", "before");
+
+        Run<?, ?> first = createRun(1);
+        copyAffectedFiles(first, unchanged, changed);
+        Path before = AffectedFilesResolver.getFile(first, changed.toString());
+
+        Files.write(changed, "after".getBytes(StandardCharsets.UTF_8));
+        Run<?, ?> second = createRun(2);
+        copyAffectedFiles(second, unchanged, changed);
+        Path after = AffectedFilesResolver.getFile(second, changed.toString());
+        Path shared = AffectedFilesResolver.getFile(second, unchanged.toString());
+
+        assertThat(AffectedFilesStore.readReferences(AffectedFilesStore.getStoreFolder(job)))
+                .hasSize(3).containsEntry(shared.getFileName().toString(), 2);
+
+        AffectedFilesStore.unregister(first);
+        assertThat(before).doesNotExist();
+        assertThat(after).exists();
+        assertThat(shared).exists();
+
+        AffectedFilesStore.unregister(second);
+        assertThat(after).doesNotExist();
+        assertThat(shared).doesNotExist();
+        assertThat(AffectedFilesStore.readReferences(AffectedFilesStore.getStoreFolder(job))).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseReferencesOfReplacedManifest() throws IOException, InterruptedException {
+        Path file = createFile("file.txt", "before");
+
+        Run<?, ?> run = createRun(1);
+        copyAffectedFiles(run, file);
+        Path before = AffectedFilesResolver.getFile(run, file.toString());
+
+        Files.write(file, "after".getBytes(StandardCharsets.UTF_8));
+        copyAffectedFiles(run, file);
+        Path after = AffectedFilesResolver.getFile(run, file.toString());
+
+        assertThat(before).doesNotExist();
+        assertThat(after).hasContent("after");
+        assertThat(AffectedFilesStore.readReferences(AffectedFilesStore.getStoreFolder(job)))
+                .hasSize(1).containsEntry(after.getFileName().toString(), 1);
+    }
+
+    @Test
+    void shouldDeleteOrphanedFilesWhenBuildIsDeleted() throws IOException, InterruptedException {
+        Path file = createFile("file.txt", "referenced");
+        Run<?, ?> first = createRun(1);
+        copyAffectedFiles(first, file);
+        Path referenced = AffectedFilesResolver.getFile(first, file.toString());
+
+        Path storeFolder = AffectedFilesStore.getStoreFolder(job);
+        Path orphan = createStoredFile(storeFolder, StringUtils.repeat('a', 64), TimeUnit.HOURS.toMillis(2));
+        Path recent = createStoredFile(storeFolder, StringUtils.repeat('b', 64), 0);
+        Path incoming = Files.createDirectory(storeFolder.resolve(".incoming-1"));
+        Files.setLastModifiedTime(incoming,
+                FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)));
+
+        AffectedFilesStore.unregister(createRun(2));
+
+        assertThat(referenced).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(incoming).doesNotExist();
+    }
+
+    @Test
+    void shouldStoreCompressedFiles() throws IOException, InterruptedException {
+        Path file = createFile("compressed.txt", "compressed");
+
+        Run<?, ?> first = createRun(1);
+        Report report = copyAffectedFiles(first, true, file);
+        assertThat(report.getInfoMessages()).contains(
+                "-> 1 files have been transferred, 0 unchanged files are already stored in the job");
+
+        Path stored = AffectedFilesResolver.getFile(first, file.toString());
+        assertThat(stored.getFileName().toString()).endsWith(AffectedFilesCompressor.COMPRESSED_SUFFIX);
+        try (InputStream stream = AffectedFilesResolver.asStream(first, file.toString())) {
+            assertThat(IOUtils.toString(stream, StandardCharsets.UTF_8)).isEqualTo("compressed");
+        }
+
+        Run<?, ?> second = createRun(2);
+        assertThat(copyAffectedFiles(second, false, file).getInfoMessages()).contains(
+                "-> 0 files have been transferred, 1 unchanged files are already stored in the job");
+        assertThat(AffectedFilesResolver.getFile(second, file.toString())).isEqualTo(stored);
+    }
+
+    @Test
+    void shouldFallBackToFilesInBuildFolderIfThereIsNoManifest() throws IOException {
+        Run<?, ?> run = createRun(1);
+
+        assertThat(AffectedFilesResolver.getFile(run, "/workspace/file.txt"))
+                .hasParent(run.getRootDir().toPath().resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME));
+    }
+
+    @Test
+    void shouldRejectMaliciousDigests() throws IOException, InterruptedException {
+        Path valid = createFile("valid.txt", "valid");
+        Path malicious = createFile("malicious.txt", "malicious");
+        Path target = jobFolder.resolve("config.xml");
+        Files.write(target, "config".getBytes(StandardCharsets.UTF_8));
+
+        Report report = new Report();
+        report.add(new IssueBuilder().setFileName(valid.toString()).build());
+        report.add(new IssueBuilder().setFileName(malicious.toString()).build());
+        AffectedFilesResolver resolver = new AffectedFilesResolver();
+        Map<String, String> digests = resolver.computeDigests(report, workspace.toFile());
+        digests.put(malicious.toString(), "../config.xml");
+        digests.put(workspace.resolve("injected.txt").toString() + "\n" + StringUtils.repeat('c', 64),
+                StringUtils.repeat('d', 64));
+
+        Run<?, ?> run = createRun(1);
+        resolver.copyFilesToStore(report, digests, new FilePath(workspace.toFile()), run, ID, false);
+
+        assertThat(report.getErrorMessages()).contains(
+                String.format("- '%s', invalid digest '../config.xml'", malicious));
+        assertThat(report.getInfoMessages()).contains(
+                "-> 1 files have been transferred, 0 unchanged files are already stored in the job");
+        assertThat(target).hasContent("config");
+        assertThat(AffectedFilesStore.readManifests(
+                run.getRootDir().toPath().resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME)))
+                .containsOnlyKeys(valid.toString());
+        assertThat(AffectedFilesResolver.getFile(run, valid.toString())).hasContent("valid");
+
+        Map<String, String> manifest = new HashMap<>();
+        manifest.put(malicious.toString(), "../config.xml");
+        assertThatIllegalArgumentException().isThrownBy(() -> AffectedFilesStore.writeManifest(run, ID, manifest));
+
+        AffectedFilesStore.unregister(run);
+        assertThat(target).hasContent("config");
+    }
+
+    @Test
+    void shouldIgnoreInvalidDigestsInManifest() throws IOException {
+        Run<?, ?> run = createRun(1);
+        Path affectedFilesFolder = Files.createDirectories(
+                run.getRootDir().toPath().resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME));
+        String traversal = StringUtils.rightPad("../../config.xml", 64, '/');
+        Files.write(affectedFilesFolder.resolve(ID + AffectedFilesStore.MANIFEST_SUFFIX),
+                (traversal + " /workspace/file.txt\n").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(AffectedFilesStore.readManifests(affectedFilesFolder)).isEmpty();
+        assertThat(AffectedFilesResolver.getFile(run, "/workspace/file.txt")).hasParent(affectedFilesFolder);
+    }
+
+    private Report copyAffectedFiles(final Run<?, ?> run, final Path... files) throws InterruptedException {
+        return copyAffectedFiles(run, false, files);
+    }
+
+    private Report copyAffectedFiles(final Run<?, ?> run, final boolean compress, final Path... files)
+            throws InterruptedException {
+        Report report = new Report();
+        for (Path file : files) {
+            report.add(new IssueBuilder().setFileName(file.toString()).build());
+        }
+        AffectedFilesResolver resolver = new AffectedFilesResolver();
+        resolver.copyFilesToStore(report, resolver.computeDigests(report, workspace.toFile()),
+                new FilePath(workspace.toFile()), run, ID, compress);
+        return report;
+    }
+
+    private Run<?, ?> createRun(final int number) throws IOException {
+        Run<?, ?> run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getRootDir()).thenReturn(Files.createDirectories(jobFolder.resolve(String.valueOf(number))).toFile());
+        return run;
+    }
+
+    private Path createStoredFile(final Path storeFolder, final String digest, final long age) throws IOException {
+        Path file = Files.write(storeFolder.resolve(digest), digest.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - age));
+        return file;
+    }
+
+    private Path createFile(final String fileName, final String content) throws IOException {
+        return Files.write(workspace.resolve(fileName), content.getBytes(StandardCharsets.UTF_8)).toRealPath();
+    }
+}
@@ -0,0 +1,129 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ConsoleLogIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class ConsoleLogIndexTest {
+    private static final String[] LINE_TERMINATORS = {"\n", "\r\n", "\r", "\n\n"};
+    private static final int LINES = 3 * ConsoleLogIndex.INTERVAL + 500;
+
+    @Test
+    void shouldReadLinesAroundIndexedLines() throws IOException {
+        byte[] log = createLog();
+        List<String> expected = readAllLines(log);
+
+        ConsoleLogIndex index = record(log);
+        assertThat(index.getLineCount()).isEqualTo(expected.size());
+        assertThat(index.getLength()).isEqualTo(log.length);
+
+        Path logFile = Files.createTempFile("console", ".log");
+        try {
+            Files.write(logFile, log);
+
+            int[] firstLines = {1, 2, ConsoleLogIndex.INTERVAL - 1, ConsoleLogIndex.INTERVAL,
+                    ConsoleLogIndex.INTERVAL + 1, 2 * ConsoleLogIndex.INTERVAL + 7, expected.size() - 3};
+            for (int firstLine : firstLines) {
+                int lastLine = firstLine + 20;
+                assertThat(readLines(index, logFile, firstLine, lastLine))
+                        .as("Lines %d-%d", firstLine, lastLine)
+                        .isEqualTo(expected.subList(firstLine - 1, Math.min(lastLine, expected.size())));
+            }
+            assertThat(readLines(index, logFile, expected.size() + 10, expected.size() + 20)).isEmpty();
+        }
+        finally {
+            Files.delete(logFile);
+        }
+    }
+
+    @Test
+    void shouldWriteAndReadIndex() throws IOException {
+        ConsoleLogIndex index = record(createLog());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(output);
+        ConsoleLogIndex read = ConsoleLogIndex.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(read.getLineCount()).isEqualTo(index.getLineCount());
+        assertThat(read.getLength()).isEqualTo(index.getLength());
+    }
+
+    @Test
+    void shouldReplaceSavedIndexWithoutLeavingTemporaryFiles() throws IOException {
+        Path folder = Files.createTempDirectory("build");
+        try {
+            Path indexFile = folder.resolve(ConsoleLogIndex.FILE_NAME);
+            record(createLog()).save(indexFile);
+
+            ConsoleLogIndex smaller = record("line\n".getBytes(StandardCharsets.UTF_8));
+            smaller.save(indexFile);
+
+            assertThat(ConsoleLogIndex.load(indexFile)).hasValueSatisfying(
+                    read -> assertThat(read.getLineCount()).isEqualTo(smaller.getLineCount()));
+            try (Stream<Path> files = Files.list(folder)) {
+                assertThat(files).containsExactly(indexFile);
+            }
+        }
+        finally {
+            FileUtils.deleteDirectory(folder.toFile());
+        }
+    }
+
+    @Test
+    void shouldIndexOnlyCharsetsWithSingleByteLineTerminators() {
+        assertThat(ConsoleLogIndex.canIndex(StandardCharsets.UTF_8)).isTrue();
+        assertThat(ConsoleLogIndex.canIndex(StandardCharsets.ISO_8859_1)).isTrue();
+        assertThat(ConsoleLogIndex.canIndex(StandardCharsets.UTF_16)).isFalse();
+    }
+
+    private List<String> readLines(final ConsoleLogIndex index, final Path logFile, final int firstLine,
+            final int lastLine) throws IOException {
+        try (Stream<String> lines = index.readLines(logFile, StandardCharsets.UTF_8, firstLine, lastLine)) {
+            return lines.collect(Collectors.toList());
+        }
+    }
+
+    private ConsoleLogIndex record(final byte[] log) throws IOException {
+        ConsoleLogIndex.Recorder recorder = new ConsoleLogIndex.Recorder(new ByteArrayInputStream(log));
+        readAllLines(recorder);
+        return recorder.getIndex();
+    }
+
+    private List<String> readAllLines(final byte[] log) throws IOException {
+        return readAllLines(new ByteArrayInputStream(log));
+    }
+
+    private List<String> readAllLines(final InputStream stream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private byte[] createLog() {
+        StringBuilder log = new StringBuilder();
+        for (int line = 1; line <= LINES; line++) {
+            log.append("[INFO] Line ").append(line).append(" über");
+            log.append(LINE_TERMINATORS[line % LINE_TERMINATORS.length]);
+        }
+        return log.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
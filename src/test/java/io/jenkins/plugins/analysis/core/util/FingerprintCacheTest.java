@@ -0,0 +1,111 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.FullTextFingerprint;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link FingerprintCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class FingerprintCacheTest {
+    private static final String ALL_MISSES = "-> reused 0 fingerprints from cache (hits), computed 2 fingerprints (misses)";
+    private static final String ALL_HITS = "-> reused 2 fingerprints from cache (hits), computed 0 fingerprints (misses)";
+
+    @Test
+    void shouldReuseFingerprintsOfUnchangedFiles() throws IOException {
+        Path file = createSourceFile("first", "second", "third");
+        try {
+            FingerprintCache cache = new FingerprintCache(StandardCharsets.UTF_8);
+
+            Report first = createReport(file);
+            cache.createFingerprints(new FullTextFingerprint(), first);
+            assertThat(first.getInfoMessages()).contains(ALL_MISSES);
+            assertThat(cache.size()).isEqualTo(2);
+
+            Report second = createReport(file);
+            cache.createFingerprints(new FullTextFingerprint(), second);
+            assertThat(second.getInfoMessages()).contains(ALL_HITS);
+
+            for (int i = 0; i < first.size(); i++) {
+                assertThat(second.get(i).getFingerprint()).isEqualTo(first.get(i).getFingerprint());
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldComputeFingerprintsOfChangedFiles() throws IOException {
+        Path file = createSourceFile("first", "second", "third");
+        try {
+            FingerprintCache cache = new FingerprintCache(StandardCharsets.UTF_8);
+            cache.createFingerprints(new FullTextFingerprint(), createReport(file));
+
+            Files.write(file, Arrays.asList("changed", "second", "third"), StandardCharsets.UTF_8);
+
+            Report changed = createReport(file);
+            cache.createFingerprints(new FullTextFingerprint(), changed);
+            assertThat(changed.getInfoMessages()).contains(ALL_MISSES);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldWriteAndReadCache() throws IOException {
+        Path file = createSourceFile("first", "second", "third");
+        try {
+            FingerprintCache cache = new FingerprintCache(StandardCharsets.UTF_8);
+            cache.createFingerprints(new FullTextFingerprint(), createReport(file));
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            cache.write(output);
+            FingerprintCache restored = FingerprintCache.read(new ByteArrayInputStream(output.toByteArray()));
+
+            assertThat(restored.size()).isEqualTo(2);
+
+            Report report = createReport(file);
+            restored.createFingerprints(new FullTextFingerprint(), report);
+            assertThat(report.getInfoMessages()).contains(ALL_HITS);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> FingerprintCache.read(new ByteArrayInputStream(new byte[] {1, 2, 3})))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Path createSourceFile(final String... lines) throws IOException {
+        Path file = Files.createTempFile("fingerprint", ".txt");
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private Report createReport(final Path file) {
+        IssueBuilder builder = new IssueBuilder().setFileName(file.toString());
+        Report report = new Report();
+        report.add(builder.setLineStart(1).setLineEnd(1).build());
+        report.add(builder.setLineStart(3).setLineEnd(3).build());
+        return report;
+    }
+}
@@ -0,0 +1,28 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import hudson.FilePath;
+import hudson.slaves.WorkspaceList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link WorkspaceCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class WorkspaceCacheTest {
+    @Test
+    void shouldStoreCacheInTemporaryFolderOfWorkspace() {
+        FilePath workspace = new FilePath(new File("workspace").getAbsoluteFile());
+
+        String cache = WorkspaceCache.getFile(workspace, "open-tasks", "files");
+
+        FilePath temporaryFolder = WorkspaceList.tempDir(workspace);
+        assertThat(temporaryFolder).isNotNull();
+        assertThat(cache).isEqualTo(new File(temporaryFolder.getRemote(), "open-tasks-files.cache").getPath());
+    }
+}
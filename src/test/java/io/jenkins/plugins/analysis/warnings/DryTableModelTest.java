@@ -68,6 +68,11 @@ class DryTableModelTest {
         assertThat(columns.get(3)).isEqualTo("15");
         assertThat(columns.get(4)).contains("file-2:5").contains(duplicate.getId().toString());
         assertThat(columns.get(5)).isEqualTo("1");
+
+        assertThat(model.getSearchText(report, issue))
+                .contains("/path/to/file-1", "normal", "15", "/path/to/file-2");
+        assertThat(model.getSearchText(report, duplicate))
+                .contains("/path/to/file-2", "/path/to/file-1");
     }
 
     private DetailsTableModel createModel() {
@@ -54,5 +54,15 @@ class DynamicLineParserTest extends AbstractParserTest {
             assertThat(report.get(i)).hasBaseName(FILE_NAME).hasLineStart(i + 1).hasMessage(String.valueOf(i + 1));
         }
     }
-}
 
+    @Test
+    void shouldSkipLinesWithoutRequiredLiterals() {
+        DynamicLineParser parser = new DynamicLineParser("^(\\d+)x$",
+                "return builder.setLineStart(lineNumber).buildOptional()");
+        Report report = parser.parse(createReaderFactory(FILE_NAME));
+
+        assertThat(report).hasSize(0);
+        assertThat(report.getInfoMessages()).hasSize(1);
+        assertThat(report.getInfoMessages().get(0)).startsWith("-> literal prefilter [x] skipped 3 of 3 lines");
+    }
+}
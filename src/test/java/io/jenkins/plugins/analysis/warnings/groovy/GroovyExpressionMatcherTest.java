@@ -1,6 +1,9 @@
 package io.jenkins.plugins.analysis.warnings.groovy;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.eclipse.jgit.util.io.AutoLFInputStream.IsBinaryException;
@@ -73,4 +76,41 @@ class GroovyExpressionMatcherTest {
         Object result = matcher.run(null, new IssueBuilder(), 15, FILE_NAME);
         assertThat(result).isEqualTo(new IssueBuilder().setLineStart(15).setFileName("File.txt").buildOptional());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCreateNewScriptInstances() {
+        GroovyExpressionMatcher matcher = new GroovyExpressionMatcher(
+                "return builder.setLineStart(lineNumber).setFileName(fileName).buildOptional()");
+
+        Optional<Script> first = matcher.createScript();
+        Optional<Script> second = matcher.createScript();
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(first.get()).isNotSameAs(second.get());
+        assertThat(first.get().getClass()).isSameAs(second.get().getClass());
+
+        assertThat(matcher.createIssue(first.get(), null, new IssueBuilder(), 15, FILE_NAME))
+                .contains(new IssueBuilder().setLineStart(15).setFileName(FILE_NAME).build());
+    }
+
+    @Test
+    void shouldNotCreateScriptIfSourceCodeIsNotValid() {
+        assertThat(new GroovyExpressionMatcher(ILLEGAL_PARSER_SCRIPT).createScript()).isEmpty();
+    }
+
+    @Test
+    void shouldCreateIssuesConcurrently() {
+        GroovyExpressionMatcher matcher = new GroovyExpressionMatcher(
+                "return builder.setLineStart(lineNumber).setFileName(fileName).buildOptional()");
+
+        List<Object> results = IntStream.range(0, 1000)
+                .parallel()
+                .mapToObj(line -> matcher.run(null, new IssueBuilder(), line, FILE_NAME + line))
+                .collect(Collectors.toList());
+
+        for (int line = 0; line < results.size(); line++) {
+            assertThat(results.get(line)).isEqualTo(
+                    new IssueBuilder().setLineStart(line).setFileName(FILE_NAME + line).buildOptional());
+        }
+    }
+}
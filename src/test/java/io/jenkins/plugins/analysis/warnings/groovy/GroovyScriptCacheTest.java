@@ -0,0 +1,81 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.util.Collections;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.junit.jupiter.api.Test;
+
+import groovy.lang.Script;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link GroovyScriptCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class GroovyScriptCacheTest {
+    private static final String FIRST = "return Boolean.TRUE";
+    private static final String SECOND = "return Boolean.FALSE";
+    private static final String THIRD = "return null";
+
+    @Test
+    void shouldCompileScriptsOnlyOnce() {
+        GroovyScriptCache cache = new GroovyScriptCache(GroovyScriptCache.DEFAULT_MAXIMUM_SIZE);
+
+        Class<? extends Script> compiled = cache.getScriptClass(FIRST, () -> compile(FIRST));
+        assertThat(cache.getScriptClass(FIRST, this::failToCompile)).isSameAs(compiled);
+        assertThat(cache.getScriptClass(SECOND, () -> compile(SECOND))).isNotSameAs(compiled);
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getCompileCount()).isEqualTo(2);
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedClasses() {
+        GroovyScriptCache cache = new GroovyScriptCache(2);
+
+        cache.getScriptClass(FIRST, () -> compile(FIRST));
+        cache.getScriptClass(SECOND, () -> compile(SECOND));
+        cache.getScriptClass(FIRST, this::failToCompile);
+        cache.getScriptClass(THIRD, () -> compile(THIRD));
+
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        cache.getScriptClass(FIRST, this::failToCompile);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRetainClassesOfConfiguredScripts() {
+        GroovyScriptCache cache = new GroovyScriptCache(GroovyScriptCache.DEFAULT_MAXIMUM_SIZE);
+
+        cache.getScriptClass(FIRST, () -> compile(FIRST));
+        cache.getScriptClass(SECOND, () -> compile(SECOND));
+        cache.retainAll(Collections.singletonList(SECOND));
+
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+        cache.getScriptClass(SECOND, this::failToCompile);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheScriptsWithCompileErrors() {
+        GroovyScriptCache cache = new GroovyScriptCache(GroovyScriptCache.DEFAULT_MAXIMUM_SIZE);
+
+        assertThatThrownBy(() -> cache.getScriptClass("0:0", () -> compile("0:0")))
+                .isInstanceOf(CompilationFailedException.class);
+        assertThat(cache.getEntryCount()).isZero();
+        assertThat(cache.getCompileCount()).isZero();
+    }
+
+    private Class<? extends Script> compile(final String script) {
+        return new GroovyExpressionMatcher(script).compile().getClass();
+    }
+
+    private Class<? extends Script> failToCompile() {
+        throw new AssertionError("Script should not be compiled again");
+    }
+}
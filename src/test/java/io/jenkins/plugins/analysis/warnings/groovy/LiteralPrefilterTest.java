@@ -0,0 +1,78 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link LiteralPrefilter}.
+ *
+ * @author Ullrich Hafner
+ */
+class LiteralPrefilterTest {
+    @Test
+    void shouldExtractRequiredLiterals() {
+        assertThat(getLiterals("(.*):(\\d+):(\\d+): (\\D\\d*) (.*)")).containsExactly(": ");
+        assertThat(getLiterals("^\\s*\\[javac\\] (.*)\\.java:(\\d+): warning: (.*)$"))
+                .containsExactly(": warning: ", "[javac] ", ".java:");
+        assertThat(getLiterals("warning(s)?: (?<message>.*)")).containsExactly("warning", ": ");
+        assertThat(getLiterals("abc?d")).containsExactly("ab", "d");
+        assertThat(getLiterals("ab+c")).containsExactly("ab", "c");
+        assertThat(getLiterals("x{2,}y{0,3}z")).containsExactly("x", "z");
+        assertThat(getLiterals("\\QC++ (\\E[a-z]+")).containsExactly("C++ (");
+        assertThat(getLiterals("(?:ERROR)+ \\d+")).containsExactly("ERROR", " ");
+    }
+
+    @Test
+    void shouldNotExtractLiteralsOfAlternativesOrLookarounds() {
+        assertThat(getLiterals("error|warning")).isEmpty();
+        assertThat(getLiterals("(error|warning): (.*)")).containsExactly(": ");
+        assertThat(getLiterals("(?!skip)line")).containsExactly("line");
+        assertThat(getLiterals("[abc|]+ (foo)?")).containsExactly(" ");
+        assertThat(getLiterals("(\\w)\\1 \\x41\\u0042\\p{Alpha}\\012")).containsExactly(" ");
+    }
+
+    @Test
+    void shouldAcceptAllLinesIfExpressionUsesEmbeddedFlags() {
+        LiteralPrefilter prefilter = LiteralPrefilter.create("(?i)warning: (.*)");
+
+        assertThat(prefilter.isActive()).isFalse();
+        assertThat(prefilter.accepts("WARNING: something")).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "(.*):(\\d+):(\\d+): (\\D\\d*) (.*)",
+            "^\\s*\\[javac\\] (.*)\\.java:(\\d+): warning: (.*)$",
+            "warning(s)?: (?<message>.*)",
+            "ab+c",
+            "(error|warning): (.*)"})
+    void shouldNeverRejectMatchingLines(final String regexp) {
+        LiteralPrefilter prefilter = LiteralPrefilter.create(regexp);
+        Pattern pattern = Pattern.compile(regexp);
+
+        String[] lines = {
+                "optparse.py:69:11: E401 multiple imports on one line",
+                "  [javac] /path/Foo.java:12: warning: unchecked call",
+                "warnings: many",
+                "warning: one",
+                "abbbc",
+                "ac",
+                "error: 1",
+                "nothing to see here"};
+        for (String line : lines) {
+            if (pattern.matcher(line).find()) {
+                assertThat(prefilter.accepts(line)).as(line).isTrue();
+            }
+        }
+        assertThat(prefilter.accepts("nothing to see here")).isFalse();
+    }
+
+    private Iterable<String> getLiterals(final String regexp) {
+        return LiteralPrefilter.create(regexp).getLiterals();
+    }
+}
@@ -11,6 +11,7 @@ import io.jenkins.plugins.analysis.core.util.QualityGateStatus;
 import io.jenkins.plugins.analysis.core.steps.IssuesRecorder;
 import io.jenkins.plugins.analysis.core.testutil.IntegrationTestWithJenkinsPerSuite;
 import io.jenkins.plugins.analysis.core.model.FilesScanner;
+import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.warnings.checkstyle.CheckStyle;
 
 import hudson.model.FreeStyleProject;
@@ -130,6 +131,28 @@ public class FilesScannerITest extends IntegrationTestWithJenkinsPerSuite {
         assertThat(result).hasErrorMessages("Skipping file 'zero_length_file.xml' because it's empty");
     }
 
+    /**
+     * Runs the {@link FilesScanner} with several threads on a workspace with multiple files where some do match the
+     * criteria: the results should be the same as with a sequential scan.
+     */
+    @Test
+    public void findIssuesWithMultipleFilesInParallel() {
+        FreeStyleProject project = createJobWithWorkspaceFile(MULTIPLE_FILES_WORKSPACE);
+        ReportScanningTool tool = createTool(new CheckStyle(), "*.xml");
+        tool.setParallelism(4);
+        enableWarnings(project, tool);
+
+        AnalysisResult result = scheduleBuildAndAssertStatus(project, Result.SUCCESS);
+
+        assertThat(result).hasTotalSize(6);
+        assertThat(result).hasInfoMessages(
+                "Successfully parsed file " + getCheckStyleFile(project),
+                "-> found 6 issues (skipped 0 duplicates)",
+                "-> found 2 files",
+                "-> parsing files using 2 threads");
+        assertThat(result).hasErrorMessages("Skipping file 'zero_length_file.xml' because it's empty");
+    }
+
     /**
      * Runs the {@link FilesScanner} on a workspace with a correct file that can be parsed.
      */
@@ -1,5 +1,6 @@
 package io.jenkins.plugins.analysis.warnings.recorder;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -125,6 +126,41 @@ public class ReferenceFinderITest extends AbstractIssuesRecorderITest {
                         .hasReferenceBuild(Optional.of(expectedReference)));
     }
 
+    /**
+     * Checks if the reference is found in the previous builds if the indexed reference build has been deleted.
+     *
+     * @throws IOException
+     *         if the build could not be deleted
+     */
+    @Test
+    public void shouldFindReferenceIfIndexedReferenceHasBeenDeleted() throws IOException {
+        // #1 SUCCESS
+        FreeStyleProject project = createJob(JOB_NAME, "eclipse2Warnings.txt");
+        enableWarnings(project, recorder -> recorder.setUnstableNewAll(3));
+        Run<?, ?> expectedReference = scheduleBuildAndAssertStatus(project, Result.SUCCESS,
+                analysisResult -> assertThat(analysisResult)
+                        .hasTotalSize(2)
+                        .hasNewSize(0)
+                        .hasQualityGateStatus(QualityGateStatus.PASSED));
+
+        // #2 SUCCESS (deleted)
+        cleanAndCopy(project, "eclipse4Warnings.txt");
+        Run<?, ?> deleted = scheduleBuildAndAssertStatus(project, Result.SUCCESS,
+                analysisResult -> assertThat(analysisResult)
+                        .hasTotalSize(4)
+                        .hasNewSize(2)
+                        .hasQualityGateStatus(QualityGateStatus.PASSED));
+        deleted.delete();
+
+        // #3 SUCCESS (Reference #1)
+        scheduleBuildAndAssertStatus(project, Result.SUCCESS,
+                analysisResult -> assertThat(analysisResult)
+                        .hasTotalSize(4)
+                        .hasNewSize(2)
+                        .hasQualityGateStatus(QualityGateStatus.PASSED)
+                        .hasReferenceBuild(Optional.of(expectedReference)));
+    }
+
     private void createResetAction(final Run<?, ?> unstable, final String id) {
         ResetQualityGateCommand resetCommand = new ResetQualityGateCommand();
         resetCommand.resetReferenceBuild(unstable, id);
@@ -1,8 +1,14 @@
 package io.jenkins.plugins.analysis.warnings.tasks;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.jvnet.hudson.test.Issue;
 
@@ -20,6 +26,20 @@ import static edu.hm.hafner.analysis.assertj.Assertions.*;
  * @author Ullrich Hafner
  */
 class AgentScannerTest extends SerializableTest<AgentScanner> {
+    private static final int FILES = 20;
+
+    private Path workspace;
+
+    @BeforeEach
+    void createWorkspace() throws IOException {
+        workspace = Files.createTempDirectory("workspace");
+    }
+
+    @AfterEach
+    void deleteWorkspace() throws IOException {
+        FileUtils.deleteDirectory(workspace.toFile());
+    }
+
     @Override
     protected AgentScanner createSerializable() {
         return createScanner("**/*");
@@ -38,6 +58,69 @@ class AgentScannerTest extends SerializableTest<AgentScanner> {
         readUtf8File("RAC.CharacterConsts-UTF-8-NO-BOM.pas");
     }
 
+    @Test
+    void shouldFindSameTasksWhenScanningInParallel() throws IOException, InterruptedException {
+        createSourceFiles();
+
+        Report sequential = createScanner(1, "").invoke(workspace.toFile(), null);
+        Report parallel = createScanner(4, "").invoke(workspace.toFile(), null);
+
+        assertThat(sequential).hasSize(2 * FILES);
+        assertThat(parallel.getInfoMessages()).contains("-> scanning files using 4 threads");
+        assertThat(parallel).hasSize(sequential.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertThat(parallel.get(i)).isEqualTo(sequential.get(i));
+        }
+    }
+
+    @Test
+    void shouldReuseTasksOfUnchangedFiles() throws IOException, InterruptedException {
+        createSourceFiles();
+        Path cacheFile = workspace.resolve("cache").resolve("open-tasks.cache");
+
+        Report first = createScanner(1, cacheFile.toString()).invoke(workspace.toFile(), null);
+        assertThat(first.getInfoMessages()).contains(
+                "-> reused open tasks of 0 unchanged files (hits), scanned 20 files (misses)");
+        assertThat(cacheFile).exists();
+
+        Files.write(workspace.resolve("file-00.txt"), Arrays.asList("// high: changed", "// nothing"),
+                StandardCharsets.UTF_8);
+
+        Report second = createScanner(4, cacheFile.toString()).invoke(workspace.toFile(), null);
+        assertThat(second.getInfoMessages()).contains(
+                "-> reused open tasks of 19 unchanged files (hits), scanned 1 files (misses)");
+        Report changed = second.filter(issue -> issue.getFileName().endsWith("file-00.txt"));
+        assertThat(changed).hasSize(1);
+        assertThat(changed.get(0).getMessage()).isEqualTo("changed");
+
+        Report unchanged = second.filter(issue -> !issue.getFileName().endsWith("file-00.txt"));
+        Report expected = first.filter(issue -> !issue.getFileName().endsWith("file-00.txt"));
+        assertThat(unchanged).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(unchanged.get(i)).isEqualTo(expected.get(i));
+        }
+
+        Report otherConfiguration = new AgentScanner("high", "normal", "low",
+                CaseMode.IGNORE_CASE, MatcherMode.STRING_MATCH, "*.txt", "", "utf-8", 1, cacheFile.toString())
+                .invoke(workspace.toFile(), null);
+        assertThat(otherConfiguration.getInfoMessages()).contains(
+                "-> reused open tasks of 0 unchanged files (hits), scanned 20 files (misses)");
+    }
+
+    private AgentScanner createScanner(final int parallelism, final String cacheFile) {
+        return new AgentScanner("high", "normal", "function",
+                CaseMode.CASE_SENSITIVE, MatcherMode.STRING_MATCH, "*.txt", "",
+                "utf-8", parallelism, cacheFile);
+    }
+
+    private void createSourceFiles() throws IOException {
+        for (int i = 0; i < FILES; i++) {
+            Files.write(workspace.resolve(String.format("file-%02d.txt", i)),
+                    Arrays.asList("// high: first task " + i, "// no task", "// normal: second task " + i),
+                    StandardCharsets.UTF_8);
+        }
+    }
+
     private void readUtf8File(final String fileName) throws IOException, InterruptedException {
         Path path = getResourceAsFile(fileName);
         Report report = createScanner(fileName).invoke(path.getParent().toFile(), null);
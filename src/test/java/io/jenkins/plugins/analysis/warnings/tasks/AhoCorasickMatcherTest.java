@@ -0,0 +1,54 @@
+package io.jenkins.plugins.analysis.warnings.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link AhoCorasickMatcher}.
+ *
+ * @author Ullrich Hafner
+ */
+class AhoCorasickMatcherTest {
+    private static final int FIRST = 1;
+    private static final int SECOND = 1 << 1;
+    private static final int THIRD = 1 << 2;
+
+    @Test
+    void shouldFindAllGroupsInSinglePass() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(false)
+                .add("he", 0)
+                .add("she", 1)
+                .add("hers", 2);
+
+        assertThat(matcher.findGroups("nothing")).isZero();
+        assertThat(matcher.findGroups("ushers")).isEqualTo(FIRST | SECOND | THIRD);
+        assertThat(matcher.findGroups("shhe")).isEqualTo(FIRST);
+        assertThat(matcher.findGroups("She")).isEqualTo(FIRST);
+        assertThat(matcher.findGroups("")).isZero();
+    }
+
+    @Test
+    void shouldIgnoreCase() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(true)
+                .add("TODO", 0)
+                .add("Fixme", 1);
+
+        assertThat(matcher.findGroups("// todo: something")).isEqualTo(FIRST);
+        assertThat(matcher.findGroups("// FIXME: something")).isEqualTo(SECOND);
+        assertThat(matcher.findGroups("// ToDo and fIxMe")).isEqualTo(FIRST | SECOND);
+    }
+
+    @Test
+    void shouldFindNonAsciiCharacters() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(true)
+                .add("ÄNDERN", 0)
+                .add("prüfen", 1)
+                .add("üb", 2);
+
+        assertThat(matcher.findGroups("// ändern: bitte")).isEqualTo(FIRST);
+        assertThat(matcher.findGroups("// PRÜFEN")).isEqualTo(SECOND);
+        assertThat(matcher.findGroups("// prüübung")).isEqualTo(THIRD);
+        assertThat(matcher.findGroups("// prufen")).isZero();
+    }
+}
@@ -3,7 +3,9 @@ package io.jenkins.plugins.analysis.warnings.tasks;
 import java.io.BufferedReader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,7 @@ class TaskScannerTest extends ResourceTest {
     private static final String PRIORITY_NORMAL_MESSAGE = "here we have a task with priority NORMAL";
     private static final String FILE_WITH_TASKS = "file-with-tasks.txt";
     private static final IssueBuilder ISSUE_BUILDER = new IssueBuilder();
+    private static final int SOURCE_TREE_LINES = 2_000;
 
     @Test
     void shouldReportErrorIfPatternIsInvalid() {
@@ -331,6 +334,56 @@ class TaskScannerTest extends ResourceTest {
         assertThat(tasks).hasSize(0);
     }
 
+    /**
+     * Verifies that the plain string tags are found using the same rules as the corresponding regular expressions.
+     */
+    @Test
+    void shouldFindSameTasksAsRegularExpressions() {
+        List<String> lines = createSourceTree();
+
+        TaskScanner strings = new TaskScannerBuilder().setHighTasks("FIXME, XXX")
+                .setNormalTasks("TODO")
+                .setLowTasks("@deprecated")
+                .setCaseMode(CaseMode.IGNORE_CASE)
+                .setMatcherMode(MatcherMode.STRING_MATCH)
+                .build();
+        TaskScanner regexps = new TaskScannerBuilder().setHighTasks("(?i)^.*(\\bFIXME\\b|\\bXXX\\b)(.*)$")
+                .setNormalTasks("(?i)^.*(\\bTODO\\b)(.*)$")
+                .setLowTasks("(?i)^.*(@deprecated\\b)(.*)$")
+                .setCaseMode(CaseMode.IGNORE_CASE)
+                .setMatcherMode(MatcherMode.REGEXP_MATCH)
+                .build();
+
+        Report expected = regexps.scanTasks(lines.iterator(), ISSUE_BUILDER);
+        Report actual = strings.scanTasks(lines.iterator(), ISSUE_BUILDER);
+
+        assertThat(expected).isNotEmpty();
+        assertThat(actual).hasSize(expected.size()).isEqualTo(expected);
+    }
+
+    private List<String> createSourceTree() {
+        String[] templates = {
+                "    public void method%d(final String parameter) {",
+                "        int value = parameter.length() * %d; // compute the todos and fixmes of the parameter",
+                "        // TODO: check the value %d",
+                "        // todo lower case task %d",
+                "        return value + %d; // FIXME: overflow",
+                "    }",
+                "    /** @deprecated use method%d instead */",
+                "    // XXXL is no task, but XXX %d is",
+                "        String text = \"TODOS are not tasks %d\";",
+                "",
+        };
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < SOURCE_TREE_LINES; i++) {
+            lines.add(String.format(templates[i % templates.length], i));
+            for (int j = 0; j < 8; j++) {
+                lines.add(String.format("        builder.append(\"line %d\").append(value).append(%d);", i, j));
+            }
+        }
+        return lines;
+    }
+
     private Iterator<String> read(final String fileName) {
         return asStream(fileName).iterator();
     }